@@ -3,9 +3,16 @@ module ru.mrrex.betterium.core {
     requires com.fasterxml.jackson.core;
     requires com.fasterxml.jackson.databind;
     requires java.net.http;
+    requires java.xml;
+    requires jdk.jfr;
 
     exports ru.mrrex.betterium.core.artifact;
+    exports ru.mrrex.betterium.core.artifact.dependency;
+    exports ru.mrrex.betterium.core.artifact.dependency.exception;
     exports ru.mrrex.betterium.core.artifact.implementation;
+    exports ru.mrrex.betterium.core.artifact.repository;
+
+    exports ru.mrrex.betterium.core.calculator;
 
     exports ru.mrrex.betterium.core.checksum;
 
@@ -20,13 +27,22 @@ module ru.mrrex.betterium.core {
     exports ru.mrrex.betterium.core.download.downloader.http;
     exports ru.mrrex.betterium.core.download.exception;
     exports ru.mrrex.betterium.core.download.listener;
+    exports ru.mrrex.betterium.core.download.metrics;
     exports ru.mrrex.betterium.core.download.stream;
 
     exports ru.mrrex.betterium.core.hash;
 
+    exports ru.mrrex.betterium.core.install;
+    exports ru.mrrex.betterium.core.install.exception;
+
+    exports ru.mrrex.betterium.core.io;
+
     exports ru.mrrex.betterium.core.jackson;
 
+    exports ru.mrrex.betterium.core.jfr;
+
     exports ru.mrrex.betterium.core.library;
+    exports ru.mrrex.betterium.core.library.extraction;
     exports ru.mrrex.betterium.core.library.implementation;
 
     exports ru.mrrex.betterium.core.preprocessor;
@@ -36,6 +52,8 @@ module ru.mrrex.betterium.core {
     exports ru.mrrex.betterium.core.runtime;
     exports ru.mrrex.betterium.core.runtime.exception;
 
+    exports ru.mrrex.betterium.core.verification;
+
     opens ru.mrrex.betterium.core.client.config;
     opens ru.mrrex.betterium.core.library.implementation;
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import java.util.Objects;
+
+public record DependencyExclusion(String groupId, String artifactId) {
+
+    private static final String WILDCARD = "*";
+
+    public DependencyExclusion {
+        Objects.requireNonNull(groupId, "Group ID (groupId) must not be null");
+        Objects.requireNonNull(artifactId, "Artifact ID (artifactId) must not be null");
+    }
+
+    public boolean matches(String groupId, String artifactId) {
+        return (this.groupId.equals(WILDCARD) || this.groupId.equals(groupId))
+                && (this.artifactId.equals(WILDCARD) || this.artifactId.equals(artifactId));
+    }
+}
@@ -0,0 +1,46 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public record DependencyResolution(
+        @JsonProperty("roots")
+        List<MavenCoordinates> roots,
+
+        @JsonProperty("artifacts")
+        List<MavenCoordinates> artifacts
+) {
+
+    @JsonCreator
+    public DependencyResolution {
+        roots = (roots != null)
+                ? List.copyOf(roots)
+                : List.of();
+
+        artifacts = (artifacts != null)
+                ? List.copyOf(artifacts)
+                : List.of();
+    }
+
+    @JsonIgnore
+    public boolean isSnapshotFree() {
+        return roots.stream().noneMatch(MavenCoordinates::isSnapshot)
+                && artifacts.stream().noneMatch(MavenCoordinates::isSnapshot);
+    }
+
+    public Set<MavenArtifact> toArtifacts() {
+        Set<MavenArtifact> mavenArtifacts = new LinkedHashSet<>();
+
+        for (MavenCoordinates coordinates : artifacts)
+            mavenArtifacts.add(coordinates.toArtifact());
+
+        return Collections.unmodifiableSet(mavenArtifacts);
+    }
+}
@@ -0,0 +1,452 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.mrrex.betterium.core.artifact.dependency.exception.DependencyResolutionException;
+import ru.mrrex.betterium.core.io.AtomicFiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the runtime classpath of a set of root artifacts from their POMs, honouring
+ * parents, {@code dependencyManagement} with BOM imports, scopes, optional dependencies
+ * and exclusions. Parents are merged before anything is interpolated, so properties of a
+ * child apply to inherited values, and the {@code dependencyManagement} of a root overrides
+ * versions and scopes throughout its subtree. Conflicts are mediated the way Maven does it:
+ * the declaration nearest to the roots wins, and the first one wins between equally near
+ * declarations.
+ * <p>
+ * The graph is walked breadth-first; all POMs of a level, together with their parents and
+ * imports, are fetched concurrently on virtual threads. With a cache directory, the result
+ * for a set of roots without snapshots is stored, and later resolutions of the same roots
+ * return it without reading a single POM.
+ */
+public class DependencyResolver implements AutoCloseable {
+
+    private static final Pattern PROPERTY_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
+    private static final int MAX_INTERPOLATION_PASSES = 16;
+
+    private static final String POM_TYPE = "pom";
+    private static final Set<String> ARTIFACT_TYPES = Set.of("jar", "bundle", POM_TYPE);
+
+    private static final int CACHE_FORMAT_VERSION = 2;
+    private static final String CACHE_FILE_PREFIX = "resolution-";
+    private static final String CACHE_FILE_SUFFIX = ".json";
+
+    private final PomSource pomSource;
+    private final Path cacheDirectory;
+
+    private final ExecutorService executorService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<MavenCoordinates, CompletableFuture<Pom>> inheritedPoms;
+    private final Map<MavenCoordinates, CompletableFuture<Pom>> effectivePoms;
+
+    private final PomWaitGraph parentWaits;
+    private final PomWaitGraph importWaits;
+
+    public DependencyResolver(PomSource pomSource, Path cacheDirectory) {
+        this.pomSource = Objects.requireNonNull(pomSource, "POM source must not be null");
+        this.cacheDirectory = cacheDirectory;
+
+        this.executorService = Executors.newVirtualThreadPerTaskExecutor();
+        this.objectMapper = new ObjectMapper();
+
+        this.inheritedPoms = new ConcurrentHashMap<>();
+        this.effectivePoms = new ConcurrentHashMap<>();
+
+        this.parentWaits = new PomWaitGraph("POM inherits from itself");
+        this.importWaits = new PomWaitGraph("POM imports itself");
+    }
+
+    public DependencyResolver(PomSource pomSource) {
+        this(pomSource, null);
+    }
+
+    public DependencyResolution resolve(Collection<MavenCoordinates> roots) throws IOException {
+        Objects.requireNonNull(roots, "Root coordinates collection must not be null");
+
+        List<MavenCoordinates> distinctRoots = List.copyOf(new LinkedHashSet<>(roots));
+        Path cacheFilePath = getCacheFilePath(distinctRoots);
+
+        if (cacheFilePath != null) {
+            DependencyResolution cachedResolution = readCachedResolution(cacheFilePath, distinctRoots);
+
+            if (cachedResolution != null)
+                return cachedResolution;
+        }
+
+        DependencyResolution resolution = new DependencyResolution(distinctRoots, walk(distinctRoots));
+
+        if (cacheFilePath != null && resolution.isSnapshotFree())
+            writeCachedResolution(cacheFilePath, resolution);
+
+        return resolution;
+    }
+
+    private List<MavenCoordinates> walk(List<MavenCoordinates> roots) throws IOException {
+        Set<String> selectedKeys = new HashSet<>();
+        List<MavenCoordinates> artifacts = new ArrayList<>();
+
+        List<GraphNode> level = roots.stream()
+                .map(coordinates -> new GraphNode(coordinates, DependencyScope.COMPILE, Set.of(), null))
+                .toList();
+
+        while (!level.isEmpty()) {
+            List<GraphNode> selectedNodes = new ArrayList<>();
+
+            for (GraphNode node : level)
+                if (selectedKeys.add(node.coordinates().getKey()))
+                    selectedNodes.add(node);
+
+            // Every POM of the level is requested before waiting for any of them
+            List<CompletableFuture<Pom>> pomFutures = selectedNodes.stream()
+                    .map(node -> getEffectivePom(node.coordinates()))
+                    .toList();
+
+            List<GraphNode> nextLevel = new ArrayList<>();
+
+            for (int i = 0; i < selectedNodes.size(); i++) {
+                GraphNode node = selectedNodes.get(i);
+                Pom pom = await(pomFutures.get(i));
+
+                if (pom.hasArtifactFile())
+                    artifacts.add(node.coordinates());
+
+                // The management of a root applies to its whole subtree and overrides transitive declarations
+                Map<String, PomDependency> rootManagement = (node.rootManagement() != null)
+                        ? node.rootManagement()
+                        : getManagementMap(pom);
+
+                for (PomDependency dependency : pom.dependencies()) {
+                    PomDependency managedDependency = (node.rootManagement() != null)
+                            ? dependency.withManagementOverride(rootManagement.get(dependency.getManagementKey()))
+                            : dependency;
+
+                    GraphNode childNode = createChildNode(node, managedDependency, rootManagement);
+
+                    if (childNode != null)
+                        nextLevel.add(childNode);
+                }
+            }
+
+            level = nextLevel;
+        }
+
+        return artifacts;
+    }
+
+    private Map<String, PomDependency> getManagementMap(Pom pom) {
+        Map<String, PomDependency> management = new HashMap<>();
+
+        for (PomDependency dependency : pom.dependencyManagement())
+            management.put(dependency.getManagementKey(), dependency);
+
+        return management;
+    }
+
+    private GraphNode createChildNode(GraphNode node, PomDependency dependency, Map<String, PomDependency> rootManagement) {
+        if (dependency.optional() || dependency.isExcludedBy(node.exclusions()))
+            return null;
+
+        // Classified and non-jar artifacts cannot be described by a MavenArtifact
+        if (dependency.classifier() != null || !ARTIFACT_TYPES.contains(dependency.type()))
+            return null;
+
+        DependencyScope scope = node.scope().getTransitiveScope(dependency.getScope());
+
+        if (scope == null)
+            return null;
+
+        Set<DependencyExclusion> exclusions = new HashSet<>(node.exclusions());
+        exclusions.addAll(dependency.exclusions());
+
+        return new GraphNode(
+                new MavenCoordinates(dependency.groupId(), dependency.artifactId(), getVersion(node, dependency)),
+                scope,
+                exclusions,
+                rootManagement
+        );
+    }
+
+    private String getVersion(GraphNode node, PomDependency dependency) {
+        String version = dependency.version();
+
+        if (version == null)
+            throw new DependencyResolutionException(
+                    "Dependency %s:%s declares no version".formatted(dependency.groupId(), dependency.artifactId()),
+                    node.coordinates()
+            );
+
+        if (!version.startsWith("[") && !version.startsWith("("))
+            return version;
+
+        // A range pinned to a single version is the only kind that needs no metadata lookup
+        if (version.startsWith("[") && version.endsWith("]") && !version.contains(","))
+            return version.substring(1, version.length() - 1).strip();
+
+        throw new DependencyResolutionException(
+                "Version ranges are not supported: %s:%s:%s".formatted(dependency.groupId(), dependency.artifactId(), version),
+                node.coordinates()
+        );
+    }
+
+    private CompletableFuture<Pom> getEffectivePom(MavenCoordinates coordinates) {
+        return getPom(effectivePoms, coordinates, () -> buildEffectivePom(coordinates));
+    }
+
+    private CompletableFuture<Pom> getInheritedPom(MavenCoordinates coordinates) {
+        return getPom(inheritedPoms, coordinates, () -> buildInheritedPom(coordinates));
+    }
+
+    private CompletableFuture<Pom> getPom(Map<MavenCoordinates, CompletableFuture<Pom>> poms, MavenCoordinates coordinates,
+                                          Callable<Pom> builder) {
+        CompletableFuture<Pom> pomFuture = new CompletableFuture<>();
+        CompletableFuture<Pom> existingPomFuture = poms.putIfAbsent(coordinates, pomFuture);
+
+        if (existingPomFuture != null)
+            return existingPomFuture;
+
+        executorService.execute(() -> {
+            try {
+                pomFuture.complete(builder.call());
+            } catch (Throwable throwable) {
+                // Failures may be transient, so they are forgotten before anyone can find them cached
+                poms.remove(coordinates, pomFuture);
+                pomFuture.completeExceptionally((throwable instanceof IOException ioException)
+                        ? new UncheckedIOException(ioException)
+                        : throwable);
+            }
+        });
+
+        return pomFuture;
+    }
+
+    /**
+     * Waits for a POM that another build depends on. The shared wait graph spans every
+     * resolution, so a cycle entered from different roots is reported instead of blocking.
+     */
+    private Pom await(PomWaitGraph waitGraph, MavenCoordinates waiting, MavenCoordinates awaited,
+                      CompletableFuture<Pom> pomFuture) throws IOException {
+        waitGraph.startWaiting(waiting, awaited);
+
+        try {
+            return await(pomFuture);
+        } finally {
+            waitGraph.stopWaiting(waiting, awaited);
+        }
+    }
+
+    /**
+     * Merges a POM with its parents without interpolating anything, so that properties
+     * overridden by a child also apply to the values the child inherits.
+     */
+    private Pom buildInheritedPom(MavenCoordinates coordinates) throws IOException {
+        Pom pom;
+
+        try (InputStream inputStream = pomSource.openPom(coordinates)) {
+            pom = PomParser.parse(inputStream);
+        }
+
+        if (pom.parent() == null)
+            return pom;
+
+        Pom parentPom = await(parentWaits, coordinates, pom.parent(), getInheritedPom(pom.parent()));
+
+        Map<String, String> properties = new HashMap<>(parentPom.properties());
+        properties.putAll(pom.properties());
+
+        return new Pom(
+                (pom.groupId() != null) ? pom.groupId() : parentPom.groupId(),
+                pom.artifactId(),
+                (pom.version() != null) ? pom.version() : parentPom.version(),
+                pom.packaging(),
+                pom.parent(),
+                properties,
+                merge(parentPom.dependencyManagement(), pom.dependencyManagement()),
+                merge(parentPom.dependencies(), pom.dependencies())
+        );
+    }
+
+    private Pom buildEffectivePom(MavenCoordinates coordinates) throws IOException {
+        Pom pom = await(getInheritedPom(coordinates));
+
+        if (pom.groupId() == null || pom.version() == null)
+            throw new DependencyResolutionException("POM declares no groupId or version", coordinates);
+
+        Map<String, String> properties = new HashMap<>(pom.properties());
+
+        if (pom.parent() != null) {
+            properties.put("project.parent.groupId", pom.parent().groupId());
+            properties.put("project.parent.version", pom.parent().version());
+        }
+
+        properties.put("project.groupId", pom.groupId());
+        properties.put("project.artifactId", pom.artifactId());
+        properties.put("project.version", pom.version());
+        properties.put("pom.groupId", pom.groupId());
+        properties.put("pom.version", pom.version());
+
+        UnaryOperator<String> interpolator = value -> interpolate(value, properties);
+
+        Map<String, PomDependency> dependencyManagement = new LinkedHashMap<>();
+        List<PomDependency> imports = new ArrayList<>();
+
+        for (PomDependency dependency : pom.dependencyManagement()) {
+            PomDependency interpolatedDependency = dependency.interpolate(interpolator);
+
+            if (interpolatedDependency.getScope() == DependencyScope.IMPORT && interpolatedDependency.type().equals(POM_TYPE))
+                imports.add(interpolatedDependency);
+            else
+                dependencyManagement.put(interpolatedDependency.getManagementKey(), interpolatedDependency);
+        }
+
+        // Imported entries never override declared or inherited ones, earlier imports win
+        for (PomDependency importedDependency : imports) {
+            if (importedDependency.version() == null)
+                throw new DependencyResolutionException("Imported BOM %s:%s declares no version".formatted(
+                        importedDependency.groupId(), importedDependency.artifactId()), coordinates);
+
+            MavenCoordinates bomCoordinates = new MavenCoordinates(
+                    importedDependency.groupId(),
+                    importedDependency.artifactId(),
+                    importedDependency.version()
+            );
+
+            await(importWaits, coordinates, bomCoordinates, getEffectivePom(bomCoordinates)).dependencyManagement().forEach(dependency ->
+                    dependencyManagement.putIfAbsent(dependency.getManagementKey(), dependency));
+        }
+
+        Map<String, PomDependency> dependencies = new LinkedHashMap<>();
+
+        for (PomDependency dependency : pom.dependencies()) {
+            PomDependency interpolatedDependency = dependency.interpolate(interpolator);
+            dependencies.put(interpolatedDependency.getManagementKey(), interpolatedDependency);
+        }
+
+        dependencies.replaceAll((key, dependency) -> dependency.withManagement(dependencyManagement.get(key)));
+
+        return new Pom(
+                interpolator.apply(pom.groupId()),
+                pom.artifactId(),
+                interpolator.apply(pom.version()),
+                interpolator.apply(pom.packaging()),
+                pom.parent(),
+                properties,
+                List.copyOf(dependencyManagement.values()),
+                List.copyOf(dependencies.values())
+        );
+    }
+
+    private List<PomDependency> merge(List<PomDependency> parentDependencies, List<PomDependency> childDependencies) {
+        Map<String, PomDependency> mergedDependencies = new LinkedHashMap<>();
+
+        for (PomDependency dependency : parentDependencies)
+            mergedDependencies.put(dependency.getManagementKey(), dependency);
+
+        for (PomDependency dependency : childDependencies)
+            mergedDependencies.put(dependency.getManagementKey(), dependency);
+
+        return List.copyOf(mergedDependencies.values());
+    }
+
+    private String interpolate(String value, Map<String, String> properties) {
+        String interpolatedValue = value;
+
+        for (int pass = 0; pass < MAX_INTERPOLATION_PASSES && interpolatedValue.contains("${"); pass++) {
+            Matcher matcher = PROPERTY_PATTERN.matcher(interpolatedValue);
+
+            String nextValue = matcher.replaceAll(matchResult -> Matcher.quoteReplacement(
+                    properties.getOrDefault(matchResult.group(1), matchResult.group())));
+
+            if (nextValue.equals(interpolatedValue))
+                break;
+
+            interpolatedValue = nextValue;
+        }
+
+        return interpolatedValue;
+    }
+
+    private Pom await(CompletableFuture<Pom> pomFuture) throws IOException {
+        try {
+            return pomFuture.join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+
+            if (cause instanceof UncheckedIOException uncheckedIOException)
+                throw uncheckedIOException.getCause();
+
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+
+            throw exception;
+        }
+    }
+
+    private Path getCacheFilePath(List<MavenCoordinates> roots) {
+        if (cacheDirectory == null || roots.stream().anyMatch(MavenCoordinates::isSnapshot))
+            return null;
+
+        MessageDigest messageDigest;
+
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+
+        messageDigest.update(Integer.toString(CACHE_FORMAT_VERSION).getBytes(StandardCharsets.UTF_8));
+
+        for (MavenCoordinates root : roots)
+            messageDigest.update(('\n' + root.toString()).getBytes(StandardCharsets.UTF_8));
+
+        String key = HexFormat.of().formatHex(messageDigest.digest(), 0, 16);
+
+        return cacheDirectory.resolve(CACHE_FILE_PREFIX + key + CACHE_FILE_SUFFIX);
+    }
+
+    private DependencyResolution readCachedResolution(Path cacheFilePath, List<MavenCoordinates> roots) throws IOException {
+        if (Files.notExists(cacheFilePath))
+            return null;
+
+        DependencyResolution resolution;
+
+        try {
+            resolution = objectMapper.readValue(cacheFilePath.toFile(), DependencyResolution.class);
+        } catch (JsonProcessingException _) {
+            // A damaged entry is simply resolved again and overwritten
+            return null;
+        }
+
+        return resolution.roots().equals(roots) ? resolution : null;
+    }
+
+    private void writeCachedResolution(Path cacheFilePath, DependencyResolution resolution) throws IOException {
+        AtomicFiles.write(cacheFilePath, objectMapper.writeValueAsBytes(resolution));
+    }
+
+    @Override
+    public void close() {
+        executorService.close();
+    }
+
+    private record GraphNode(
+            MavenCoordinates coordinates,
+            DependencyScope scope,
+            Set<DependencyExclusion> exclusions,
+            Map<String, PomDependency> rootManagement
+    ) {}
+}
@@ -0,0 +1,37 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+public enum DependencyScope {
+
+    COMPILE,
+    RUNTIME,
+    PROVIDED,
+    TEST,
+    SYSTEM,
+    IMPORT;
+
+    public static DependencyScope findByName(String name) {
+        if (name == null || name.isBlank())
+            return null;
+
+        for (DependencyScope scope : values())
+            if (scope.name().equalsIgnoreCase(name.strip()))
+                return scope;
+
+        return null;
+    }
+
+    /**
+     * Returns the scope a dependency declared with {@code declaredScope} gets when reached
+     * through a dependency of this scope, or {@code null} if it is not inherited at all.
+     */
+    public DependencyScope getTransitiveScope(DependencyScope declaredScope) {
+        if (this != COMPILE && this != RUNTIME)
+            return null;
+
+        return switch (declaredScope) {
+            case COMPILE -> this;
+            case RUNTIME -> RUNTIME;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+
+import java.util.Objects;
+
+public record MavenCoordinates(
+        @JsonProperty("group_id")
+        String groupId,
+
+        @JsonProperty("artifact_id")
+        String artifactId,
+
+        @JsonProperty("version")
+        String version
+) {
+
+    private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
+
+    @JsonCreator
+    public MavenCoordinates {
+        Objects.requireNonNull(groupId, "Group ID (groupId) must not be null");
+        Objects.requireNonNull(artifactId, "Artifact ID (artifactId) must not be null");
+        Objects.requireNonNull(version, "Version must not be null");
+    }
+
+    public static MavenCoordinates of(MavenArtifact artifact) {
+        Objects.requireNonNull(artifact, "Maven artifact must not be null");
+        return new MavenCoordinates(artifact.groupId(), artifact.artifactId(), artifact.version());
+    }
+
+    public static MavenCoordinates parse(String coordinates) {
+        Objects.requireNonNull(coordinates, "Coordinates must not be null");
+
+        String[] parts = coordinates.split(":");
+
+        if (parts.length != 3 || parts[0].isBlank() || parts[1].isBlank() || parts[2].isBlank())
+            throw new IllegalArgumentException("Coordinates must have the form groupId:artifactId:version: " + coordinates);
+
+        return new MavenCoordinates(parts[0], parts[1], parts[2]);
+    }
+
+    @JsonIgnore
+    public String getKey() {
+        return groupId + ':' + artifactId;
+    }
+
+    @JsonIgnore
+    public boolean isSnapshot() {
+        return version.endsWith(SNAPSHOT_SUFFIX);
+    }
+
+    @JsonIgnore
+    public String getPomPath() {
+        return "%s/%s/%s/%s-%s.pom".formatted(
+                groupId.replace('.', '/'),
+                artifactId,
+                version,
+                artifactId,
+                version
+        );
+    }
+
+    public MavenArtifact toArtifact() {
+        return MavenArtifact.builder()
+                .withGroupId(groupId)
+                .withArtifactId(artifactId)
+                .withVersion(version)
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return groupId + ':' + artifactId + ':' + version;
+    }
+}
@@ -0,0 +1,43 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public record Pom(
+        String groupId,
+        String artifactId,
+        String version,
+        String packaging,
+        MavenCoordinates parent,
+        Map<String, String> properties,
+        List<PomDependency> dependencyManagement,
+        List<PomDependency> dependencies
+) {
+
+    private static final String DEFAULT_PACKAGING = "jar";
+    private static final String POM_PACKAGING = "pom";
+
+    public Pom {
+        Objects.requireNonNull(artifactId, "Artifact ID (artifactId) must not be null");
+
+        if (packaging == null || packaging.isBlank())
+            packaging = DEFAULT_PACKAGING;
+
+        properties = (properties != null)
+                ? Map.copyOf(properties)
+                : Map.of();
+
+        dependencyManagement = (dependencyManagement != null)
+                ? List.copyOf(dependencyManagement)
+                : List.of();
+
+        dependencies = (dependencies != null)
+                ? List.copyOf(dependencies)
+                : List.of();
+    }
+
+    public boolean hasArtifactFile() {
+        return !packaging.equals(POM_PACKAGING);
+    }
+}
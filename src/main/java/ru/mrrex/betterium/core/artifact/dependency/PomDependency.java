@@ -0,0 +1,114 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+public record PomDependency(
+        String groupId,
+        String artifactId,
+        String version,
+        String type,
+        String classifier,
+        String scope,
+        boolean optional,
+        Set<DependencyExclusion> exclusions
+) {
+
+    private static final String DEFAULT_TYPE = "jar";
+
+    public PomDependency {
+        Objects.requireNonNull(groupId, "Group ID (groupId) must not be null");
+        Objects.requireNonNull(artifactId, "Artifact ID (artifactId) must not be null");
+
+        if (type == null || type.isBlank())
+            type = DEFAULT_TYPE;
+
+        if (classifier != null && classifier.isBlank())
+            classifier = null;
+
+        exclusions = (exclusions != null)
+                ? Set.copyOf(exclusions)
+                : Set.of();
+    }
+
+    public String getManagementKey() {
+        return "%s:%s:%s:%s".formatted(groupId, artifactId, type, (classifier != null) ? classifier : "");
+    }
+
+    public DependencyScope getScope() {
+        DependencyScope dependencyScope = DependencyScope.findByName(scope);
+
+        return (dependencyScope != null)
+                ? dependencyScope
+                : DependencyScope.COMPILE;
+    }
+
+    public boolean isExcludedBy(Set<DependencyExclusion> exclusions) {
+        for (DependencyExclusion exclusion : exclusions)
+            if (exclusion.matches(groupId, artifactId))
+                return true;
+
+        return false;
+    }
+
+    public PomDependency interpolate(UnaryOperator<String> interpolator) {
+        return new PomDependency(
+                interpolator.apply(groupId),
+                interpolator.apply(artifactId),
+                (version != null) ? interpolator.apply(version) : null,
+                interpolator.apply(type),
+                (classifier != null) ? interpolator.apply(classifier) : null,
+                (scope != null) ? interpolator.apply(scope) : null,
+                optional,
+                exclusions
+        );
+    }
+
+    /**
+     * Fills the version and scope left undeclared from a {@code dependencyManagement} entry
+     * and adds its exclusions to the declared ones.
+     */
+    public PomDependency withManagement(PomDependency managedDependency) {
+        if (managedDependency == null)
+            return this;
+
+        Set<DependencyExclusion> mergedExclusions = new HashSet<>(exclusions);
+        mergedExclusions.addAll(managedDependency.exclusions());
+
+        return new PomDependency(
+                groupId,
+                artifactId,
+                (version != null) ? version : managedDependency.version(),
+                type,
+                classifier,
+                (scope != null) ? scope : managedDependency.scope(),
+                optional,
+                mergedExclusions
+        );
+    }
+
+    /**
+     * Replaces the version and scope with those of a {@code dependencyManagement} entry
+     * of a root, which takes precedence over declarations of transitive dependencies.
+     */
+    public PomDependency withManagementOverride(PomDependency managedDependency) {
+        if (managedDependency == null)
+            return this;
+
+        Set<DependencyExclusion> mergedExclusions = new HashSet<>(exclusions);
+        mergedExclusions.addAll(managedDependency.exclusions());
+
+        return new PomDependency(
+                groupId,
+                artifactId,
+                (managedDependency.version() != null) ? managedDependency.version() : version,
+                type,
+                classifier,
+                (managedDependency.scope() != null) ? managedDependency.scope() : scope,
+                optional,
+                mergedExclusions
+        );
+    }
+}
@@ -0,0 +1,184 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+public abstract class PomParser {
+
+    private static final String DISALLOW_DOCTYPE_FEATURE = "http://apache.org/xml/features/disallow-doctype-decl";
+
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = createDocumentBuilderFactory();
+
+    private PomParser() {}
+
+    public static Pom parse(InputStream inputStream) throws IOException {
+        Objects.requireNonNull(inputStream, "Input stream must not be null");
+
+        Document document;
+
+        try {
+            DocumentBuilder documentBuilder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+            document = documentBuilder.parse(inputStream);
+        } catch (ParserConfigurationException exception) {
+            throw new IllegalStateException("XML parser is not available", exception);
+        } catch (SAXException exception) {
+            throw new IOException("POM is not well-formed XML", exception);
+        }
+
+        Element projectElement = document.getDocumentElement();
+
+        if (!projectElement.getNodeName().equals("project"))
+            throw new IOException("POM root element must be <project>, but was <" + projectElement.getNodeName() + ">");
+
+        Element dependencyManagementElement = getChild(projectElement, "dependencyManagement");
+
+        return new Pom(
+                getChildText(projectElement, "groupId"),
+                getChildText(projectElement, "artifactId"),
+                getChildText(projectElement, "version"),
+                getChildText(projectElement, "packaging"),
+                parseParent(getChild(projectElement, "parent")),
+                parseProperties(getChild(projectElement, "properties")),
+                (dependencyManagementElement != null)
+                        ? parseDependencies(getChild(dependencyManagementElement, "dependencies"))
+                        : List.of(),
+                parseDependencies(getChild(projectElement, "dependencies"))
+        );
+    }
+
+    private static DocumentBuilderFactory createDocumentBuilderFactory() {
+        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+
+        try {
+            // POMs come from remote repositories, so external entities must never be resolved
+            documentBuilderFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            documentBuilderFactory.setFeature(DISALLOW_DOCTYPE_FEATURE, true);
+        } catch (ParserConfigurationException exception) {
+            throw new IllegalStateException("Failed to configure XML parser", exception);
+        }
+
+        documentBuilderFactory.setExpandEntityReferences(false);
+        documentBuilderFactory.setXIncludeAware(false);
+
+        return documentBuilderFactory;
+    }
+
+    private static MavenCoordinates parseParent(Element parentElement) throws IOException {
+        if (parentElement == null)
+            return null;
+
+        String groupId = getChildText(parentElement, "groupId");
+        String artifactId = getChildText(parentElement, "artifactId");
+        String version = getChildText(parentElement, "version");
+
+        if (groupId == null || artifactId == null || version == null)
+            throw new IOException("POM parent must declare groupId, artifactId and version");
+
+        return new MavenCoordinates(groupId, artifactId, version);
+    }
+
+    private static Map<String, String> parseProperties(Element propertiesElement) {
+        if (propertiesElement == null)
+            return Map.of();
+
+        Map<String, String> properties = new HashMap<>();
+
+        for (Element propertyElement : getChildren(propertiesElement))
+            properties.put(propertyElement.getNodeName(), propertyElement.getTextContent().strip());
+
+        return properties;
+    }
+
+    private static List<PomDependency> parseDependencies(Element dependenciesElement) throws IOException {
+        if (dependenciesElement == null)
+            return List.of();
+
+        List<PomDependency> dependencies = new ArrayList<>();
+
+        for (Element dependencyElement : getChildren(dependenciesElement, "dependency"))
+            dependencies.add(parseDependency(dependencyElement));
+
+        return dependencies;
+    }
+
+    private static PomDependency parseDependency(Element dependencyElement) throws IOException {
+        String groupId = getChildText(dependencyElement, "groupId");
+        String artifactId = getChildText(dependencyElement, "artifactId");
+
+        if (groupId == null || artifactId == null)
+            throw new IOException("POM dependency must declare groupId and artifactId");
+
+        return new PomDependency(
+                groupId,
+                artifactId,
+                getChildText(dependencyElement, "version"),
+                getChildText(dependencyElement, "type"),
+                getChildText(dependencyElement, "classifier"),
+                getChildText(dependencyElement, "scope"),
+                Boolean.parseBoolean(getChildText(dependencyElement, "optional")),
+                parseExclusions(getChild(dependencyElement, "exclusions"))
+        );
+    }
+
+    private static Set<DependencyExclusion> parseExclusions(Element exclusionsElement) {
+        if (exclusionsElement == null)
+            return Set.of();
+
+        Set<DependencyExclusion> exclusions = new HashSet<>();
+
+        for (Element exclusionElement : getChildren(exclusionsElement, "exclusion")) {
+            String groupId = getChildText(exclusionElement, "groupId");
+            String artifactId = getChildText(exclusionElement, "artifactId");
+
+            if (groupId != null && artifactId != null)
+                exclusions.add(new DependencyExclusion(groupId, artifactId));
+        }
+
+        return exclusions;
+    }
+
+    private static List<Element> getChildren(Element parentElement) {
+        List<Element> children = new ArrayList<>();
+
+        for (Node node = parentElement.getFirstChild(); node != null; node = node.getNextSibling())
+            if (node instanceof Element element)
+                children.add(element);
+
+        return children;
+    }
+
+    private static List<Element> getChildren(Element parentElement, String name) {
+        return getChildren(parentElement).stream()
+                .filter(element -> element.getNodeName().equals(name))
+                .toList();
+    }
+
+    private static Element getChild(Element parentElement, String name) {
+        for (Node node = parentElement.getFirstChild(); node != null; node = node.getNextSibling())
+            if (node instanceof Element element && element.getNodeName().equals(name))
+                return element;
+
+        return null;
+    }
+
+    private static String getChildText(Element parentElement, String name) {
+        Element element = getChild(parentElement, name);
+
+        if (element == null)
+            return null;
+
+        String text = element.getTextContent().strip();
+
+        return text.isEmpty() ? null : text;
+    }
+}
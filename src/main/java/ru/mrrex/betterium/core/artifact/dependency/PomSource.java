@@ -0,0 +1,10 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@FunctionalInterface
+public interface PomSource {
+
+    InputStream openPom(MavenCoordinates coordinates) throws IOException;
+}
@@ -0,0 +1,58 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import ru.mrrex.betterium.core.artifact.dependency.exception.DependencyResolutionException;
+
+import java.util.*;
+
+/**
+ * Records which POM builds are blocked on which others, across every resolution sharing
+ * a {@link DependencyResolver}. A build that would close a cycle is rejected, since the
+ * builds in it would otherwise wait for each other forever.
+ */
+final class PomWaitGraph {
+
+    private final String cycleDescription;
+    private final Map<MavenCoordinates, Set<MavenCoordinates>> awaitedBuilds;
+
+    PomWaitGraph(String cycleDescription) {
+        this.cycleDescription = Objects.requireNonNull(cycleDescription, "Cycle description must not be null");
+        this.awaitedBuilds = new HashMap<>();
+    }
+
+    synchronized void startWaiting(MavenCoordinates waiting, MavenCoordinates awaited) {
+        List<MavenCoordinates> path = findPath(awaited, waiting, new HashSet<>());
+
+        if (path != null) {
+            path.addFirst(waiting);
+            throw new DependencyResolutionException(cycleDescription + ": " + path, waiting);
+        }
+
+        awaitedBuilds.computeIfAbsent(waiting, _ -> new HashSet<>()).add(awaited);
+    }
+
+    synchronized void stopWaiting(MavenCoordinates waiting, MavenCoordinates awaited) {
+        Set<MavenCoordinates> awaitedCoordinates = awaitedBuilds.get(waiting);
+
+        if (awaitedCoordinates != null && awaitedCoordinates.remove(awaited) && awaitedCoordinates.isEmpty())
+            awaitedBuilds.remove(waiting);
+    }
+
+    private List<MavenCoordinates> findPath(MavenCoordinates from, MavenCoordinates to, Set<MavenCoordinates> visited) {
+        if (from.equals(to))
+            return new ArrayList<>(List.of(from));
+
+        if (!visited.add(from))
+            return null;
+
+        for (MavenCoordinates next : awaitedBuilds.getOrDefault(from, Set.of())) {
+            List<MavenCoordinates> path = findPath(next, to, visited);
+
+            if (path != null) {
+                path.addFirst(from);
+                return path;
+            }
+        }
+
+        return null;
+    }
+}
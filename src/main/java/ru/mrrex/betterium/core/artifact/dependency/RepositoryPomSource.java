@@ -0,0 +1,48 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import ru.mrrex.betterium.core.artifact.repository.MavenRepositoryClient;
+import ru.mrrex.betterium.core.io.AtomicFiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Fetches POMs through a {@link MavenRepositoryClient}. Released POMs never change, so with
+ * a cache directory each of them is fetched only once; snapshots are always fetched again.
+ */
+public class RepositoryPomSource implements PomSource {
+
+    private final MavenRepositoryClient repositoryClient;
+    private final Path cacheDirectory;
+
+    public RepositoryPomSource(MavenRepositoryClient repositoryClient, Path cacheDirectory) {
+        this.repositoryClient = Objects.requireNonNull(repositoryClient, "Maven repository client must not be null");
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public RepositoryPomSource(MavenRepositoryClient repositoryClient) {
+        this(repositoryClient, null);
+    }
+
+    @Override
+    public InputStream openPom(MavenCoordinates coordinates) throws IOException {
+        Objects.requireNonNull(coordinates, "Maven coordinates must not be null");
+
+        boolean isCacheable = cacheDirectory != null && !coordinates.isSnapshot();
+        Path cachedFilePath = isCacheable ? cacheDirectory.resolve(coordinates.getPomPath()) : null;
+
+        if (isCacheable && Files.isRegularFile(cachedFilePath))
+            return Files.newInputStream(cachedFilePath);
+
+        byte[] content = repositoryClient.fetch(coordinates.getPomPath());
+
+        if (isCacheable)
+            AtomicFiles.write(cachedFilePath, content);
+
+        return new ByteArrayInputStream(content);
+    }
+}
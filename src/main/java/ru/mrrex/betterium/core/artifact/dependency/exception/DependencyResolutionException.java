@@ -0,0 +1,21 @@
+package ru.mrrex.betterium.core.artifact.dependency.exception;
+
+import ru.mrrex.betterium.core.artifact.dependency.MavenCoordinates;
+
+public class DependencyResolutionException extends RuntimeException {
+
+    private final MavenCoordinates coordinates;
+
+    public DependencyResolutionException(String message, MavenCoordinates coordinates, Throwable cause) {
+        super(message, cause);
+        this.coordinates = coordinates;
+    }
+
+    public DependencyResolutionException(String message, MavenCoordinates coordinates) {
+        this(message, coordinates, null);
+    }
+
+    public MavenCoordinates getCoordinates() {
+        return coordinates;
+    }
+}
@@ -1,12 +1,17 @@
 package ru.mrrex.betterium.core.artifact.implementation;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import ru.mrrex.betterium.core.artifact.Artifact;
+import ru.mrrex.betterium.core.artifact.repository.MavenRepository;
 import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.Hash;
 import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.jackson.HashMapDeserializer;
+import ru.mrrex.betterium.core.jackson.HashMapSerializer;
 import ru.mrrex.betterium.core.jackson.HexLongDeserializer;
 import ru.mrrex.betterium.core.jackson.HexLongSerializer;
 import ru.mrrex.betterium.core.library.NativeLibrary;
@@ -26,26 +31,32 @@ public record MavenArtifact(
         @JsonProperty("version")
         String version,
 
+        @JsonProperty("size")
+        Long size,
+
         @JsonProperty("checksums")
         @JsonSerialize(contentUsing = HexLongSerializer.class)
         @JsonDeserialize(contentUsing = HexLongDeserializer.class)
         Map<ChecksumAlgorithm, Long> checksums,
 
         @JsonProperty("hashes")
-        Map<HashAlgorithm, String> hashes,
+        @JsonSerialize(using = HashMapSerializer.class)
+        @JsonDeserialize(using = HashMapDeserializer.class)
+        Map<HashAlgorithm, Hash> hashes,
 
         @JsonProperty("dependencies")
         Set<NativeLibrary> dependencies
 ) implements Artifact, DownloadableResource, CheckableResource {
 
-    private static final URI MAVEN_CENTRAL_BASE_URI = URI.create("https://repo1.maven.org/maven2");
-
     @JsonCreator
     public MavenArtifact {
         Objects.requireNonNull(groupId, "Group ID (groupId) must not be null");
         Objects.requireNonNull(artifactId, "Artifact ID (artifactId) must not be null");
         Objects.requireNonNull(version, "Version must not be null");
 
+        if (size != null && size < 0)
+            throw new IllegalArgumentException("Size must not be negative");
+
         checksums = (checksums != null)
                 ? Map.copyOf(checksums)
                 : Collections.emptyMap();
@@ -65,8 +76,15 @@ public record MavenArtifact(
     }
 
     @Override
+    @JsonIgnore
     public URI getSourceUri() {
-        return MAVEN_CENTRAL_BASE_URI.resolve(getRelativePath());
+        return MavenRepository.MAVEN_CENTRAL.resolve(getRelativePath());
+    }
+
+    @Override
+    @JsonIgnore
+    public OptionalLong getExpectedSize() {
+        return (size != null) ? OptionalLong.of(size) : OptionalLong.empty();
     }
 
     @Override
@@ -75,11 +93,24 @@ public record MavenArtifact(
     }
 
     @Override
-    public Map<HashAlgorithm, String> getHashes() {
+    public Map<HashAlgorithm, Hash> getHashes() {
         return Map.copyOf(hashes);
     }
 
-    private String getRelativePath() {
+    public MavenArtifact withAdditionalHashes(Map<HashAlgorithm, Hash> additionalHashes) {
+        Objects.requireNonNull(additionalHashes, "Additional hashes map must not be null");
+
+        Map<HashAlgorithm, Hash> mergedHashes = new EnumMap<>(HashAlgorithm.class);
+        mergedHashes.putAll(additionalHashes);
+
+        // Declared hashes always win over the added ones
+        mergedHashes.putAll(hashes);
+
+        return new MavenArtifact(groupId, artifactId, version, size, checksums, mergedHashes, dependencies);
+    }
+
+    @JsonIgnore
+    public String getRelativePath() {
         return "%s/%s/%s/%s-%s.jar".formatted(
                 groupId.replace('.', '/'),
                 artifactId,
@@ -98,9 +129,10 @@ public record MavenArtifact(
         private String groupId;
         private String artifactId;
         private String version;
+        private Long size;
 
         private final Map<ChecksumAlgorithm, Long> checksums = new EnumMap<>(ChecksumAlgorithm.class);
-        private final Map<HashAlgorithm, String> hashes = new EnumMap<>(HashAlgorithm.class);
+        private final Map<HashAlgorithm, Hash> hashes = new EnumMap<>(HashAlgorithm.class);
 
         private final Set<NativeLibrary> dependencies = new HashSet<>();
 
@@ -121,6 +153,11 @@ public record MavenArtifact(
             return this;
         }
 
+        public Builder withSize(long size) {
+            this.size = size;
+            return this;
+        }
+
         public Builder withChecksums(Map<ChecksumAlgorithm, Long> checksums) {
             Objects.requireNonNull(checksums, "Checksums map must not be null");
             this.checksums.putAll(checksums);
@@ -137,14 +174,21 @@ public record MavenArtifact(
 
         public Builder withHashes(Map<HashAlgorithm, String> hashes) {
             Objects.requireNonNull(hashes, "Hash map must not be null");
-            this.hashes.putAll(hashes);
+            hashes.forEach(this::withHash);
 
             return this;
         }
 
         public Builder withHash(HashAlgorithm algorithm, String hashValue) {
             Objects.requireNonNull(algorithm, "Hash algorithm must not be null");
-            this.hashes.put(algorithm, hashValue);
+            this.hashes.put(algorithm, Hash.fromHex(algorithm, hashValue));
+
+            return this;
+        }
+
+        public Builder withHash(Hash hash) {
+            Objects.requireNonNull(hash, "Hash must not be null");
+            this.hashes.put(hash.getAlgorithm(), hash);
 
             return this;
         }
@@ -177,6 +221,7 @@ public record MavenArtifact(
                     groupId,
                     artifactId,
                     version,
+                    size,
                     checksums,
                     hashes,
                     dependencies
@@ -0,0 +1,108 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.io.AtomicFiles;
+import ru.mrrex.betterium.core.verification.ResourceVerifier;
+import ru.mrrex.betterium.core.verification.VerificationResult;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+/**
+ * A directory in Maven repository layout, such as {@code ~/.m2/repository}, used as a
+ * read-through tier in front of the remote repositories. An artifact is served from it
+ * only after its file passes verification against the declared checksums and hashes;
+ * artifacts declaring none are skipped unless unverified artifacts are allowed.
+ * Downloaded artifacts can be written back so that later installs find them locally.
+ */
+public class LocalMavenRepository {
+
+    private static final String LOCAL_REPOSITORY_PROPERTY = "maven.repo.local";
+
+    private final Path rootDirectory;
+    private final ResourceVerifier resourceVerifier;
+    private final boolean unverifiedAllowed;
+
+    public LocalMavenRepository(Path rootDirectory, ResourceVerifier resourceVerifier, boolean unverifiedAllowed) {
+        this.rootDirectory = Objects.requireNonNull(rootDirectory, "Root directory must not be null");
+        this.resourceVerifier = Objects.requireNonNull(resourceVerifier, "Resource verifier must not be null");
+        this.unverifiedAllowed = unverifiedAllowed;
+    }
+
+    public LocalMavenRepository(Path rootDirectory) {
+        this(rootDirectory, new ResourceVerifier(), false);
+    }
+
+    public static LocalMavenRepository userDefault() {
+        String localRepositoryPath = System.getProperty(LOCAL_REPOSITORY_PROPERTY);
+
+        if (localRepositoryPath != null && !localRepositoryPath.isBlank())
+            return new LocalMavenRepository(Path.of(localRepositoryPath));
+
+        return new LocalMavenRepository(Path.of(System.getProperty("user.home"), ".m2", "repository"));
+    }
+
+    public Path getRootDirectory() {
+        return rootDirectory;
+    }
+
+    public Path getArtifactPath(MavenArtifact artifact) {
+        Objects.requireNonNull(artifact, "Maven artifact must not be null");
+        return rootDirectory.resolve(artifact.getRelativePath());
+    }
+
+    public boolean contains(MavenArtifact artifact) throws IOException, NoSuchAlgorithmException {
+        Path artifactPath = getArtifactPath(artifact);
+
+        if (!Files.isRegularFile(artifactPath))
+            return false;
+
+        VerificationResult verificationResult = resourceVerifier.verify(artifact, artifactPath);
+
+        if (verificationResult.isEmpty())
+            return unverifiedAllowed;
+
+        return verificationResult.isValid();
+    }
+
+    /**
+     * Places the verified local copy of the artifact at the destination, as a hard link
+     * where the file system allows it and as a copy otherwise.
+     *
+     * @return {@code true} if the artifact was served locally, {@code false} if it still has to be downloaded
+     */
+    public boolean copyTo(MavenArtifact artifact, Path destinationFilePath) throws IOException, NoSuchAlgorithmException {
+        Objects.requireNonNull(destinationFilePath, "Destination file path must not be null");
+
+        if (!contains(artifact))
+            return false;
+
+        AtomicFiles.link(getArtifactPath(artifact), destinationFilePath);
+
+        return true;
+    }
+
+    /**
+     * Writes a downloaded artifact file back into the repository layout, unless a valid
+     * copy is already there or the file itself fails verification.
+     *
+     * @return {@code true} if the file was written
+     */
+    public boolean install(MavenArtifact artifact, Path sourceFilePath) throws IOException, NoSuchAlgorithmException {
+        Objects.requireNonNull(sourceFilePath, "Source file path must not be null");
+
+        if (contains(artifact))
+            return false;
+
+        VerificationResult verificationResult = resourceVerifier.verify(artifact, sourceFilePath);
+
+        if (!verificationResult.isValid() || (verificationResult.isEmpty() && !unverifiedAllowed))
+            return false;
+
+        AtomicFiles.copy(sourceFilePath, getArtifactPath(artifact));
+
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.net.URI;
+import java.util.Objects;
+
+public record MavenRepository(
+        @JsonProperty("id")
+        String id,
+
+        @JsonProperty("base_uri")
+        URI baseUri
+) {
+
+    public static final MavenRepository MAVEN_CENTRAL = new MavenRepository(
+            "central",
+            URI.create("https://repo1.maven.org/maven2/")
+    );
+
+    @JsonCreator
+    public MavenRepository {
+        Objects.requireNonNull(id, "Repository ID (id) must not be null");
+        Objects.requireNonNull(baseUri, "Base URI (baseUri) must not be null");
+
+        if (!baseUri.isAbsolute())
+            throw new IllegalArgumentException("Base URI must be absolute: " + baseUri);
+
+        // Without the trailing slash URI.resolve() would drop the last path segment
+        if (!baseUri.getPath().endsWith("/"))
+            baseUri = URI.create(baseUri + "/");
+    }
+
+    public URI resolve(String relativePath) {
+        Objects.requireNonNull(relativePath, "Relative path must not be null");
+        return baseUri.resolve(relativePath);
+    }
+
+    public boolean contains(URI uri) {
+        Objects.requireNonNull(uri, "URI must not be null");
+        return uri.toString().startsWith(baseUri.toString());
+    }
+}
@@ -0,0 +1,133 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import ru.mrrex.betterium.core.download.downloader.http.HttpStatusException;
+import ru.mrrex.betterium.core.download.metrics.DownloadTimings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Fetches small repository files, such as POMs and checksum sidecars, into memory from the
+ * repositories of a {@link MavenRepositoryResolver} in ranked order. It falls back to the
+ * next repository on the same failures as the downloader; when every repository fails,
+ * the last failure is thrown with the earlier ones suppressed. Every outcome is recorded
+ * into the resolver's {@link MavenRepositoryRanking}, just like downloads are.
+ */
+public class MavenRepositoryClient implements AutoCloseable {
+
+    private static final int HTTP_OK_STATUS_CODE = 200;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final MavenRepositoryResolver repositoryResolver;
+    private final Duration timeout;
+
+    private final HttpClient httpClient;
+
+    public MavenRepositoryClient(MavenRepositoryResolver repositoryResolver, Duration timeout) {
+        this.repositoryResolver = Objects.requireNonNull(repositoryResolver, "Maven repository resolver must not be null");
+        this.timeout = Objects.requireNonNull(timeout, "Timeout must not be null");
+
+        this.httpClient = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    public MavenRepositoryClient(MavenRepositoryResolver repositoryResolver) {
+        this(repositoryResolver, DEFAULT_TIMEOUT);
+    }
+
+    public MavenRepositoryResolver getRepositoryResolver() {
+        return repositoryResolver;
+    }
+
+    public byte[] fetch(String relativePath) throws IOException {
+        Objects.requireNonNull(relativePath, "Relative path must not be null");
+
+        IOException lastException = null;
+
+        for (URI sourceUri : repositoryResolver.getSourceUris(relativePath)) {
+            try {
+                return fetch(sourceUri);
+            } catch (IOException exception) {
+                // An interrupted fetch says nothing about the repository
+                if (!Thread.currentThread().isInterrupted())
+                    repositoryResolver.recordFailure(sourceUri, exception);
+
+                if (lastException != null)
+                    exception.addSuppressed(lastException);
+
+                if (!isFallbackAllowed(exception))
+                    throw exception;
+
+                lastException = exception;
+            }
+        }
+
+        throw Objects.requireNonNull(lastException);
+    }
+
+    private byte[] fetch(URI sourceUri) throws IOException {
+        HttpRequest httpRequest = HttpRequest.newBuilder()
+                .uri(sourceUri)
+                .timeout(timeout)
+                .GET()
+                .build();
+
+        HttpResponse<InputStream> httpResponse;
+        long startedAt = System.nanoTime();
+
+        try {
+            httpResponse = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Fetch was interrupted: " + sourceUri, exception);
+        }
+
+        long respondedAt = System.nanoTime();
+        Duration timeToFirstByte = Duration.ofNanos(respondedAt - startedAt);
+
+        byte[] body;
+
+        try (InputStream inputStream = httpResponse.body()) {
+            if (httpResponse.statusCode() != HTTP_OK_STATUS_CODE)
+                throw new HttpStatusException(sourceUri, httpResponse.statusCode(), timeToFirstByte);
+
+            body = inputStream.readAllBytes();
+        }
+
+        long finishedAt = System.nanoTime();
+
+        repositoryResolver.recordSuccess(new DownloadTimings(
+                sourceUri,
+                Duration.ZERO,
+                timeToFirstByte,
+                Duration.ofNanos(finishedAt - respondedAt),
+                Duration.ZERO,
+                Duration.ofNanos(finishedAt - startedAt),
+                body.length,
+                body.length
+        ));
+
+        return body;
+    }
+
+    private boolean isFallbackAllowed(IOException exception) {
+        if (exception instanceof HttpStatusException httpStatusException)
+            return httpStatusException.isFallbackAllowed();
+
+        return exception instanceof ConnectException || exception instanceof HttpTimeoutException;
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
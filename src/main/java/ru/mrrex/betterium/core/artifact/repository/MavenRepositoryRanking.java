@@ -0,0 +1,131 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.mrrex.betterium.core.download.metrics.DownloadTimings;
+import ru.mrrex.betterium.core.io.AtomicFiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders repositories by the time they are expected to serve an artifact, estimated from
+ * smoothed time-to-first-byte and throughput of earlier downloads. Repositories that were
+ * never tried come first so that each one gets measured, repositories with repeated recent
+ * failures come last until their cooldown expires, and ties keep the configured order.
+ * A miss (an artifact the repository does not have) counts as exploration and contributes
+ * its time-to-first-byte, but neither improves nor harms the health of the repository.
+ * Statistics are keyed by base URI and can be saved to and loaded from a JSON file.
+ */
+public class MavenRepositoryRanking {
+
+    private static final long DEFAULT_EXPECTED_BYTES = 1024 * 1024;
+
+    private static final TypeReference<Map<String, RepositoryStatistics>> STATISTICS_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final Map<URI, RepositoryStatistics> statistics;
+
+    public MavenRepositoryRanking() {
+        this.objectMapper = new ObjectMapper();
+        this.statistics = new ConcurrentHashMap<>();
+    }
+
+    public RepositoryStatistics getStatistics(MavenRepository repository) {
+        Objects.requireNonNull(repository, "Maven repository must not be null");
+        return statistics.getOrDefault(repository.baseUri(), RepositoryStatistics.EMPTY);
+    }
+
+    public void recordSuccess(MavenRepository repository, DownloadTimings downloadTimings) {
+        Objects.requireNonNull(repository, "Maven repository must not be null");
+        Objects.requireNonNull(downloadTimings, "Download timings must not be null");
+
+        statistics.merge(
+                repository.baseUri(),
+                RepositoryStatistics.EMPTY.withSuccess(downloadTimings),
+                (current, _) -> current.withSuccess(downloadTimings)
+        );
+    }
+
+    public void recordFailure(MavenRepository repository) {
+        Objects.requireNonNull(repository, "Maven repository must not be null");
+
+        long failedAt = System.currentTimeMillis();
+
+        statistics.merge(
+                repository.baseUri(),
+                RepositoryStatistics.EMPTY.withFailure(failedAt),
+                (current, _) -> current.withFailure(failedAt)
+        );
+    }
+
+    public void recordMiss(MavenRepository repository, Duration timeToFirstByte) {
+        Objects.requireNonNull(repository, "Maven repository must not be null");
+        Objects.requireNonNull(timeToFirstByte, "Time to first byte duration must not be null");
+
+        statistics.merge(
+                repository.baseUri(),
+                RepositoryStatistics.EMPTY.withMiss(timeToFirstByte),
+                (current, _) -> current.withMiss(timeToFirstByte)
+        );
+    }
+
+    public List<MavenRepository> rank(List<MavenRepository> repositories) {
+        return rank(repositories, DEFAULT_EXPECTED_BYTES);
+    }
+
+    public List<MavenRepository> rank(List<MavenRepository> repositories, long expectedBytes) {
+        Objects.requireNonNull(repositories, "Maven repositories list must not be null");
+
+        long now = System.currentTimeMillis();
+        List<MavenRepository> rankedRepositories = new ArrayList<>(repositories);
+
+        // List.sort() is stable, so equally ranked repositories keep their configured order
+        rankedRepositories.sort(Comparator
+                .comparingInt((MavenRepository repository) -> getRankGroup(getStatistics(repository), now))
+                .thenComparingDouble(repository -> getStatistics(repository).getEstimatedMillis(expectedBytes)));
+
+        return rankedRepositories;
+    }
+
+    public void load(Path filePath) throws IOException {
+        Objects.requireNonNull(filePath, "File path must not be null");
+
+        if (Files.notExists(filePath))
+            return;
+
+        Map<String, RepositoryStatistics> loadedStatistics;
+
+        try {
+            loadedStatistics = objectMapper.readValue(filePath.toFile(), STATISTICS_TYPE);
+        } catch (JsonProcessingException _) {
+            // Rankings are advisory, a damaged file only costs re-measuring the repositories
+            return;
+        }
+
+        loadedStatistics.forEach((baseUri, repositoryStatistics) ->
+                statistics.put(URI.create(baseUri), repositoryStatistics));
+    }
+
+    public void save(Path filePath) throws IOException {
+        Objects.requireNonNull(filePath, "File path must not be null");
+
+        Map<String, RepositoryStatistics> savedStatistics = new TreeMap<>();
+        statistics.forEach((baseUri, repositoryStatistics) -> savedStatistics.put(baseUri.toString(), repositoryStatistics));
+
+        AtomicFiles.write(filePath, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(savedStatistics));
+    }
+
+    private int getRankGroup(RepositoryStatistics repositoryStatistics, long now) {
+        if (!repositoryStatistics.isExplored())
+            return 0;
+
+        return repositoryStatistics.isHealthy(now) ? 1 : 2;
+    }
+}
@@ -0,0 +1,127 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+import ru.mrrex.betterium.core.download.downloader.http.HttpStatusException;
+import ru.mrrex.betterium.core.download.listener.CompositeDownloadCompletionListener;
+import ru.mrrex.betterium.core.download.listener.DownloadCompletionListener;
+import ru.mrrex.betterium.core.download.metrics.DownloadTimings;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Resolves Maven artifacts against an ordered list of repositories. Download requests
+ * name the best ranked repository as their source and the remaining ones as mirrors,
+ * so the downloader falls back to them on 404, 5xx and connection failures. Registered
+ * as the downloader's completion listener, the resolver feeds every outcome back into
+ * its {@link MavenRepositoryRanking}; combine it with other listeners through a
+ * {@link CompositeDownloadCompletionListener}. {@link MavenRepositoryClient} reports
+ * its fetches into the same ranking.
+ */
+public class MavenRepositoryResolver implements DownloadCompletionListener {
+
+    private static final int NOT_FOUND_STATUS_CODE = 404;
+
+    private final List<MavenRepository> repositories;
+    private final MavenRepositoryRanking ranking;
+
+    public MavenRepositoryResolver(List<MavenRepository> repositories, MavenRepositoryRanking ranking) {
+        Objects.requireNonNull(repositories, "Maven repositories list must not be null");
+
+        if (repositories.isEmpty())
+            throw new IllegalArgumentException("At least one Maven repository is required");
+
+        this.repositories = List.copyOf(repositories);
+        this.ranking = Objects.requireNonNull(ranking, "Maven repository ranking must not be null");
+    }
+
+    public MavenRepositoryResolver(List<MavenRepository> repositories) {
+        this(repositories, new MavenRepositoryRanking());
+    }
+
+    public MavenRepositoryResolver() {
+        this(List.of(MavenRepository.MAVEN_CENTRAL));
+    }
+
+    public List<MavenRepository> getRepositories() {
+        return repositories;
+    }
+
+    public MavenRepositoryRanking getRanking() {
+        return ranking;
+    }
+
+    public List<URI> getSourceUris(MavenArtifact artifact) {
+        Objects.requireNonNull(artifact, "Maven artifact must not be null");
+        return getSourceUris(artifact.getRelativePath());
+    }
+
+    public List<URI> getSourceUris(String relativePath) {
+        Objects.requireNonNull(relativePath, "Relative path must not be null");
+
+        return ranking.rank(repositories).stream()
+                .map(repository -> repository.resolve(relativePath))
+                .toList();
+    }
+
+    public DownloadRequest.Builder createDownloadRequestBuilder(MavenArtifact artifact) {
+        List<URI> sourceUris = getSourceUris(artifact);
+
+        return DownloadRequest.builder()
+                .withSourceFileUri(sourceUris.getFirst())
+                .withMirrorUris(sourceUris.subList(1, sourceUris.size()));
+    }
+
+    public void recordSuccess(DownloadTimings downloadTimings) {
+        Objects.requireNonNull(downloadTimings, "Download timings must not be null");
+        MavenRepository repository = findRepository(downloadTimings.sourceUri());
+
+        if (repository != null)
+            ranking.recordSuccess(repository, downloadTimings);
+    }
+
+    public void recordFailure(URI sourceUri, Throwable throwable) {
+        Objects.requireNonNull(sourceUri, "Source URI must not be null");
+        MavenRepository repository = findRepository(sourceUri);
+
+        if (repository == null)
+            return;
+
+        // A missing artifact says nothing about the health of the repository, only about its latency
+        if (throwable instanceof HttpStatusException httpStatusException
+                && httpStatusException.getStatusCode() == NOT_FOUND_STATUS_CODE) {
+            ranking.recordMiss(repository, httpStatusException.getTimeToFirstByte());
+            return;
+        }
+
+        ranking.recordFailure(repository);
+    }
+
+    // The ranking is fed from the per-source events below, which name the repository involved
+    @Override
+    public void onSuccess(DownloadRequest downloadRequest, Duration executionDuration) {}
+
+    @Override
+    public void onSuccess(DownloadRequest downloadRequest, DownloadTimings downloadTimings) {
+        recordSuccess(downloadTimings);
+    }
+
+    @Override
+    public void onFailure(DownloadRequest downloadRequest, Throwable throwable) {}
+
+    @Override
+    public void onSourceFailure(DownloadRequest downloadRequest, URI sourceUri, Throwable throwable) {
+        recordFailure(sourceUri, throwable);
+    }
+
+    private MavenRepository findRepository(URI sourceUri) {
+        for (MavenRepository repository : repositories)
+            if (repository.contains(sourceUri))
+                return repository;
+
+        return null;
+    }
+}
@@ -0,0 +1,133 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import ru.mrrex.betterium.core.download.metrics.DownloadTimings;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record RepositoryStatistics(
+        @JsonProperty("latency_millis")
+        double latencyMillis,
+
+        @JsonProperty("throughput_bytes_per_second")
+        double throughputBytesPerSecond,
+
+        @JsonProperty("success_count")
+        long successCount,
+
+        @JsonProperty("failure_count")
+        long failureCount,
+
+        @JsonProperty("consecutive_failures")
+        int consecutiveFailures,
+
+        @JsonProperty("last_failure_at")
+        long lastFailureAt,
+
+        @JsonProperty("miss_count")
+        long missCount
+) {
+
+    public static final RepositoryStatistics EMPTY = new RepositoryStatistics(0, 0, 0, 0, 0, 0, 0);
+
+    private static final double SMOOTHING_FACTOR = 0.3;
+
+    private static final int UNHEALTHY_CONSECUTIVE_FAILURES = 3;
+    private static final long UNHEALTHY_COOLDOWN_MILLIS = Duration.ofMinutes(5).toMillis();
+
+    @JsonCreator
+    public RepositoryStatistics {
+        if (latencyMillis < 0)
+            throw new IllegalArgumentException("Latency must not be negative");
+
+        if (throughputBytesPerSecond < 0)
+            throw new IllegalArgumentException("Throughput must not be negative");
+
+        if (successCount < 0 || failureCount < 0 || consecutiveFailures < 0 || missCount < 0)
+            throw new IllegalArgumentException("Counters must not be negative");
+    }
+
+    public RepositoryStatistics withSuccess(DownloadTimings downloadTimings) {
+        Objects.requireNonNull(downloadTimings, "Download timings must not be null");
+
+        double sampledLatencyMillis = downloadTimings.timeToFirstByte().toNanos() / 1_000_000.0;
+        long bodyTransferNanos = downloadTimings.bodyTransfer().toNanos();
+
+        double nextThroughput = throughputBytesPerSecond;
+
+        if (bodyTransferNanos > 0 && downloadTimings.wireBytes() > 0)
+            nextThroughput = smooth(throughputBytesPerSecond, downloadTimings.wireBytes() * 1e9 / bodyTransferNanos);
+
+        return new RepositoryStatistics(
+                smooth(latencyMillis, sampledLatencyMillis),
+                nextThroughput,
+                successCount + 1,
+                failureCount,
+                0,
+                lastFailureAt,
+                missCount
+        );
+    }
+
+    public RepositoryStatistics withFailure(long failedAt) {
+        return new RepositoryStatistics(
+                latencyMillis,
+                throughputBytesPerSecond,
+                successCount,
+                failureCount + 1,
+                consecutiveFailures + 1,
+                failedAt,
+                missCount
+        );
+    }
+
+    public RepositoryStatistics withMiss(Duration timeToFirstByte) {
+        Objects.requireNonNull(timeToFirstByte, "Time to first byte duration must not be null");
+
+        return new RepositoryStatistics(
+                smooth(latencyMillis, timeToFirstByte.toNanos() / 1_000_000.0),
+                throughputBytesPerSecond,
+                successCount,
+                failureCount,
+                consecutiveFailures,
+                lastFailureAt,
+                missCount + 1
+        );
+    }
+
+    @JsonIgnore
+    public boolean isMeasured() {
+        return successCount > 0;
+    }
+
+    @JsonIgnore
+    public boolean isExplored() {
+        return successCount > 0 || failureCount > 0 || missCount > 0;
+    }
+
+    public boolean isHealthy(long now) {
+        return consecutiveFailures < UNHEALTHY_CONSECUTIVE_FAILURES
+                || now - lastFailureAt >= UNHEALTHY_COOLDOWN_MILLIS;
+    }
+
+    public double getEstimatedMillis(long expectedBytes) {
+        if (!isMeasured())
+            return Double.POSITIVE_INFINITY;
+
+        double transferMillis = (throughputBytesPerSecond > 0)
+                ? expectedBytes * 1000.0 / throughputBytesPerSecond
+                : 0;
+
+        return latencyMillis + transferMillis;
+    }
+
+    private double smooth(double currentValue, double sampledValue) {
+        if (successCount + missCount == 0 || currentValue == 0)
+            return sampledValue;
+
+        return currentValue + SMOOTHING_FACTOR * (sampledValue - currentValue);
+    }
+}
@@ -0,0 +1,203 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.download.downloader.http.HttpStatusException;
+import ru.mrrex.betterium.core.hash.Hash;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.io.AtomicFiles;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Fills in artifact hashes from the {@code .sha512}, {@code .sha256} and {@code .sha1}
+ * sidecar files published next to each jar. The sidecars of a whole artifact set are
+ * requested at once on virtual threads, bounded by a concurrency limit, so their round
+ * trips overlap instead of adding up. Hashes declared by an artifact are never replaced.
+ * <p>
+ * With a cache directory, found sidecars are stored in the repository layout, and an
+ * artifact with any stored sidecar is later populated from disk without a request.
+ */
+public class SidecarHashFetcher implements AutoCloseable {
+
+    private static final List<HashAlgorithm> DEFAULT_ALGORITHMS = List.of(
+            HashAlgorithm.SHA512,
+            HashAlgorithm.SHA256,
+            HashAlgorithm.SHA1
+    );
+
+    private static final int DEFAULT_CONCURRENCY = 16;
+
+    private static final int NOT_FOUND_STATUS_CODE = 404;
+    private static final int GONE_STATUS_CODE = 410;
+
+    private final MavenRepositoryClient repositoryClient;
+    private final Path cacheDirectory;
+    private final List<HashAlgorithm> algorithms;
+
+    private final Semaphore concurrencyLimit;
+    private final ExecutorService executorService;
+
+    public SidecarHashFetcher(MavenRepositoryClient repositoryClient, Path cacheDirectory, List<HashAlgorithm> algorithms, int concurrency) {
+        Objects.requireNonNull(algorithms, "Hash algorithms list must not be null");
+
+        if (concurrency < 1)
+            throw new IllegalArgumentException("Concurrency must be greater than zero");
+
+        this.repositoryClient = Objects.requireNonNull(repositoryClient, "Maven repository client must not be null");
+        this.cacheDirectory = cacheDirectory;
+        this.algorithms = List.copyOf(algorithms);
+
+        this.concurrencyLimit = new Semaphore(concurrency);
+        this.executorService = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    public SidecarHashFetcher(MavenRepositoryClient repositoryClient, Path cacheDirectory) {
+        this(repositoryClient, cacheDirectory, DEFAULT_ALGORITHMS, DEFAULT_CONCURRENCY);
+    }
+
+    public SidecarHashFetcher(MavenRepositoryClient repositoryClient) {
+        this(repositoryClient, null);
+    }
+
+    public List<MavenArtifact> populateHashes(Collection<MavenArtifact> artifacts) throws IOException {
+        Objects.requireNonNull(artifacts, "Maven artifacts collection must not be null");
+
+        List<MavenArtifact> sourceArtifacts = List.copyOf(artifacts);
+        List<Map<HashAlgorithm, Hash>> cachedHashes = new ArrayList<>(sourceArtifacts.size());
+        List<Map<HashAlgorithm, Future<Hash>>> pendingHashes = new ArrayList<>(sourceArtifacts.size());
+
+        // Every sidecar request is submitted before waiting for any of them
+        for (MavenArtifact artifact : sourceArtifacts) {
+            Map<HashAlgorithm, Hash> artifactCachedHashes = readCachedHashes(artifact);
+            Map<HashAlgorithm, Future<Hash>> artifactPendingHashes = new EnumMap<>(HashAlgorithm.class);
+
+            if (artifactCachedHashes.isEmpty())
+                for (HashAlgorithm algorithm : algorithms)
+                    if (!artifact.hashes().containsKey(algorithm))
+                        artifactPendingHashes.put(algorithm, executorService.submit(() -> fetchHash(artifact, algorithm)));
+
+            cachedHashes.add(artifactCachedHashes);
+            pendingHashes.add(artifactPendingHashes);
+        }
+
+        List<MavenArtifact> populatedArtifacts = new ArrayList<>(sourceArtifacts.size());
+
+        try {
+            for (int i = 0; i < sourceArtifacts.size(); i++) {
+                MavenArtifact artifact = sourceArtifacts.get(i);
+                Map<HashAlgorithm, Hash> fetchedHashes = new EnumMap<>(HashAlgorithm.class);
+
+                for (Map.Entry<HashAlgorithm, Future<Hash>> entry : pendingHashes.get(i).entrySet()) {
+                    Hash hash = awaitHash(entry.getValue());
+
+                    if (hash != null)
+                        fetchedHashes.put(entry.getKey(), hash);
+                }
+
+                writeCachedHashes(artifact, fetchedHashes);
+
+                fetchedHashes.putAll(cachedHashes.get(i));
+                populatedArtifacts.add(artifact.withAdditionalHashes(fetchedHashes));
+            }
+        } finally {
+            for (Map<HashAlgorithm, Future<Hash>> artifactPendingHashes : pendingHashes)
+                artifactPendingHashes.values().forEach(future -> future.cancel(true));
+        }
+
+        return populatedArtifacts;
+    }
+
+    private Hash fetchHash(MavenArtifact artifact, HashAlgorithm algorithm) throws IOException, InterruptedException {
+        concurrencyLimit.acquire();
+
+        try {
+            return parseSidecar(algorithm, repositoryClient.fetch(getSidecarPath(artifact, algorithm)));
+        } catch (HttpStatusException exception) {
+            int statusCode = exception.getStatusCode();
+
+            if (statusCode == NOT_FOUND_STATUS_CODE || statusCode == GONE_STATUS_CODE)
+                return null;
+
+            throw exception;
+        } finally {
+            concurrencyLimit.release();
+        }
+    }
+
+    private Hash awaitHash(Future<Hash> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Sidecar fetch was interrupted");
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+
+            if (cause instanceof IOException ioException)
+                throw ioException;
+
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+
+            throw new IOException("Sidecar fetch failed", cause);
+        }
+    }
+
+    private Map<HashAlgorithm, Hash> readCachedHashes(MavenArtifact artifact) throws IOException {
+        if (cacheDirectory == null)
+            return Map.of();
+
+        Map<HashAlgorithm, Hash> hashes = new EnumMap<>(HashAlgorithm.class);
+
+        for (HashAlgorithm algorithm : algorithms) {
+            Path sidecarFilePath = cacheDirectory.resolve(getSidecarPath(artifact, algorithm));
+
+            if (!Files.isRegularFile(sidecarFilePath))
+                continue;
+
+            Hash hash = parseSidecar(algorithm, Files.readAllBytes(sidecarFilePath));
+
+            if (hash != null)
+                hashes.put(algorithm, hash);
+        }
+
+        return hashes;
+    }
+
+    private void writeCachedHashes(MavenArtifact artifact, Map<HashAlgorithm, Hash> hashes) throws IOException {
+        if (cacheDirectory == null)
+            return;
+
+        for (Map.Entry<HashAlgorithm, Hash> entry : hashes.entrySet()) {
+            Path sidecarFilePath = cacheDirectory.resolve(getSidecarPath(artifact, entry.getKey()));
+            AtomicFiles.write(sidecarFilePath, (entry.getValue().toHexString() + '\n').getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private String getSidecarPath(MavenArtifact artifact, HashAlgorithm algorithm) {
+        return artifact.getRelativePath() + '.' + algorithm.toValue();
+    }
+
+    private Hash parseSidecar(HashAlgorithm algorithm, byte[] content) {
+        // Sidecars hold the hex digest, optionally followed by the file name
+        String text = new String(content, StandardCharsets.US_ASCII).strip();
+        String hexValue = text.split("\\s+", 2)[0];
+
+        try {
+            return Hash.fromHex(algorithm, hexValue);
+        } catch (IllegalArgumentException _) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.close();
+    }
+}
@@ -0,0 +1,39 @@
+package ru.mrrex.betterium.core.calculator;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Exclusive use of a pooled calculator until {@link #close()} returns it to its pool.
+ * A lease is meant to be used by a single thread inside a try-with-resources block.
+ *
+ * @param <C> the calculator type
+ */
+public final class CalculatorLease<C> implements AutoCloseable {
+
+    private final C calculator;
+    private final Consumer<C> releaseAction;
+
+    private boolean isReleased;
+
+    CalculatorLease(C calculator, Consumer<C> releaseAction) {
+        this.calculator = Objects.requireNonNull(calculator, "Calculator must not be null");
+        this.releaseAction = Objects.requireNonNull(releaseAction, "Release action must not be null");
+    }
+
+    public C get() {
+        if (isReleased)
+            throw new IllegalStateException("Calculator lease has already been released");
+
+        return calculator;
+    }
+
+    @Override
+    public void close() {
+        if (isReleased)
+            return;
+
+        isReleased = true;
+        releaseAction.accept(calculator);
+    }
+}
@@ -0,0 +1,128 @@
+package ru.mrrex.betterium.core.calculator;
+
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.checksum.ChecksumCalculator;
+import ru.mrrex.betterium.core.checksum.ChecksumCalculatorFactory;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.hash.HashCalculator;
+import ru.mrrex.betterium.core.hash.HashCalculatorFactory;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread-safe pool of hash and checksum calculators shared by concurrent workers.
+ * Calculators are kept per algorithm in lock-free idle queues; new hash calculators
+ * are cloned from a prototype digest by {@link HashCalculatorFactory}, so the
+ * security provider lookup happens once per algorithm rather than once per use.
+ * At most {@code maxIdleCalculators} idle instances are retained per algorithm,
+ * surplus instances released under a burst of concurrency are left to the garbage collector.
+ */
+public class CalculatorPool {
+
+    private static final CalculatorPool SHARED_POOL = new CalculatorPool();
+
+    private final Map<HashAlgorithm, IdleCalculators<HashCalculator>> hashCalculators;
+    private final Map<ChecksumAlgorithm, IdleCalculators<ChecksumCalculator>> checksumCalculators;
+
+    public CalculatorPool(int maxIdleCalculators) {
+        if (maxIdleCalculators < 0)
+            throw new IllegalArgumentException("Maximum idle calculators count must not be negative");
+
+        // Both maps are fully populated here and never modified afterwards, so concurrent reads are safe
+        this.hashCalculators = new EnumMap<>(HashAlgorithm.class);
+        this.checksumCalculators = new EnumMap<>(ChecksumAlgorithm.class);
+
+        for (HashAlgorithm algorithm : HashAlgorithm.values())
+            hashCalculators.put(algorithm, new IdleCalculators<>(maxIdleCalculators));
+
+        for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values())
+            checksumCalculators.put(algorithm, new IdleCalculators<>(maxIdleCalculators));
+    }
+
+    public CalculatorPool() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public static CalculatorPool getShared() {
+        return SHARED_POOL;
+    }
+
+    public CalculatorLease<HashCalculator> acquireHashCalculator(HashAlgorithm algorithm) throws NoSuchAlgorithmException {
+        Objects.requireNonNull(algorithm, "Hash algorithm must not be null");
+
+        IdleCalculators<HashCalculator> idleCalculators = hashCalculators.get(algorithm);
+        HashCalculator hashCalculator = idleCalculators.poll();
+
+        if (hashCalculator == null)
+            hashCalculator = HashCalculatorFactory.createCalculator(algorithm);
+
+        return new CalculatorLease<>(hashCalculator, calculator -> {
+            calculator.reset();
+            idleCalculators.offer(calculator);
+        });
+    }
+
+    public CalculatorLease<ChecksumCalculator> acquireChecksumCalculator(ChecksumAlgorithm algorithm) {
+        Objects.requireNonNull(algorithm, "Checksum algorithm must not be null");
+
+        IdleCalculators<ChecksumCalculator> idleCalculators = checksumCalculators.get(algorithm);
+        ChecksumCalculator checksumCalculator = idleCalculators.poll();
+
+        if (checksumCalculator == null)
+            checksumCalculator = ChecksumCalculatorFactory.createCalculator(algorithm);
+
+        return new CalculatorLease<>(checksumCalculator, calculator -> {
+            calculator.reset();
+            idleCalculators.offer(calculator);
+        });
+    }
+
+    public int getIdleHashCalculatorCount(HashAlgorithm algorithm) {
+        return hashCalculators.get(Objects.requireNonNull(algorithm, "Hash algorithm must not be null")).size();
+    }
+
+    public int getIdleChecksumCalculatorCount(ChecksumAlgorithm algorithm) {
+        return checksumCalculators.get(Objects.requireNonNull(algorithm, "Checksum algorithm must not be null")).size();
+    }
+
+    private static final class IdleCalculators<C> {
+
+        private final int capacity;
+        private final Queue<C> calculators;
+        private final AtomicInteger size;
+
+        private IdleCalculators(int capacity) {
+            this.capacity = capacity;
+            this.calculators = new ConcurrentLinkedQueue<>();
+            this.size = new AtomicInteger();
+        }
+
+        private C poll() {
+            C calculator = calculators.poll();
+
+            if (calculator != null)
+                size.decrementAndGet();
+
+            return calculator;
+        }
+
+        private void offer(C calculator) {
+            if (size.incrementAndGet() > capacity) {
+                size.decrementAndGet();
+                return;
+            }
+
+            calculators.offer(calculator);
+        }
+
+        private int size() {
+            return size.get();
+        }
+    }
+}
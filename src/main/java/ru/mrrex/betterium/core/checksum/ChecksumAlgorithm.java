@@ -10,7 +10,9 @@ public enum ChecksumAlgorithm {
 
     CRC32,
     CRC32C,
-    ADLER32;
+    ADLER32,
+    XXH64,
+    XXH3;
 
     @JsonCreator
     public static ChecksumAlgorithm fromValue(String value) {
@@ -1,16 +1,18 @@
 package ru.mrrex.betterium.core.checksum;
 
+import ru.mrrex.betterium.core.io.FileContentReader;
+import ru.mrrex.betterium.core.io.ScratchBuffers;
+import ru.mrrex.betterium.core.jfr.ChecksumCalculationEvent;
+
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.zip.Checksum;
 
 public class ChecksumCalculator {
 
-    private static final int BUFFER_SIZE = 8 * 1024;
-
     private final Checksum checksum;
 
     public ChecksumCalculator(Checksum checksum) {
@@ -18,27 +20,77 @@ public class ChecksumCalculator {
     }
 
     public long calculate(byte[] data) {
+        ChecksumCalculationEvent calculationEvent = new ChecksumCalculationEvent();
+        calculationEvent.begin();
+
         checksum.reset();
         checksum.update(data);
 
-        return checksum.getValue();
+        long checksumValue = checksum.getValue();
+        commitCalculationEvent(calculationEvent, data.length);
+
+        return checksumValue;
     }
 
     public long calculate(InputStream inputStream) throws IOException {
-        byte[] buffer = new byte[BUFFER_SIZE];
+        ChecksumCalculationEvent calculationEvent = new ChecksumCalculationEvent();
+        calculationEvent.begin();
 
-        checksum.reset();
+        byte[] buffer = ScratchBuffers.getByteArray();
+        long totalBytesRead = 0;
+        int bytesRead;
 
-        while (inputStream.read(buffer) != -1) {
-            checksum.update(buffer);
+        reset();
+
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            update(buffer, 0, bytesRead);
+            totalBytesRead += bytesRead;
         }
 
-        return checksum.getValue();
+        long checksumValue = finish();
+        commitCalculationEvent(calculationEvent, totalBytesRead);
+
+        return checksumValue;
     }
 
     public long calculate(Path filePath) throws IOException {
-        try (InputStream inputStream = Files.newInputStream(filePath)) {
-            return calculate(inputStream);
-        }
+        ChecksumCalculationEvent calculationEvent = new ChecksumCalculationEvent();
+        calculationEvent.begin();
+
+        checksum.reset();
+
+        long totalBytesRead = FileContentReader.read(filePath, checksum::update);
+
+        long checksumValue = checksum.getValue();
+        commitCalculationEvent(calculationEvent, totalBytesRead);
+
+        return checksumValue;
+    }
+
+    public void reset() {
+        checksum.reset();
+    }
+
+    public void update(ByteBuffer buffer) {
+        checksum.update(buffer);
+    }
+
+    public void update(byte[] data, int offset, int length) {
+        checksum.update(data, offset, length);
+    }
+
+    public long finish() {
+        return checksum.getValue();
+    }
+
+    private void commitCalculationEvent(ChecksumCalculationEvent calculationEvent, long bytes) {
+        calculationEvent.end();
+
+        if (!calculationEvent.shouldCommit())
+            return;
+
+        calculationEvent.setAlgorithm(checksum.getClass().getSimpleName());
+        calculationEvent.setBytes(bytes);
+        calculationEvent.commit();
     }
 }
@@ -11,14 +11,18 @@ public abstract class ChecksumCalculatorFactory {
     private ChecksumCalculatorFactory() {}
 
     public static ChecksumCalculator createCalculator(ChecksumAlgorithm algorithm) {
+        return new ChecksumCalculator(createChecksum(algorithm));
+    }
+
+    public static Checksum createChecksum(ChecksumAlgorithm algorithm) {
         Objects.requireNonNull(algorithm, "Checksum algorithm must not be null");
 
-        Checksum checksum = switch (algorithm) {
+        return switch (algorithm) {
             case CRC32 -> new CRC32();
             case CRC32C -> new CRC32C();
             case ADLER32 -> new Adler32();
+            case XXH64 -> new XXHash64Checksum();
+            case XXH3 -> new XXH3Checksum();
         };
-
-        return new ChecksumCalculator(checksum);
     }
 }
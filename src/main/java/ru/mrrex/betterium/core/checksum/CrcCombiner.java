@@ -0,0 +1,87 @@
+package ru.mrrex.betterium.core.checksum;
+
+import java.util.Objects;
+
+/**
+ * Combines CRC values of adjacent byte sequences, as zlib's {@code crc32_combine} does:
+ * {@code combine(crc(A), crc(B), length(B)) == crc(A || B)}. The CRC of the first part is
+ * shifted by {@code length(B)} zero bytes through multiplication by {@code x^(8 * length(B))}
+ * modulo the reflected polynomial, in {@code O(log length)} time.
+ */
+public abstract class CrcCombiner {
+
+    private static final int CRC32_POLYNOMIAL = 0xEDB88320;
+    private static final int CRC32C_POLYNOMIAL = 0x82F63B78;
+
+    private static final int[] CRC32_POWERS = createPowerTable(CRC32_POLYNOMIAL);
+    private static final int[] CRC32C_POWERS = createPowerTable(CRC32C_POLYNOMIAL);
+
+    private CrcCombiner() {}
+
+    public static boolean isSupported(ChecksumAlgorithm algorithm) {
+        return algorithm == ChecksumAlgorithm.CRC32 || algorithm == ChecksumAlgorithm.CRC32C;
+    }
+
+    public static long combine(ChecksumAlgorithm algorithm, long firstCrc, long secondCrc, long secondLength) {
+        Objects.requireNonNull(algorithm, "Checksum algorithm must not be null");
+
+        if (secondLength < 0)
+            throw new IllegalArgumentException("Second length must not be negative");
+
+        return switch (algorithm) {
+            case CRC32 -> combine(CRC32_POLYNOMIAL, CRC32_POWERS, firstCrc, secondCrc, secondLength);
+            case CRC32C -> combine(CRC32C_POLYNOMIAL, CRC32C_POWERS, firstCrc, secondCrc, secondLength);
+            default -> throw new IllegalArgumentException("CRC combination is not supported for " + algorithm);
+        };
+    }
+
+    private static long combine(int polynomial, int[] powers, long firstCrc, long secondCrc, long secondLength) {
+        int shift = powerOfX(polynomial, powers, secondLength, 3);
+        int combinedCrc = multiplyModulo(polynomial, shift, (int) firstCrc) ^ (int) secondCrc;
+
+        return Integer.toUnsignedLong(combinedCrc);
+    }
+
+    private static int powerOfX(int polynomial, int[] powers, long exponent, int exponentShift) {
+        // Computes x^(exponent * 2^exponentShift) from the table of x^(2^k)
+        int product = 1 << 31;
+        int k = exponentShift;
+
+        while (exponent != 0) {
+            if ((exponent & 1) != 0)
+                product = multiplyModulo(polynomial, powers[k & 31], product);
+
+            exponent >>>= 1;
+            k++;
+        }
+
+        return product;
+    }
+
+    private static int multiplyModulo(int polynomial, int a, int b) {
+        int mask = 1 << 31;
+        int product = 0;
+
+        while (true) {
+            if ((a & mask) != 0) {
+                product ^= b;
+
+                if ((a & (mask - 1)) == 0)
+                    return product;
+            }
+
+            mask >>>= 1;
+            b = ((b & 1) != 0) ? (b >>> 1) ^ polynomial : b >>> 1;
+        }
+    }
+
+    private static int[] createPowerTable(int polynomial) {
+        int[] powers = new int[32];
+        powers[0] = 1 << 30;
+
+        for (int k = 1; k < powers.length; k++)
+            powers[k] = multiplyModulo(polynomial, powers[k - 1], powers[k - 1]);
+
+        return powers;
+    }
+}
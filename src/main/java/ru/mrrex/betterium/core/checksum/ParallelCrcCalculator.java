@@ -0,0 +1,133 @@
+package ru.mrrex.betterium.core.checksum;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Checksum;
+
+/**
+ * Calculates CRC32 or CRC32C of a file by checksumming fixed-size segments on a dedicated
+ * {@link ForkJoinPool} and folding the segment values with {@link CrcCombiner}, which gives
+ * the same value as the sequential calculation. Every segment is memory-mapped by the worker
+ * that checksums it and unmapped as soon as it is done.
+ */
+public class ParallelCrcCalculator implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private final ChecksumAlgorithm algorithm;
+    private final int segmentSize;
+    private final int parallelism;
+    private final ExecutorService executorService;
+
+    public ParallelCrcCalculator(ChecksumAlgorithm algorithm, int segmentSize, int parallelism) {
+        this.algorithm = Objects.requireNonNull(algorithm, "Checksum algorithm must not be null");
+
+        if (!CrcCombiner.isSupported(algorithm))
+            throw new IllegalArgumentException("Parallel calculation is not supported for " + algorithm);
+
+        if (segmentSize < 1)
+            throw new IllegalArgumentException("Segment size must be greater than zero");
+
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be greater than zero");
+
+        this.segmentSize = segmentSize;
+        this.parallelism = parallelism;
+        this.executorService = new ForkJoinPool(parallelism);
+    }
+
+    public ParallelCrcCalculator(ChecksumAlgorithm algorithm) {
+        this(algorithm, DEFAULT_SEGMENT_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public long calculate(Path filePath) throws IOException, InterruptedException {
+        Objects.requireNonNull(filePath, "File path must not be null");
+
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+
+            if (fileSize <= segmentSize)
+                return ChecksumCalculatorFactory.createCalculator(algorithm).calculate(filePath);
+
+            long segmentCount = (fileSize + segmentSize - 1) / segmentSize;
+
+            if (segmentCount > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("File is too large for segment size " + segmentSize);
+
+            long[] segmentCrcs = new long[(int) segmentCount];
+            AtomicInteger nextSegmentIndex = new AtomicInteger(0);
+
+            int workerCount = (int) Math.min(parallelism, segmentCount);
+            List<Callable<Void>> workers = new ArrayList<>(workerCount);
+
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(() -> {
+                    Checksum checksum = ChecksumCalculatorFactory.createChecksum(algorithm);
+                    int segmentIndex;
+
+                    while ((segmentIndex = nextSegmentIndex.getAndIncrement()) < segmentCrcs.length) {
+                        long segmentOffset = (long) segmentIndex * segmentSize;
+                        long segmentLength = Math.min(segmentSize, fileSize - segmentOffset);
+
+                        segmentCrcs[segmentIndex] = calculateSegment(checksum, fileChannel, segmentOffset, segmentLength);
+                    }
+
+                    return null;
+                });
+            }
+
+            for (Future<Void> future : executorService.invokeAll(workers))
+                awaitWorker(future);
+
+            long crc = segmentCrcs[0];
+
+            for (int i = 1; i < segmentCrcs.length; i++) {
+                long segmentLength = Math.min(segmentSize, fileSize - (long) i * segmentSize);
+                crc = CrcCombiner.combine(algorithm, crc, segmentCrcs[i], segmentLength);
+            }
+
+            return crc;
+        }
+    }
+
+    private long calculateSegment(Checksum checksum, FileChannel fileChannel, long segmentOffset, long segmentLength) throws IOException {
+        checksum.reset();
+
+        try (Arena arena = Arena.ofConfined()) {
+            ByteBuffer segment = fileChannel.map(FileChannel.MapMode.READ_ONLY, segmentOffset, segmentLength, arena).asByteBuffer();
+            checksum.update(segment);
+        }
+
+        return checksum.getValue();
+    }
+
+    private void awaitWorker(Future<Void> future) throws IOException, InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+
+            if (cause instanceof IOException ioException)
+                throw ioException;
+
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+
+            throw new IllegalStateException("Segment checksum calculation failed", cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.close();
+    }
+}
@@ -0,0 +1,390 @@
+package ru.mrrex.betterium.core.checksum;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.zip.Checksum;
+
+/**
+ * Streaming XXH3-64 with a zero seed and the default secret.
+ * Inputs up to 240 bytes are kept in the internal buffer and hashed by the short-input
+ * routines on {@link #getValue()}; longer inputs are accumulated in 64-byte stripes with
+ * a scramble after every 1024-byte block. A stripe is only accumulated once at least one
+ * more byte is known to follow it, which keeps the streaming result identical to the one-shot result.
+ */
+public class XXH3Checksum implements Checksum {
+
+    private static final long PRIME32_1 = 0x9E3779B1L;
+    private static final long PRIME32_2 = 0x85EBCA77L;
+    private static final long PRIME32_3 = 0xC2B2AE3DL;
+
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    private static final long PRIME_MX1 = 0x165667919E3779F9L;
+    private static final long PRIME_MX2 = 0x9FB21C651E98DF25L;
+
+    private static final VarHandle LONG_HANDLE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_HANDLE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final byte[] SECRET = HexFormat.of().parseHex(
+            "b8fe6c3923a44bbe7c01812cf721ad1cded46de9839097db7240a4a4b7b3671f"
+                    + "cb79e64eccc0e578825ad07dccff7221b8084674f743248ee03590e6813a264c"
+                    + "3c2852bb91c300cb88d0658b1b532ea371644897a20df94e3819ef46a9deacd8"
+                    + "a8fa763fe39c343ff9dcbbc7c70b4f1d8a51e04bcdb45931c89f7ec9d9787364"
+                    + "eac5ac8334d3ebc3c581a0fffa1363eb170ddd51b7f0da49d316552629d4689e"
+                    + "2b16be587d47a1fc8ff8b8d17ad031ce45cb3a8f95160428afd7fbcabb4b407e"
+    );
+
+    private static final long[] SECRET_WORDS = createSecretWords();
+
+    private static final int STRIPE_LENGTH = 64;
+    private static final int STRIPES_PER_BLOCK = (SECRET.length - STRIPE_LENGTH) / 8;
+    private static final int MIDSIZE_MAX = 240;
+
+    private static final int SECRET_LAST_STRIPE_OFFSET = SECRET.length - STRIPE_LENGTH - 7;
+    private static final int SECRET_SCRAMBLE_OFFSET = SECRET.length - STRIPE_LENGTH;
+    private static final int SECRET_MERGE_OFFSET = 11;
+
+    private static final int BUFFER_SIZE = 4 * STRIPE_LENGTH;
+    private static final int SCRATCH_BUFFER_SIZE = 8 * 1024;
+
+    private final long[] accumulators = new long[8];
+    private final long[] finalAccumulators = new long[8];
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] lastStripe = new byte[STRIPE_LENGTH];
+    private final byte[] singleByte = new byte[1];
+
+    private byte[] scratchBuffer;
+
+    private long totalLength;
+    private int bufferedSize;
+    private int stripesInBlock;
+
+    public XXH3Checksum() {
+        reset();
+    }
+
+    @Override
+    public void update(int b) {
+        singleByte[0] = (byte) b;
+        update(singleByte, 0, 1);
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        totalLength += len;
+
+        if (bufferedSize + len <= BUFFER_SIZE) {
+            System.arraycopy(b, off, buffer, bufferedSize, len);
+            bufferedSize += len;
+            return;
+        }
+
+        int end = off + len;
+
+        if (bufferedSize > 0) {
+            int fillLength = BUFFER_SIZE - bufferedSize;
+
+            System.arraycopy(b, off, buffer, bufferedSize, fillLength);
+            stripesInBlock = consumeStripes(accumulators, stripesInBlock, buffer, 0, BUFFER_SIZE / STRIPE_LENGTH);
+
+            off += fillLength;
+            bufferedSize = 0;
+        }
+
+        if (end - off > BUFFER_SIZE) {
+            int stripeCount = (end - off - 1) / STRIPE_LENGTH;
+
+            stripesInBlock = consumeStripes(accumulators, stripesInBlock, b, off, stripeCount);
+            off += stripeCount * STRIPE_LENGTH;
+
+            // Keep the last consumed stripe, the final stripe may overlap it
+            System.arraycopy(b, off - STRIPE_LENGTH, buffer, BUFFER_SIZE - STRIPE_LENGTH, STRIPE_LENGTH);
+        }
+
+        bufferedSize = end - off;
+        System.arraycopy(b, off, buffer, 0, bufferedSize);
+    }
+
+    @Override
+    public void update(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int position = buffer.position();
+            update(buffer.array(), buffer.arrayOffset() + position, buffer.limit() - position);
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        if (scratchBuffer == null)
+            scratchBuffer = new byte[SCRATCH_BUFFER_SIZE];
+
+        while (buffer.hasRemaining()) {
+            int length = Math.min(buffer.remaining(), SCRATCH_BUFFER_SIZE);
+
+            buffer.get(scratchBuffer, 0, length);
+            update(scratchBuffer, 0, length);
+        }
+    }
+
+    @Override
+    public long getValue() {
+        if (totalLength <= MIDSIZE_MAX)
+            return hashShort(buffer, (int) totalLength);
+
+        System.arraycopy(accumulators, 0, finalAccumulators, 0, accumulators.length);
+
+        int stripeCount = (bufferedSize - 1) / STRIPE_LENGTH;
+        consumeStripes(finalAccumulators, stripesInBlock, buffer, 0, stripeCount);
+
+        if (bufferedSize >= STRIPE_LENGTH) {
+            System.arraycopy(buffer, bufferedSize - STRIPE_LENGTH, lastStripe, 0, STRIPE_LENGTH);
+        } else {
+            int catchUpLength = STRIPE_LENGTH - bufferedSize;
+
+            System.arraycopy(buffer, BUFFER_SIZE - catchUpLength, lastStripe, 0, catchUpLength);
+            System.arraycopy(buffer, 0, lastStripe, catchUpLength, bufferedSize);
+        }
+
+        accumulate(finalAccumulators, lastStripe, 0, SECRET_LAST_STRIPE_OFFSET);
+
+        return mergeAccumulators(finalAccumulators, totalLength * PRIME64_1);
+    }
+
+    @Override
+    public void reset() {
+        accumulators[0] = PRIME32_3;
+        accumulators[1] = PRIME64_1;
+        accumulators[2] = PRIME64_2;
+        accumulators[3] = PRIME64_3;
+        accumulators[4] = PRIME64_4;
+        accumulators[5] = PRIME32_2;
+        accumulators[6] = PRIME64_5;
+        accumulators[7] = PRIME32_1;
+
+        totalLength = 0;
+        bufferedSize = 0;
+        stripesInBlock = 0;
+    }
+
+    private static int consumeStripes(long[] accumulators, int stripesInBlock, byte[] data, int offset, int stripeCount) {
+        // Lanes are kept in locals so that the hot loop does not load and store the array per stripe
+        long acc0 = accumulators[0];
+        long acc1 = accumulators[1];
+        long acc2 = accumulators[2];
+        long acc3 = accumulators[3];
+        long acc4 = accumulators[4];
+        long acc5 = accumulators[5];
+        long acc6 = accumulators[6];
+        long acc7 = accumulators[7];
+
+        for (int i = 0; i < stripeCount; i++, offset += STRIPE_LENGTH) {
+            int secretWord = stripesInBlock;
+
+            long data0 = readLong(data, offset);
+            long data1 = readLong(data, offset + 8);
+            long data2 = readLong(data, offset + 16);
+            long data3 = readLong(data, offset + 24);
+            long data4 = readLong(data, offset + 32);
+            long data5 = readLong(data, offset + 40);
+            long data6 = readLong(data, offset + 48);
+            long data7 = readLong(data, offset + 56);
+
+            long key0 = data0 ^ SECRET_WORDS[secretWord];
+            long key1 = data1 ^ SECRET_WORDS[secretWord + 1];
+            long key2 = data2 ^ SECRET_WORDS[secretWord + 2];
+            long key3 = data3 ^ SECRET_WORDS[secretWord + 3];
+            long key4 = data4 ^ SECRET_WORDS[secretWord + 4];
+            long key5 = data5 ^ SECRET_WORDS[secretWord + 5];
+            long key6 = data6 ^ SECRET_WORDS[secretWord + 6];
+            long key7 = data7 ^ SECRET_WORDS[secretWord + 7];
+
+            acc0 += data1 + (key0 & 0xFFFFFFFFL) * (key0 >>> 32);
+            acc1 += data0 + (key1 & 0xFFFFFFFFL) * (key1 >>> 32);
+            acc2 += data3 + (key2 & 0xFFFFFFFFL) * (key2 >>> 32);
+            acc3 += data2 + (key3 & 0xFFFFFFFFL) * (key3 >>> 32);
+            acc4 += data5 + (key4 & 0xFFFFFFFFL) * (key4 >>> 32);
+            acc5 += data4 + (key5 & 0xFFFFFFFFL) * (key5 >>> 32);
+            acc6 += data7 + (key6 & 0xFFFFFFFFL) * (key6 >>> 32);
+            acc7 += data6 + (key7 & 0xFFFFFFFFL) * (key7 >>> 32);
+
+            if (++stripesInBlock == STRIPES_PER_BLOCK) {
+                acc0 = scramble(acc0, 0);
+                acc1 = scramble(acc1, 1);
+                acc2 = scramble(acc2, 2);
+                acc3 = scramble(acc3, 3);
+                acc4 = scramble(acc4, 4);
+                acc5 = scramble(acc5, 5);
+                acc6 = scramble(acc6, 6);
+                acc7 = scramble(acc7, 7);
+
+                stripesInBlock = 0;
+            }
+        }
+
+        accumulators[0] = acc0;
+        accumulators[1] = acc1;
+        accumulators[2] = acc2;
+        accumulators[3] = acc3;
+        accumulators[4] = acc4;
+        accumulators[5] = acc5;
+        accumulators[6] = acc6;
+        accumulators[7] = acc7;
+
+        return stripesInBlock;
+    }
+
+    private static void accumulate(long[] accumulators, byte[] data, int offset, int secretOffset) {
+        for (int i = 0; i < 8; i++) {
+            long dataValue = (long) LONG_HANDLE.get(data, offset + 8 * i);
+            long dataKey = dataValue ^ readLong(SECRET, secretOffset + 8 * i);
+
+            accumulators[i ^ 1] += dataValue;
+            accumulators[i] += (dataKey & 0xFFFFFFFFL) * (dataKey >>> 32);
+        }
+    }
+
+    private static long scramble(long accumulator, int lane) {
+        accumulator ^= accumulator >>> 47;
+        accumulator ^= SECRET_WORDS[SECRET_SCRAMBLE_OFFSET / 8 + lane];
+
+        return accumulator * PRIME32_1;
+    }
+
+    private static long mergeAccumulators(long[] accumulators, long start) {
+        long result = start;
+
+        for (int i = 0; i < 4; i++)
+            result += multiplyFold(
+                    accumulators[2 * i] ^ readLong(SECRET, SECRET_MERGE_OFFSET + 16 * i),
+                    accumulators[2 * i + 1] ^ readLong(SECRET, SECRET_MERGE_OFFSET + 16 * i + 8)
+            );
+
+        return avalanche(result);
+    }
+
+    private static long hashShort(byte[] data, int length) {
+        if (length > 128)
+            return hashMidsize(data, length);
+
+        if (length > 16)
+            return hashUpTo128(data, length);
+
+        if (length > 8) {
+            long low = readLong(data, 0) ^ (readLong(SECRET, 24) ^ readLong(SECRET, 32));
+            long high = readLong(data, length - 8) ^ (readLong(SECRET, 40) ^ readLong(SECRET, 48));
+
+            return avalanche(length + Long.reverseBytes(low) + high + multiplyFold(low, high));
+        }
+
+        if (length >= 4) {
+            long input = (readInt(data, length - 4) & 0xFFFFFFFFL) + ((long) readInt(data, 0) << 32);
+            long keyed = input ^ (readLong(SECRET, 8) ^ readLong(SECRET, 16));
+
+            return rrmxmx(keyed, length);
+        }
+
+        if (length > 0) {
+            int combined = ((data[0] & 0xFF) << 16) | ((data[length >> 1] & 0xFF) << 24) | (data[length - 1] & 0xFF) | (length << 8);
+            long bitFlip = (readInt(SECRET, 0) ^ readInt(SECRET, 4)) & 0xFFFFFFFFL;
+
+            return XXHash64Checksum.avalanche((combined & 0xFFFFFFFFL) ^ bitFlip);
+        }
+
+        return XXHash64Checksum.avalanche(readLong(SECRET, 56) ^ readLong(SECRET, 64));
+    }
+
+    private static long hashUpTo128(byte[] data, int length) {
+        long accumulator = length * PRIME64_1;
+
+        if (length > 32) {
+            if (length > 64) {
+                if (length > 96) {
+                    accumulator += mix16(data, 48, 96);
+                    accumulator += mix16(data, length - 64, 112);
+                }
+
+                accumulator += mix16(data, 32, 64);
+                accumulator += mix16(data, length - 48, 80);
+            }
+
+            accumulator += mix16(data, 16, 32);
+            accumulator += mix16(data, length - 32, 48);
+        }
+
+        accumulator += mix16(data, 0, 0);
+        accumulator += mix16(data, length - 16, 16);
+
+        return avalanche(accumulator);
+    }
+
+    private static long hashMidsize(byte[] data, int length) {
+        long accumulator = length * PRIME64_1;
+        int roundCount = length / 16;
+
+        for (int i = 0; i < 8; i++)
+            accumulator += mix16(data, 16 * i, 16 * i);
+
+        accumulator = avalanche(accumulator);
+
+        for (int i = 8; i < roundCount; i++)
+            accumulator += mix16(data, 16 * i, 16 * (i - 8) + 3);
+
+        accumulator += mix16(data, length - 16, 136 - 17);
+
+        return avalanche(accumulator);
+    }
+
+    private static long mix16(byte[] data, int offset, int secretOffset) {
+        return multiplyFold(
+                readLong(data, offset) ^ readLong(SECRET, secretOffset),
+                readLong(data, offset + 8) ^ readLong(SECRET, secretOffset + 8)
+        );
+    }
+
+    private static long multiplyFold(long left, long right) {
+        return (left * right) ^ Math.unsignedMultiplyHigh(left, right);
+    }
+
+    private static long avalanche(long hash) {
+        hash ^= hash >>> 37;
+        hash *= PRIME_MX1;
+
+        return hash ^ (hash >>> 32);
+    }
+
+    private static long rrmxmx(long hash, int length) {
+        hash ^= Long.rotateLeft(hash, 49) ^ Long.rotateLeft(hash, 24);
+        hash *= PRIME_MX2;
+        hash ^= (hash >>> 35) + length;
+        hash *= PRIME_MX2;
+
+        return hash ^ (hash >>> 28);
+    }
+
+    private static long[] createSecretWords() {
+        long[] secretWords = new long[SECRET.length / 8];
+
+        for (int i = 0; i < secretWords.length; i++)
+            secretWords[i] = readLong(SECRET, 8 * i);
+
+        return secretWords;
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        return (long) LONG_HANDLE.get(data, offset);
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return (int) INT_HANDLE.get(data, offset);
+    }
+}
@@ -0,0 +1,195 @@
+package ru.mrrex.betterium.core.checksum;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+import java.util.zip.Checksum;
+
+/**
+ * Streaming XXH64 with a zero seed.
+ * Input is consumed in 32-byte stripes read as little-endian longs, so heap arrays
+ * are hashed in place and only the sub-stripe tail between updates is buffered.
+ */
+public class XXHash64Checksum implements Checksum {
+
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    private static final int STRIPE_LENGTH = 32;
+    private static final int SCRATCH_BUFFER_SIZE = 8 * 1024;
+
+    private static final VarHandle LONG_HANDLE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_HANDLE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final byte[] buffer = new byte[STRIPE_LENGTH];
+    private final byte[] singleByte = new byte[1];
+
+    private byte[] scratchBuffer;
+
+    private long accumulator1;
+    private long accumulator2;
+    private long accumulator3;
+    private long accumulator4;
+
+    private long totalLength;
+    private int bufferedSize;
+
+    public XXHash64Checksum() {
+        reset();
+    }
+
+    @Override
+    public void update(int b) {
+        singleByte[0] = (byte) b;
+        update(singleByte, 0, 1);
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+
+        totalLength += len;
+
+        if (bufferedSize + len < STRIPE_LENGTH) {
+            System.arraycopy(b, off, buffer, bufferedSize, len);
+            bufferedSize += len;
+            return;
+        }
+
+        int end = off + len;
+
+        if (bufferedSize > 0) {
+            int fillLength = STRIPE_LENGTH - bufferedSize;
+
+            System.arraycopy(b, off, buffer, bufferedSize, fillLength);
+            consumeStripe(buffer, 0);
+
+            off += fillLength;
+            bufferedSize = 0;
+        }
+
+        long v1 = accumulator1;
+        long v2 = accumulator2;
+        long v3 = accumulator3;
+        long v4 = accumulator4;
+
+        for (int limit = end - STRIPE_LENGTH; off <= limit; off += STRIPE_LENGTH) {
+            v1 = round(v1, (long) LONG_HANDLE.get(b, off));
+            v2 = round(v2, (long) LONG_HANDLE.get(b, off + 8));
+            v3 = round(v3, (long) LONG_HANDLE.get(b, off + 16));
+            v4 = round(v4, (long) LONG_HANDLE.get(b, off + 24));
+        }
+
+        accumulator1 = v1;
+        accumulator2 = v2;
+        accumulator3 = v3;
+        accumulator4 = v4;
+
+        bufferedSize = end - off;
+        System.arraycopy(b, off, buffer, 0, bufferedSize);
+    }
+
+    @Override
+    public void update(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            int position = buffer.position();
+            update(buffer.array(), buffer.arrayOffset() + position, buffer.limit() - position);
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        if (scratchBuffer == null)
+            scratchBuffer = new byte[SCRATCH_BUFFER_SIZE];
+
+        while (buffer.hasRemaining()) {
+            int length = Math.min(buffer.remaining(), SCRATCH_BUFFER_SIZE);
+
+            buffer.get(scratchBuffer, 0, length);
+            update(scratchBuffer, 0, length);
+        }
+    }
+
+    @Override
+    public long getValue() {
+        long hash;
+
+        if (totalLength >= STRIPE_LENGTH) {
+            hash = Long.rotateLeft(accumulator1, 1) + Long.rotateLeft(accumulator2, 7)
+                    + Long.rotateLeft(accumulator3, 12) + Long.rotateLeft(accumulator4, 18);
+
+            hash = mergeRound(hash, accumulator1);
+            hash = mergeRound(hash, accumulator2);
+            hash = mergeRound(hash, accumulator3);
+            hash = mergeRound(hash, accumulator4);
+        } else {
+            hash = PRIME64_5;
+        }
+
+        hash += totalLength;
+
+        int offset = 0;
+
+        for (; offset + 8 <= bufferedSize; offset += 8) {
+            hash ^= round(0, (long) LONG_HANDLE.get(buffer, offset));
+            hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+        }
+
+        if (offset + 4 <= bufferedSize) {
+            hash ^= Integer.toUnsignedLong((int) INT_HANDLE.get(buffer, offset)) * PRIME64_1;
+            hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+            offset += 4;
+        }
+
+        for (; offset < bufferedSize; offset++) {
+            hash ^= (buffer[offset] & 0xFFL) * PRIME64_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+        }
+
+        return avalanche(hash);
+    }
+
+    @Override
+    public void reset() {
+        accumulator1 = PRIME64_1 + PRIME64_2;
+        accumulator2 = PRIME64_2;
+        accumulator3 = 0;
+        accumulator4 = -PRIME64_1;
+
+        totalLength = 0;
+        bufferedSize = 0;
+    }
+
+    static long avalanche(long hash) {
+        hash ^= hash >>> 33;
+        hash *= PRIME64_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME64_3;
+        hash ^= hash >>> 32;
+
+        return hash;
+    }
+
+    private void consumeStripe(byte[] data, int offset) {
+        accumulator1 = round(accumulator1, (long) LONG_HANDLE.get(data, offset));
+        accumulator2 = round(accumulator2, (long) LONG_HANDLE.get(data, offset + 8));
+        accumulator3 = round(accumulator3, (long) LONG_HANDLE.get(data, offset + 16));
+        accumulator4 = round(accumulator4, (long) LONG_HANDLE.get(data, offset + 24));
+    }
+
+    private static long round(long accumulator, long input) {
+        accumulator += input * PRIME64_2;
+        accumulator = Long.rotateLeft(accumulator, 31);
+
+        return accumulator * PRIME64_1;
+    }
+
+    private static long mergeRound(long hash, long accumulator) {
+        hash ^= round(0, accumulator);
+        return hash * PRIME64_1 + PRIME64_4;
+    }
+}
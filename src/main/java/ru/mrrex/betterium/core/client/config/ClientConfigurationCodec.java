@@ -0,0 +1,292 @@
+package ru.mrrex.betterium.core.client.config;
+
+import ru.mrrex.betterium.core.artifact.Artifact;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.Hash;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.library.NativeLibrary;
+import ru.mrrex.betterium.core.library.implementation.RemoteNativeLibrary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Encodes a {@link ClientConfiguration} into a compact binary snapshot and decodes it back
+ * straight from a (memory-mapped) buffer, without reflection or intermediate JSON trees.
+ * The header carries the length and checksum of the JSON source the snapshot was built from,
+ * so a snapshot is only ever decoded for the exact source it represents. Subtypes of the sealed
+ * {@link Artifact} and {@link NativeLibrary} hierarchies are written with a tag of their own;
+ * a new subtype needs a tag here and a raised format version.
+ */
+public abstract class ClientConfigurationCodec {
+
+    private static final int MAGIC = 0x42434653;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte MAVEN_ARTIFACT_TAG = 1;
+    private static final byte REMOTE_NATIVE_LIBRARY_TAG = 1;
+
+    private static final long UNKNOWN_SIZE = -1;
+
+    private ClientConfigurationCodec() {}
+
+    public static byte[] encode(ClientConfiguration clientConfiguration, long sourceLength, long sourceChecksum) {
+        Objects.requireNonNull(clientConfiguration, "Client configuration must not be null");
+
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try (DataOutputStream outputStream = new DataOutputStream(byteStream)) {
+            outputStream.writeInt(MAGIC);
+            outputStream.writeInt(FORMAT_VERSION);
+            outputStream.writeLong(sourceLength);
+            outputStream.writeLong(sourceChecksum);
+
+            writeString(outputStream, clientConfiguration.name());
+            writeString(outputStream, clientConfiguration.version());
+            writeString(outputStream, clientConfiguration.author());
+            writeString(outputStream, clientConfiguration.mainClass());
+
+            outputStream.writeInt(clientConfiguration.artifacts().size());
+
+            for (Artifact artifact : clientConfiguration.artifacts())
+                writeArtifact(outputStream, artifact);
+
+            writeStrings(outputStream, clientConfiguration.jvmArguments());
+            writeStrings(outputStream, clientConfiguration.arguments());
+        } catch (IOException exception) {
+            // Writing to memory never fails
+            throw new UncheckedIOException(exception);
+        }
+
+        return byteStream.toByteArray();
+    }
+
+    public static boolean matches(ByteBuffer buffer, long sourceLength, long sourceChecksum) {
+        Objects.requireNonNull(buffer, "Buffer must not be null");
+
+        ByteBuffer headerBuffer = buffer.duplicate();
+
+        return headerBuffer.remaining() >= 24
+                && headerBuffer.getInt() == MAGIC
+                && headerBuffer.getInt() == FORMAT_VERSION
+                && headerBuffer.getLong() == sourceLength
+                && headerBuffer.getLong() == sourceChecksum;
+    }
+
+    public static ClientConfiguration decode(ByteBuffer buffer, long sourceLength, long sourceChecksum) {
+        Objects.requireNonNull(buffer, "Buffer must not be null");
+
+        if (!matches(buffer, sourceLength, sourceChecksum))
+            throw new IllegalArgumentException("Snapshot does not match the configuration source");
+
+        ByteBuffer dataBuffer = buffer.duplicate().position(buffer.position() + 24);
+
+        String name = readString(dataBuffer);
+        String version = readString(dataBuffer);
+        String author = readString(dataBuffer);
+        String mainClass = readString(dataBuffer);
+
+        int artifactCount = readCount(dataBuffer);
+        List<Artifact> artifacts = new ArrayList<>(artifactCount);
+
+        for (int i = 0; i < artifactCount; i++)
+            artifacts.add(readArtifact(dataBuffer));
+
+        Set<String> jvmArguments = readStrings(dataBuffer);
+        Set<String> arguments = readStrings(dataBuffer);
+
+        if (dataBuffer.hasRemaining())
+            throw new IllegalArgumentException("Snapshot has trailing data");
+
+        return new ClientConfiguration(name, version, author, mainClass, new HashSet<>(artifacts), jvmArguments, arguments);
+    }
+
+    private static void writeArtifact(DataOutputStream outputStream, Artifact artifact) throws IOException {
+        switch (artifact) {
+            case MavenArtifact mavenArtifact -> {
+                outputStream.writeByte(MAVEN_ARTIFACT_TAG);
+
+                writeString(outputStream, mavenArtifact.groupId());
+                writeString(outputStream, mavenArtifact.artifactId());
+                writeString(outputStream, mavenArtifact.version());
+                outputStream.writeLong((mavenArtifact.size() != null) ? mavenArtifact.size() : UNKNOWN_SIZE);
+
+                writeChecksums(outputStream, mavenArtifact.checksums());
+                writeHashes(outputStream, mavenArtifact.hashes());
+
+                outputStream.writeInt(mavenArtifact.dependencies().size());
+
+                for (NativeLibrary nativeLibrary : mavenArtifact.dependencies())
+                    writeNativeLibrary(outputStream, nativeLibrary);
+            }
+            default -> throw new IllegalArgumentException("Unsupported artifact: " + artifact.getClass().getName());
+        }
+    }
+
+    private static Artifact readArtifact(ByteBuffer buffer) {
+        byte tag = buffer.get();
+
+        if (tag != MAVEN_ARTIFACT_TAG)
+            throw new IllegalArgumentException("Unknown artifact tag: " + tag);
+
+        String groupId = readString(buffer);
+        String artifactId = readString(buffer);
+        String version = readString(buffer);
+        Long size = readSize(buffer);
+
+        Map<ChecksumAlgorithm, Long> checksums = readChecksums(buffer);
+        Map<HashAlgorithm, Hash> hashes = readHashes(buffer);
+
+        int dependencyCount = readCount(buffer);
+        Set<NativeLibrary> dependencies = new HashSet<>();
+
+        for (int i = 0; i < dependencyCount; i++)
+            dependencies.add(readNativeLibrary(buffer));
+
+        return new MavenArtifact(groupId, artifactId, version, size, checksums, hashes, dependencies);
+    }
+
+    private static void writeNativeLibrary(DataOutputStream outputStream, NativeLibrary nativeLibrary) throws IOException {
+        switch (nativeLibrary) {
+            case RemoteNativeLibrary remoteNativeLibrary -> {
+                outputStream.writeByte(REMOTE_NATIVE_LIBRARY_TAG);
+
+                writeString(outputStream, remoteNativeLibrary.sourceUri().toString());
+                outputStream.writeLong((remoteNativeLibrary.size() != null) ? remoteNativeLibrary.size() : UNKNOWN_SIZE);
+
+                writeChecksums(outputStream, remoteNativeLibrary.checksums());
+                writeHashes(outputStream, remoteNativeLibrary.hashes());
+
+                outputStream.writeInt(remoteNativeLibrary.conditions().size());
+
+                for (Map.Entry<String, String> condition : remoteNativeLibrary.conditions().entrySet()) {
+                    writeString(outputStream, condition.getKey());
+                    writeString(outputStream, condition.getValue());
+                }
+            }
+            default -> throw new IllegalArgumentException("Unsupported native library: " + nativeLibrary.getClass().getName());
+        }
+    }
+
+    private static NativeLibrary readNativeLibrary(ByteBuffer buffer) {
+        byte tag = buffer.get();
+
+        if (tag != REMOTE_NATIVE_LIBRARY_TAG)
+            throw new IllegalArgumentException("Unknown native library tag: " + tag);
+
+        URI sourceUri = URI.create(readString(buffer));
+        Long size = readSize(buffer);
+
+        Map<ChecksumAlgorithm, Long> checksums = readChecksums(buffer);
+        Map<HashAlgorithm, Hash> hashes = readHashes(buffer);
+
+        int conditionCount = readCount(buffer);
+        Map<String, String> conditions = new HashMap<>();
+
+        for (int i = 0; i < conditionCount; i++)
+            conditions.put(readString(buffer), readString(buffer));
+
+        return new RemoteNativeLibrary(sourceUri, size, checksums, hashes, conditions);
+    }
+
+    private static void writeChecksums(DataOutputStream outputStream, Map<ChecksumAlgorithm, Long> checksums) throws IOException {
+        outputStream.writeInt(checksums.size());
+
+        // Algorithms are written by name, so reordering the enum does not corrupt older snapshots
+        for (Map.Entry<ChecksumAlgorithm, Long> checksum : checksums.entrySet()) {
+            writeString(outputStream, checksum.getKey().name());
+            outputStream.writeLong(checksum.getValue());
+        }
+    }
+
+    private static Map<ChecksumAlgorithm, Long> readChecksums(ByteBuffer buffer) {
+        int checksumCount = readCount(buffer);
+        Map<ChecksumAlgorithm, Long> checksums = new EnumMap<>(ChecksumAlgorithm.class);
+
+        for (int i = 0; i < checksumCount; i++)
+            checksums.put(ChecksumAlgorithm.valueOf(readString(buffer)), buffer.getLong());
+
+        return checksums;
+    }
+
+    private static void writeHashes(DataOutputStream outputStream, Map<HashAlgorithm, Hash> hashes) throws IOException {
+        outputStream.writeInt(hashes.size());
+
+        for (Hash hash : hashes.values()) {
+            byte[] hashBytes = hash.getBytes();
+
+            writeString(outputStream, hash.getAlgorithm().name());
+            outputStream.writeInt(hashBytes.length);
+            outputStream.write(hashBytes);
+        }
+    }
+
+    private static Map<HashAlgorithm, Hash> readHashes(ByteBuffer buffer) {
+        int hashCount = readCount(buffer);
+        Map<HashAlgorithm, Hash> hashes = new EnumMap<>(HashAlgorithm.class);
+
+        for (int i = 0; i < hashCount; i++) {
+            HashAlgorithm algorithm = HashAlgorithm.valueOf(readString(buffer));
+            byte[] hashBytes = new byte[readCount(buffer)];
+
+            buffer.get(hashBytes);
+            hashes.put(algorithm, new Hash(algorithm, hashBytes));
+        }
+
+        return hashes;
+    }
+
+    private static void writeStrings(DataOutputStream outputStream, Set<String> values) throws IOException {
+        outputStream.writeInt(values.size());
+
+        for (String value : values)
+            writeString(outputStream, value);
+    }
+
+    private static Set<String> readStrings(ByteBuffer buffer) {
+        int valueCount = readCount(buffer);
+        Set<String> values = new HashSet<>();
+
+        for (int i = 0; i < valueCount; i++)
+            values.add(readString(buffer));
+
+        return values;
+    }
+
+    private static void writeString(DataOutputStream outputStream, String value) throws IOException {
+        // Length-prefixed UTF-8 instead of writeUTF, which is limited to 64 KiB
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+
+        outputStream.writeInt(valueBytes.length);
+        outputStream.write(valueBytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] valueBytes = new byte[readCount(buffer)];
+        buffer.get(valueBytes);
+
+        return new String(valueBytes, StandardCharsets.UTF_8);
+    }
+
+    private static Long readSize(ByteBuffer buffer) {
+        long size = buffer.getLong();
+        return (size != UNKNOWN_SIZE) ? size : null;
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        int count = buffer.getInt();
+
+        // A damaged count must not allocate more than the snapshot could possibly hold
+        if (count < 0 || count > buffer.remaining())
+            throw new IllegalArgumentException("Invalid element count in snapshot: " + count);
+
+        return count;
+    }
+}
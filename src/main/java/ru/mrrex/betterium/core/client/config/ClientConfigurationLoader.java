@@ -0,0 +1,127 @@
+package ru.mrrex.betterium.core.client.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ru.mrrex.betterium.core.checksum.XXH3Checksum;
+import ru.mrrex.betterium.core.io.AtomicFiles;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Loads {@link ClientConfiguration} JSON files through a directory of binary snapshots.
+ * Each snapshot is named after the XXH3 checksums of the source path and of the JSON content
+ * it was built from and is memory-mapped and decoded by {@link ClientConfigurationCodec} on
+ * later loads; Jackson only parses a source that has no snapshot yet, which is the case after
+ * it changed, and the snapshots of its earlier content are then deleted.
+ * A missing, damaged or unwritable snapshot is never an error, the source is parsed instead.
+ */
+public class ClientConfigurationLoader {
+
+    private static final String SNAPSHOT_FILE_SUFFIX = ".bin";
+    private static final String SNAPSHOT_KEY_SEPARATOR = "-";
+
+    private final Path snapshotDirectory;
+    private final ObjectReader configurationReader;
+
+    public ClientConfigurationLoader(Path snapshotDirectory, ObjectMapper objectMapper) {
+        this.snapshotDirectory = Objects.requireNonNull(snapshotDirectory, "Snapshot directory must not be null");
+
+        Objects.requireNonNull(objectMapper, "Object mapper must not be null");
+        this.configurationReader = objectMapper.readerFor(ClientConfiguration.class);
+    }
+
+    public ClientConfigurationLoader(Path snapshotDirectory) {
+        this(snapshotDirectory, new ObjectMapper());
+    }
+
+    public ClientConfiguration load(Path configurationFilePath) throws IOException {
+        Objects.requireNonNull(configurationFilePath, "Configuration file path must not be null");
+
+        byte[] sourceBytes = Files.readAllBytes(configurationFilePath);
+
+        XXH3Checksum checksum = new XXH3Checksum();
+        checksum.update(sourceBytes, 0, sourceBytes.length);
+
+        long sourceLength = sourceBytes.length;
+        long sourceChecksum = checksum.getValue();
+
+        String snapshotPrefix = getSnapshotPrefix(configurationFilePath);
+        Path snapshotFilePath = snapshotDirectory.resolve(snapshotPrefix + HexFormat.of().toHexDigits(sourceChecksum) + SNAPSHOT_FILE_SUFFIX);
+        ClientConfiguration snapshotConfiguration = readSnapshot(snapshotFilePath, sourceLength, sourceChecksum);
+
+        if (snapshotConfiguration != null)
+            return snapshotConfiguration;
+
+        ClientConfiguration clientConfiguration = configurationReader.readValue(sourceBytes);
+
+        if (writeSnapshot(snapshotFilePath, ClientConfigurationCodec.encode(clientConfiguration, sourceLength, sourceChecksum)))
+            pruneSnapshots(snapshotPrefix, snapshotFilePath);
+
+        return clientConfiguration;
+    }
+
+    public List<ClientConfiguration> loadAll(Collection<Path> configurationFilePaths) throws IOException {
+        Objects.requireNonNull(configurationFilePaths, "Configuration file paths collection must not be null");
+
+        List<ClientConfiguration> clientConfigurations = new ArrayList<>(configurationFilePaths.size());
+
+        for (Path configurationFilePath : configurationFilePaths)
+            clientConfigurations.add(load(configurationFilePath));
+
+        return clientConfigurations;
+    }
+
+    private String getSnapshotPrefix(Path configurationFilePath) {
+        byte[] pathBytes = configurationFilePath.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8);
+
+        XXH3Checksum checksum = new XXH3Checksum();
+        checksum.update(pathBytes, 0, pathBytes.length);
+
+        return HexFormat.of().toHexDigits(checksum.getValue()) + SNAPSHOT_KEY_SEPARATOR;
+    }
+
+    private ClientConfiguration readSnapshot(Path snapshotFilePath, long sourceLength, long sourceChecksum) {
+        try (FileChannel snapshotChannel = FileChannel.open(snapshotFilePath, StandardOpenOption.READ);
+             Arena arena = Arena.ofConfined()
+        ) {
+            // The arena unmaps the snapshot on return instead of leaving it to the garbage collector
+            MemorySegment snapshotSegment = snapshotChannel.map(FileChannel.MapMode.READ_ONLY, 0, snapshotChannel.size(), arena);
+            return ClientConfigurationCodec.decode(snapshotSegment.asByteBuffer(), sourceLength, sourceChecksum);
+        } catch (NoSuchFileException _) {
+            return null;
+        } catch (IOException | RuntimeException _) {
+            // Truncated or foreign snapshots fail anywhere in decoding, parsing the source recovers from all of them
+            return null;
+        }
+    }
+
+    private boolean writeSnapshot(Path snapshotFilePath, byte[] snapshotBytes) {
+        try {
+            AtomicFiles.write(snapshotFilePath, snapshotBytes);
+            return true;
+        } catch (IOException _) {
+            // A read-only snapshot directory only costs the next start another parse
+            return false;
+        }
+    }
+
+    private void pruneSnapshots(String snapshotPrefix, Path currentSnapshotFilePath) {
+        try (DirectoryStream<Path> snapshotFilePaths = Files.newDirectoryStream(snapshotDirectory, snapshotPrefix + "*" + SNAPSHOT_FILE_SUFFIX)) {
+            for (Path snapshotFilePath : snapshotFilePaths)
+                if (!snapshotFilePath.equals(currentSnapshotFilePath))
+                    Files.deleteIfExists(snapshotFilePath);
+        } catch (IOException _) {
+            // Stale snapshots are never read, they only take up space until the next change
+        }
+    }
+}
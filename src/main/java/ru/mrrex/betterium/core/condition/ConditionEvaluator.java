@@ -1,5 +1,6 @@
 package ru.mrrex.betterium.core.condition;
 
+import ru.mrrex.betterium.core.jfr.ConditionEvaluationEvent;
 import ru.mrrex.betterium.core.resource.ConditionalResource;
 
 import java.util.List;
@@ -24,6 +25,24 @@ public class ConditionEvaluator {
         if (conditions == null || conditions.isEmpty())
             return true;
 
+        ConditionEvaluationEvent evaluationEvent = new ConditionEvaluationEvent();
+        evaluationEvent.begin();
+
+        boolean isApplicable = validate(conditions);
+
+        evaluationEvent.end();
+
+        if (evaluationEvent.shouldCommit()) {
+            evaluationEvent.setConditions(conditions.toString());
+            evaluationEvent.setValidatorCount(validators.size());
+            evaluationEvent.setApplicable(isApplicable);
+            evaluationEvent.commit();
+        }
+
+        return isApplicable;
+    }
+
+    private boolean validate(Map<String, String> conditions) {
         for (ConditionValidator validator : validators)
             if (!validator.validate(context, conditions))
                 return false;
@@ -0,0 +1,41 @@
+package ru.mrrex.betterium.core.download.downloader;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+public class CompositeDownloadHandle implements DownloadHandle {
+
+    private final List<DownloadHandle> downloadHandles;
+
+    public CompositeDownloadHandle(Collection<DownloadHandle> downloadHandles) {
+        Objects.requireNonNull(downloadHandles, "Download handles collection must not be null");
+        this.downloadHandles = List.copyOf(downloadHandles);
+    }
+
+    public List<DownloadHandle> getDownloadHandles() {
+        return downloadHandles;
+    }
+
+    @Override
+    public boolean cancel() {
+        boolean isAnyCancelled = false;
+
+        for (DownloadHandle downloadHandle : downloadHandles)
+            isAnyCancelled |= downloadHandle.cancel();
+
+        return isAnyCancelled;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        if (downloadHandles.isEmpty())
+            return false;
+
+        for (DownloadHandle downloadHandle : downloadHandles)
+            if (!downloadHandle.isCancelled())
+                return false;
+
+        return true;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.mrrex.betterium.core.download.downloader;
+
+public enum DownloadFailurePolicy {
+
+    BEST_EFFORT,
+    FAIL_FAST
+}
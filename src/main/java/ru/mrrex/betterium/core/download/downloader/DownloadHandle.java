@@ -0,0 +1,7 @@
+package ru.mrrex.betterium.core.download.downloader;
+
+public interface DownloadHandle {
+
+    boolean cancel();
+    boolean isCancelled();
+}
@@ -3,13 +3,18 @@ package ru.mrrex.betterium.core.download.downloader;
 import java.net.URI;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public record DownloadRequest(
         URI sourceFileUri,
         Path destinationFilePath,
         Duration timeout,
-        int retries
+        int retries,
+        boolean required,
+        boolean compressionEnabled,
+        List<URI> mirrorUris
 ) {
 
     public DownloadRequest {
@@ -22,6 +27,19 @@ public record DownloadRequest(
 
         if (retries < 1)
             throw new IllegalArgumentException("Retries must be greater than zero");
+
+        mirrorUris = (mirrorUris != null)
+                ? List.copyOf(mirrorUris)
+                : List.of();
+    }
+
+    public List<URI> getSourceUris() {
+        List<URI> sourceUris = new ArrayList<>(mirrorUris.size() + 1);
+
+        sourceUris.add(sourceFileUri);
+        sourceUris.addAll(mirrorUris);
+
+        return sourceUris;
     }
 
     public static Builder builder() {
@@ -35,6 +53,10 @@ public record DownloadRequest(
 
         private Duration timeout = Duration.ofMinutes(5);
         private int retries = 1;
+        private boolean required = true;
+        private boolean compressionEnabled = false;
+
+        private final List<URI> mirrorUris = new ArrayList<>();
 
         private Builder() {}
 
@@ -58,6 +80,28 @@ public record DownloadRequest(
             return this;
         }
 
+        public Builder withRequired(boolean required) {
+            this.required = required;
+            return this;
+        }
+
+        public Builder withCompressionEnabled(boolean compressionEnabled) {
+            this.compressionEnabled = compressionEnabled;
+            return this;
+        }
+
+        public Builder withMirrorUris(List<URI> mirrorUris) {
+            Objects.requireNonNull(mirrorUris, "Mirror URIs list must not be null");
+            mirrorUris.forEach(this::addMirrorUri);
+
+            return this;
+        }
+
+        public Builder addMirrorUri(URI mirrorUri) {
+            this.mirrorUris.add(Objects.requireNonNull(mirrorUri, "Mirror URI must not be null"));
+            return this;
+        }
+
         public DownloadRequest build() {
             if (sourceFileUri == null)
                 throw new IllegalStateException("Source file URI (sourceFileUri) must be set before building request");
@@ -69,7 +113,10 @@ public record DownloadRequest(
                     sourceFileUri,
                     destinationFilePath,
                     timeout,
-                    retries
+                    retries,
+                    required,
+                    compressionEnabled,
+                    mirrorUris
             );
         }
     }
@@ -9,12 +9,13 @@ public interface FileDownloader extends AutoCloseable {
 
     void setDownloadProgressListener(DownloadProgressListener downloadProgressListener);
     void setDownloadCompletionListener(DownloadCompletionListener downloadCompletionListener);
+    void setDownloadFailurePolicy(DownloadFailurePolicy downloadFailurePolicy);
 
     boolean canHandle(DownloadRequest downloadRequest);
     boolean isBusy();
 
-    void enqueue(DownloadRequest downloadRequest);
-    void enqueue(Collection<DownloadRequest> downloadRequests);
+    DownloadHandle enqueue(DownloadRequest downloadRequest);
+    DownloadHandle enqueue(Collection<DownloadRequest> downloadRequests);
 
     void download();
 }
@@ -0,0 +1,55 @@
+package ru.mrrex.betterium.core.download.downloader.http;
+
+import ru.mrrex.betterium.core.download.downloader.DownloadHandle;
+import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class HttpDownloadHandle implements DownloadHandle {
+
+    private final DownloadRequest downloadRequest;
+    private final AtomicBoolean cancelled;
+    private final AtomicBoolean began;
+
+    private volatile Future<?> downloadFuture;
+
+    HttpDownloadHandle(DownloadRequest downloadRequest) {
+        this.downloadRequest = downloadRequest;
+        this.cancelled = new AtomicBoolean(false);
+        this.began = new AtomicBoolean(false);
+    }
+
+    DownloadRequest getDownloadRequest() {
+        return downloadRequest;
+    }
+
+    void attach(Future<?> downloadFuture) {
+        this.downloadFuture = downloadFuture;
+
+        if (cancelled.get())
+            downloadFuture.cancel(true);
+    }
+
+    boolean begin() {
+        return began.compareAndSet(false, true);
+    }
+
+    @Override
+    public boolean cancel() {
+        if (!cancelled.compareAndSet(false, true))
+            return false;
+
+        Future<?> attachedFuture = downloadFuture;
+
+        if (attachedFuture != null)
+            attachedFuture.cancel(true);
+
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+}
@@ -1,58 +1,208 @@
 package ru.mrrex.betterium.core.download.downloader.http;
 
 import ru.mrrex.betterium.core.download.listener.DownloadProgressListener;
+import ru.mrrex.betterium.core.download.metrics.DownloadTimings;
+import ru.mrrex.betterium.core.download.stream.ContentEncoding;
 import ru.mrrex.betterium.core.download.stream.CountingInputStream;
 import ru.mrrex.betterium.core.download.stream.StreamProgressListener;
 import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+import ru.mrrex.betterium.core.jfr.DownloadEvent;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
 
-public class HttpDownloadTask implements Callable<Duration> {
+public class HttpDownloadTask implements Callable<DownloadTimings> {
 
     private static final int HTTP_OK_STATUS_CODE = 200;
     private static final String HTTP_CONTENT_LENGTH_HEADER = "Content-Length";
+    private static final String HTTP_ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    private static final String HTTP_CONTENT_ENCODING_HEADER = "Content-Encoding";
+
+    private static final String ACCEPTED_CONTENT_ENCODINGS = "%s, %s".formatted(
+            ContentEncoding.GZIP.getHeaderValue(),
+            ContentEncoding.DEFLATE.getHeaderValue()
+    );
 
     private static final int BUFFER_SIZE = 8096;
 
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
     private final HttpClient httpClient;
     private final DownloadRequest downloadRequest;
 
     private DownloadProgressListener downloadProgressListener;
+    private BiConsumer<URI, IOException> sourceFailureListener;
+    private BooleanSupplier cancellationSignal;
+
+    private long submittedAt;
+
+    private URI sourceUri;
+    private int statusCode;
+
+    private long bodyTransferNanos;
+    private long diskWriteNanos;
+    private long wireBytes;
+    private long decodedBytes;
 
     protected HttpDownloadTask(HttpClient httpClient, DownloadRequest downloadRequest) {
         this.httpClient = httpClient;
         this.downloadRequest = downloadRequest;
+
+        this.cancellationSignal = () -> false;
+
+        this.submittedAt = System.nanoTime();
+        this.sourceUri = downloadRequest.sourceFileUri();
+    }
+
+    public void setSubmittedAt(long submittedAt) {
+        this.submittedAt = submittedAt;
     }
 
     public void setProgressListener(DownloadProgressListener downloadProgressListener) {
         this.downloadProgressListener = Objects.requireNonNull(downloadProgressListener, "Download progress listener must not be null");
     }
 
+    public void setSourceFailureListener(BiConsumer<URI, IOException> sourceFailureListener) {
+        this.sourceFailureListener = Objects.requireNonNull(sourceFailureListener, "Source failure listener must not be null");
+    }
+
+    public void setCancellationSignal(BooleanSupplier cancellationSignal) {
+        this.cancellationSignal = Objects.requireNonNull(cancellationSignal, "Cancellation signal must not be null");
+    }
+
     @Override
-    public Duration call() throws IOException, InterruptedException {
-        long startedAt = System.currentTimeMillis();
+    public DownloadTimings call() throws IOException, InterruptedException {
+        DownloadEvent downloadEvent = new DownloadEvent();
+        downloadEvent.begin();
+
+        boolean isSuccessful = false;
+
+        try {
+            DownloadTimings downloadTimings = download();
+            isSuccessful = true;
+
+            return downloadTimings;
+        } finally {
+            commitDownloadEvent(downloadEvent, isSuccessful);
+        }
+    }
+
+    private DownloadTimings download() throws IOException, InterruptedException {
+        IOException lastException = null;
+
+        for (URI candidateUri : downloadRequest.getSourceUris()) {
+            try {
+                return download(candidateUri);
+            } catch (IOException exception) {
+                // A cancelled download is not a failure of the source it was reading from
+                if (isCancelled())
+                    throw createCancellationException(exception);
+
+                if (sourceFailureListener != null)
+                    sourceFailureListener.accept(candidateUri, exception);
+
+                if (lastException != null)
+                    exception.addSuppressed(lastException);
+
+                if (!isFallbackAllowed(exception))
+                    throw exception;
+
+                lastException = exception;
+            }
+        }
+
+        throw lastException;
+    }
+
+    private DownloadTimings download(URI candidateUri) throws IOException, InterruptedException {
+        sourceUri = candidateUri;
+        statusCode = 0;
+        bodyTransferNanos = 0;
+        diskWriteNanos = 0;
+        wireBytes = 0;
+        decodedBytes = 0;
+
+        long startedAt = System.nanoTime();
 
         HttpResponse<InputStream> httpResponse = sendHttpRequest();
-        handleHttpResponse(httpResponse);
+        long respondedAt = System.nanoTime();
+
+        handleHttpResponse(httpResponse, Duration.ofNanos(respondedAt - startedAt));
+        long finishedAt = System.nanoTime();
+
+        return new DownloadTimings(
+                sourceUri,
+                Duration.ofNanos(Math.max(0, startedAt - submittedAt)),
+                Duration.ofNanos(respondedAt - startedAt),
+                Duration.ofNanos(bodyTransferNanos),
+                Duration.ofNanos(diskWriteNanos),
+                Duration.ofNanos(finishedAt - startedAt),
+                wireBytes,
+                decodedBytes
+        );
+    }
+
+    private boolean isCancelled() {
+        return Thread.currentThread().isInterrupted() || cancellationSignal.getAsBoolean();
+    }
+
+    private CancellationException createCancellationException(IOException exception) {
+        CancellationException cancellationException = new CancellationException("Download was cancelled: " + sourceUri);
+        cancellationException.initCause(exception);
 
-        return Duration.ofMillis(System.currentTimeMillis() - startedAt);
+        return cancellationException;
+    }
+
+    private boolean isFallbackAllowed(IOException exception) {
+        if (exception instanceof HttpStatusException httpStatusException)
+            return httpStatusException.isFallbackAllowed();
+
+        return exception instanceof ConnectException || exception instanceof HttpTimeoutException;
+    }
+
+    private void commitDownloadEvent(DownloadEvent downloadEvent, boolean isSuccessful) {
+        downloadEvent.end();
+
+        if (!downloadEvent.shouldCommit())
+            return;
+
+        downloadEvent.setSourceUri(sourceUri.toString());
+        downloadEvent.setHost(sourceUri.getHost());
+        downloadEvent.setStatusCode(statusCode);
+        downloadEvent.setWireBytes(wireBytes);
+        downloadEvent.setDecodedBytes(decodedBytes);
+        downloadEvent.setSuccessful(isSuccessful);
+        downloadEvent.commit();
     }
 
     private HttpRequest createHttpRequest() {
-        return HttpRequest.newBuilder()
-                .uri(downloadRequest.sourceFileUri())
+        HttpRequest.Builder httpRequestBuilder = HttpRequest.newBuilder()
+                .uri(sourceUri)
                 .timeout(downloadRequest.timeout())
-                .GET()
-                .build();
+                .GET();
+
+        if (downloadRequest.compressionEnabled())
+            httpRequestBuilder.header(HTTP_ACCEPT_ENCODING_HEADER, ACCEPTED_CONTENT_ENCODINGS);
+
+        return httpRequestBuilder.build();
     }
 
     private HttpResponse<InputStream> sendHttpRequest() throws IOException, InterruptedException {
@@ -68,34 +218,108 @@ public class HttpDownloadTask implements Callable<Duration> {
                 .orElse(-1L);
     }
 
-    private InputStream getInputStream(HttpResponse<InputStream> httpResponse) {
+    private ContentEncoding getContentEncoding(HttpResponse<InputStream> httpResponse) throws IOException {
+        String headerValue = httpResponse.headers()
+                .firstValue(HTTP_CONTENT_ENCODING_HEADER)
+                .orElse("");
+
+        ContentEncoding contentEncoding = ContentEncoding.findByHeaderValue(headerValue);
+
+        if (contentEncoding == null)
+            throw new IOException("Unsupported HTTP content encoding: " + headerValue);
+
+        return contentEncoding;
+    }
+
+    private InputStream getInputStream(CountingInputStream wireInputStream, ContentEncoding contentEncoding) throws IOException {
+        InputStream decodedInputStream = contentEncoding.decode(wireInputStream);
+
         if (downloadProgressListener == null)
-            return httpResponse.body();
+            return decodedInputStream;
 
-        StreamProgressListener streamProgressListener = (bytesRead, totalBytes) ->
-                downloadProgressListener.onProgress(downloadRequest, bytesRead, totalBytes);
+        StreamProgressListener streamProgressListener = (decodedBytesRead, totalWireBytes) ->
+                downloadProgressListener.onProgress(
+                        downloadRequest,
+                        wireInputStream.getBytesRead(),
+                        decodedBytesRead,
+                        totalWireBytes
+                );
 
         return new CountingInputStream(
-                httpResponse.body(),
-                getTotalBytes(httpResponse),
+                decodedInputStream,
+                wireInputStream.getTotalBytes(),
                 streamProgressListener
         );
     }
 
-    private void handleHttpResponse(HttpResponse<InputStream> httpResponse) throws IOException {
-        int statusCode = httpResponse.statusCode();
+    private void handleHttpResponse(HttpResponse<InputStream> httpResponse, Duration timeToFirstByte) throws IOException {
+        statusCode = httpResponse.statusCode();
+
+        if (statusCode != HTTP_OK_STATUS_CODE) {
+            httpResponse.body().close();
+            throw new HttpStatusException(sourceUri, statusCode, timeToFirstByte);
+        }
+
+        Path destinationFilePath = downloadRequest.destinationFilePath();
+        Path temporaryFilePath = destinationFilePath.resolveSibling(
+                destinationFilePath.getFileName() + "." + System.nanoTime() + TEMPORARY_FILE_SUFFIX
+        );
+
+        // The destination may share its inode with a hard link or be held open by a running client,
+        // so it is replaced as a whole and never written through
+        try {
+            writeResponseBody(httpResponse, temporaryFilePath);
+            Files.move(temporaryFilePath, destinationFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            closeResponseBody(httpResponse, exception);
+            throw exception;
+        } finally {
+            Files.deleteIfExists(temporaryFilePath);
+        }
+    }
+
+    private void writeResponseBody(HttpResponse<InputStream> httpResponse, Path temporaryFilePath) throws IOException {
+        ContentEncoding contentEncoding = getContentEncoding(httpResponse);
 
-        if (statusCode != HTTP_OK_STATUS_CODE)
-            throw new IOException("Failed to download file. HTTP status code is " + statusCode);
+        CountingInputStream wireInputStream = new CountingInputStream(
+                httpResponse.body(),
+                getTotalBytes(httpResponse),
+                (_, _) -> {}
+        );
 
-        try (InputStream inputStream = getInputStream(httpResponse);
-             OutputStream outputStream = Files.newOutputStream(downloadRequest.destinationFilePath())
+        try (InputStream inputStream = getInputStream(wireInputStream, contentEncoding);
+             OutputStream outputStream = Files.newOutputStream(temporaryFilePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
         ) {
             byte[] buffer = new byte[BUFFER_SIZE];
-            int bytesRead;
 
-            while ((bytesRead = inputStream.read(buffer)) != -1)
+            while (true) {
+                long readStartedAt = System.nanoTime();
+                int bytesRead = inputStream.read(buffer);
+                long readFinishedAt = System.nanoTime();
+
+                bodyTransferNanos += readFinishedAt - readStartedAt;
+
+                if (bytesRead == -1)
+                    break;
+
+                if (isCancelled())
+                    throw new InterruptedIOException("Download was interrupted: " + sourceUri);
+
                 outputStream.write(buffer, 0, bytesRead);
+
+                diskWriteNanos += System.nanoTime() - readFinishedAt;
+                decodedBytes += bytesRead;
+            }
+        } finally {
+            wireBytes = wireInputStream.getBytesRead();
+        }
+    }
+
+    private void closeResponseBody(HttpResponse<InputStream> httpResponse, IOException exception) {
+        try {
+            httpResponse.body().close();
+        } catch (IOException closeException) {
+            exception.addSuppressed(closeException);
         }
     }
 }
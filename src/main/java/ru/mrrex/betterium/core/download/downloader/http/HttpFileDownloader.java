@@ -1,14 +1,20 @@
 package ru.mrrex.betterium.core.download.downloader.http;
 
+import ru.mrrex.betterium.core.download.downloader.CompositeDownloadHandle;
+import ru.mrrex.betterium.core.download.downloader.DownloadFailurePolicy;
+import ru.mrrex.betterium.core.download.downloader.DownloadHandle;
 import ru.mrrex.betterium.core.download.downloader.FileDownloader;
+import ru.mrrex.betterium.core.download.exception.DownloadFailedException;
 import ru.mrrex.betterium.core.download.exception.UnsupportedDownloadRequestFormatException;
 import ru.mrrex.betterium.core.download.listener.DownloadCompletionListener;
 import ru.mrrex.betterium.core.download.listener.DownloadProgressListener;
+import ru.mrrex.betterium.core.download.metrics.DownloadMetricsRegistry;
+import ru.mrrex.betterium.core.download.metrics.DownloadTimings;
 import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
-import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -21,29 +27,47 @@ public class HttpFileDownloader implements FileDownloader {
     private static final int DEFAULT_THREAD_POOL_SIZE = 1;
     private static final int EXECUTOR_TERMINATION_TIMEOUT_SECONDS = 30;
 
+    private final int threadPoolSize;
     private final ExecutorService executorService;
 
     private final HttpClient httpClient;
-    private final Queue<DownloadRequest> requestQueue;
+    private final Queue<HttpDownloadHandle> requestQueue;
 
     private final AtomicBoolean hasActiveDownloads;
 
+    private final DownloadMetricsRegistry downloadMetricsRegistry;
+
     private DownloadProgressListener downloadProgressListener;
     private DownloadCompletionListener downloadCompletionListener;
 
-    public HttpFileDownloader(int threadPoolSize) {
+    private DownloadFailurePolicy downloadFailurePolicy;
+
+    public HttpFileDownloader(int threadPoolSize, DownloadMetricsRegistry downloadMetricsRegistry) {
+        this.threadPoolSize = threadPoolSize;
         this.executorService = Executors.newFixedThreadPool(threadPoolSize);
 
         this.httpClient = createHttpClient();
         this.requestQueue = new ConcurrentLinkedQueue<>();
 
         this.hasActiveDownloads = new AtomicBoolean(false);
+
+        this.downloadMetricsRegistry = Objects.requireNonNull(downloadMetricsRegistry, "Download metrics registry must not be null");
+
+        this.downloadFailurePolicy = DownloadFailurePolicy.BEST_EFFORT;
+    }
+
+    public HttpFileDownloader(int threadPoolSize) {
+        this(threadPoolSize, new DownloadMetricsRegistry());
     }
 
     public HttpFileDownloader() {
         this(DEFAULT_THREAD_POOL_SIZE);
     }
 
+    public DownloadMetricsRegistry getDownloadMetricsRegistry() {
+        return downloadMetricsRegistry;
+    }
+
     @Override
     public void setDownloadProgressListener(DownloadProgressListener downloadProgressListener) {
         this.downloadProgressListener = downloadProgressListener;
@@ -54,6 +78,11 @@ public class HttpFileDownloader implements FileDownloader {
         this.downloadCompletionListener = downloadCompletionListener;
     }
 
+    @Override
+    public void setDownloadFailurePolicy(DownloadFailurePolicy downloadFailurePolicy) {
+        this.downloadFailurePolicy = Objects.requireNonNull(downloadFailurePolicy, "Download failure policy must not be null");
+    }
+
     @Override
     public boolean canHandle(DownloadRequest downloadRequest) {
         Objects.requireNonNull(downloadRequest, "Download request must not be null");
@@ -74,94 +103,242 @@ public class HttpFileDownloader implements FileDownloader {
     }
 
     @Override
-    public void enqueue(DownloadRequest downloadRequest) {
+    public DownloadHandle enqueue(DownloadRequest downloadRequest) {
         Objects.requireNonNull(downloadRequest, "Download request must not be null");
 
         if (!canHandle(downloadRequest))
             throw new UnsupportedDownloadRequestFormatException(downloadRequest);
 
-        requestQueue.add(downloadRequest);
+        HttpDownloadHandle downloadHandle = new HttpDownloadHandle(downloadRequest);
+        requestQueue.add(downloadHandle);
+
+        return downloadHandle;
     }
 
     @Override
-    public void enqueue(Collection<DownloadRequest> downloadRequests) {
+    public DownloadHandle enqueue(Collection<DownloadRequest> downloadRequests) {
         Objects.requireNonNull(downloadRequests, "Download requests collection must not be null");
 
-        if (downloadRequests.isEmpty())
-            return;
+        List<DownloadHandle> downloadHandles = new ArrayList<>(downloadRequests.size());
 
         downloadRequests.forEach(request -> {
             if (request != null)
-                enqueue(request);
+                downloadHandles.add(enqueue(request));
         });
+
+        return new CompositeDownloadHandle(downloadHandles);
     }
 
     @Override
     public void download() {
-        if (requestQueue.isEmpty())
-            return;
+        List<HttpDownloadHandle> downloadHandles = drainRequestQueue();
 
-        List<Callable<Duration>> downloadTasks = requestQueue.stream()
-                .map(this::createTask)
-                .toList();
+        if (downloadHandles.isEmpty())
+            return;
 
         hasActiveDownloads.set(true);
 
         try {
-            executorService.invokeAll(downloadTasks);
+            switch (downloadFailurePolicy) {
+                case BEST_EFFORT -> downloadBestEffort(downloadHandles);
+                case FAIL_FAST -> downloadFailFast(downloadHandles);
+            }
         } catch (InterruptedException _) {
             Thread.currentThread().interrupt();
         } finally {
-            requestQueue.clear();
             hasActiveDownloads.set(false);
         }
     }
 
+    private List<HttpDownloadHandle> drainRequestQueue() {
+        List<HttpDownloadHandle> downloadHandles = new ArrayList<>();
+        HttpDownloadHandle downloadHandle;
+
+        while ((downloadHandle = requestQueue.poll()) != null) {
+            if (downloadHandle.isCancelled()) {
+                handleDownloadCancellation(downloadHandle.getDownloadRequest());
+                continue;
+            }
+
+            downloadHandles.add(downloadHandle);
+        }
+
+        return downloadHandles;
+    }
+
+    private void downloadBestEffort(List<HttpDownloadHandle> downloadHandles) throws InterruptedException {
+        List<Future<DownloadTimings>> downloadFutures = new ArrayList<>(downloadHandles.size());
+
+        try {
+            for (HttpDownloadHandle downloadHandle : downloadHandles) {
+                Future<DownloadTimings> downloadFuture = executorService.submit(createTask(downloadHandle));
+                downloadHandle.attach(downloadFuture);
+                downloadFutures.add(downloadFuture);
+            }
+
+            for (int i = 0; i < downloadFutures.size(); i++) {
+                try {
+                    downloadFutures.get(i).get();
+                } catch (CancellationException _) {
+                    reportCancellationIfNotStarted(downloadHandles.get(i));
+                } catch (ExecutionException _) {
+                    // Failures are reported through the completion listener
+                }
+            }
+        } finally {
+            for (int i = 0; i < downloadFutures.size(); i++)
+                if (downloadFutures.get(i).cancel(true))
+                    reportCancellationIfNotStarted(downloadHandles.get(i));
+        }
+    }
+
+    private void downloadFailFast(List<HttpDownloadHandle> downloadHandles) throws InterruptedException {
+        Semaphore concurrencyLimit = new Semaphore(threadPoolSize);
+
+        try (ExecutorService batchExecutorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<DownloadTimings> completionService = new ExecutorCompletionService<>(batchExecutorService);
+            Map<Future<DownloadTimings>, HttpDownloadHandle> downloadFutures = new HashMap<>();
+
+            for (HttpDownloadHandle downloadHandle : downloadHandles) {
+                Future<DownloadTimings> downloadFuture = completionService.submit(createTask(downloadHandle, concurrencyLimit));
+                downloadHandle.attach(downloadFuture);
+                downloadFutures.put(downloadFuture, downloadHandle);
+            }
+
+            try {
+                for (int i = 0; i < downloadFutures.size(); i++) {
+                    Future<DownloadTimings> downloadFuture = completionService.take();
+                    HttpDownloadHandle downloadHandle = downloadFutures.get(downloadFuture);
+                    DownloadRequest downloadRequest = downloadHandle.getDownloadRequest();
+
+                    try {
+                        downloadFuture.get();
+                    } catch (CancellationException _) {
+                        // Cancelled through its handle, which is not a failure of the batch
+                        reportCancellationIfNotStarted(downloadHandle);
+                    } catch (ExecutionException exception) {
+                        if (downloadRequest.required())
+                            throw new DownloadFailedException(downloadRequest, exception.getCause());
+                    }
+                }
+            } finally {
+                downloadFutures.forEach((downloadFuture, downloadHandle) -> {
+                    if (downloadFuture.cancel(true))
+                        reportCancellationIfNotStarted(downloadHandle);
+                });
+            }
+        }
+    }
+
     private HttpClient createHttpClient() {
         return HttpClient.newBuilder()
                 .followRedirects(HttpClient.Redirect.NORMAL)
                 .build();
     }
 
-    private Callable<Duration> createTask(DownloadRequest downloadRequest) {
+    private Callable<DownloadTimings> createTask(HttpDownloadHandle downloadHandle) {
+        DownloadRequest downloadRequest = downloadHandle.getDownloadRequest();
+        long submittedAt = System.nanoTime();
+
         return () -> {
+            if (!downloadHandle.begin())
+                throw createCancellationException(downloadRequest, null);
+
             try {
                 HttpDownloadTask downloadTask = new HttpDownloadTask(httpClient, downloadRequest);
+                downloadTask.setSubmittedAt(submittedAt);
+                downloadTask.setSourceFailureListener((sourceUri, exception) ->
+                        handleSourceFailure(downloadRequest, sourceUri, exception));
+                downloadTask.setCancellationSignal(downloadHandle::isCancelled);
 
                 if (downloadProgressListener != null)
                     downloadTask.setProgressListener(downloadProgressListener);
 
-                Duration downloadDuration = downloadTask.call();
-                handleDownloadSuccess(downloadRequest, downloadDuration);
+                DownloadTimings downloadTimings = downloadTask.call();
+                handleDownloadSuccess(downloadRequest, downloadTimings);
 
-                return downloadDuration;
+                return downloadTimings;
             } catch (InterruptedException exception) {
-                handleDownloadFailure(downloadRequest, exception);
+                // Tasks are only interrupted when their future is cancelled
+                CancellationException cancellationException = createCancellationException(downloadRequest, exception);
+
+                handleDownloadFailure(downloadRequest, cancellationException);
                 Thread.currentThread().interrupt();
 
-                return null;
+                throw cancellationException;
             } catch (Exception exception) {
-                handleDownloadFailure(downloadRequest, exception);
+                Exception failure = (downloadHandle.isCancelled() && !(exception instanceof CancellationException))
+                        ? createCancellationException(downloadRequest, exception)
+                        : exception;
+
+                handleDownloadFailure(downloadRequest, failure);
+
+                throw failure;
+            }
+        };
+    }
+
+    private Callable<DownloadTimings> createTask(HttpDownloadHandle downloadHandle, Semaphore concurrencyLimit) {
+        Callable<DownloadTimings> downloadTask = createTask(downloadHandle);
+
+        return () -> {
+            concurrencyLimit.acquire();
 
-                return null;
+            try {
+                return downloadTask.call();
+            } finally {
+                concurrencyLimit.release();
             }
         };
     }
 
-    private void handleDownloadSuccess(DownloadRequest downloadRequest, Duration downloadDuration) {
+    private void handleDownloadSuccess(DownloadRequest downloadRequest, DownloadTimings downloadTimings) {
+        downloadMetricsRegistry.recordSuccess(downloadTimings.sourceUri(), downloadTimings);
+
+        if (downloadCompletionListener == null)
+            return;
+
+        downloadCompletionListener.onSuccess(downloadRequest, downloadTimings);
+    }
+
+    private void handleSourceFailure(DownloadRequest downloadRequest, URI sourceUri, IOException exception) {
+        downloadMetricsRegistry.recordFailure(sourceUri);
+
         if (downloadCompletionListener == null)
             return;
 
-        downloadCompletionListener.onSuccess(downloadRequest, downloadDuration);
+        downloadCompletionListener.onSourceFailure(downloadRequest, sourceUri, exception);
     }
 
     private void handleDownloadFailure(DownloadRequest downloadRequest, Throwable throwable) {
+        // I/O failures were already recorded against the source that produced them
+        if (!(throwable instanceof CancellationException || throwable instanceof IOException))
+            downloadMetricsRegistry.recordFailure(downloadRequest.sourceFileUri());
+
         if (downloadCompletionListener == null)
             return;
 
         downloadCompletionListener.onFailure(downloadRequest, throwable);
     }
 
+    private void reportCancellationIfNotStarted(HttpDownloadHandle downloadHandle) {
+        if (downloadHandle.begin())
+            handleDownloadCancellation(downloadHandle.getDownloadRequest());
+    }
+
+    private void handleDownloadCancellation(DownloadRequest downloadRequest) {
+        handleDownloadFailure(downloadRequest, createCancellationException(downloadRequest, null));
+    }
+
+    private CancellationException createCancellationException(DownloadRequest downloadRequest, Exception cause) {
+        CancellationException cancellationException = new CancellationException("Download was cancelled: " + downloadRequest.sourceFileUri());
+
+        if (cause != null)
+            cancellationException.initCause(cause);
+
+        return cancellationException;
+    }
+
     private void shutdownExecutorService() {
         executorService.shutdown();
 
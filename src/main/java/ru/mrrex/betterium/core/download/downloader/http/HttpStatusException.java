@@ -0,0 +1,49 @@
+package ru.mrrex.betterium.core.download.downloader.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+
+public class HttpStatusException extends IOException {
+
+    private static final int NOT_FOUND_STATUS_CODE = 404;
+    private static final int GONE_STATUS_CODE = 410;
+    private static final int TOO_MANY_REQUESTS_STATUS_CODE = 429;
+    private static final int SERVER_ERROR_STATUS_CODE = 500;
+
+    private final URI sourceUri;
+    private final int statusCode;
+    private final Duration timeToFirstByte;
+
+    public HttpStatusException(URI sourceUri, int statusCode, Duration timeToFirstByte) {
+        super("Failed to download file from %s. HTTP status code is %d".formatted(sourceUri, statusCode));
+
+        this.sourceUri = sourceUri;
+        this.statusCode = statusCode;
+        this.timeToFirstByte = Objects.requireNonNull(timeToFirstByte, "Time to first byte duration must not be null");
+    }
+
+    public HttpStatusException(URI sourceUri, int statusCode) {
+        this(sourceUri, statusCode, Duration.ZERO);
+    }
+
+    public URI getSourceUri() {
+        return sourceUri;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public Duration getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public boolean isFallbackAllowed() {
+        return statusCode == NOT_FOUND_STATUS_CODE
+                || statusCode == GONE_STATUS_CODE
+                || statusCode == TOO_MANY_REQUESTS_STATUS_CODE
+                || statusCode >= SERVER_ERROR_STATUS_CODE;
+    }
+}
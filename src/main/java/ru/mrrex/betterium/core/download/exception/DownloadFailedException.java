@@ -0,0 +1,21 @@
+package ru.mrrex.betterium.core.download.exception;
+
+import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+
+public class DownloadFailedException extends RuntimeException {
+
+    private final DownloadRequest downloadRequest;
+
+    public DownloadFailedException(String message, DownloadRequest downloadRequest, Throwable cause) {
+        super(message, cause);
+        this.downloadRequest = downloadRequest;
+    }
+
+    public DownloadFailedException(DownloadRequest downloadRequest, Throwable cause) {
+        this("Failed to download required file: " + downloadRequest.sourceFileUri(), downloadRequest, cause);
+    }
+
+    public DownloadRequest getDownloadRequest() {
+        return downloadRequest;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.mrrex.betterium.core.download.listener;
+
+import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+import ru.mrrex.betterium.core.download.metrics.DownloadTimings;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Forwards every completion event to several listeners in registration order, so that
+ * a downloader holding a single listener can report to, for example, both an application
+ * callback and a repository ranking.
+ */
+public class CompositeDownloadCompletionListener implements DownloadCompletionListener {
+
+    private final List<DownloadCompletionListener> downloadCompletionListeners;
+
+    public CompositeDownloadCompletionListener(Collection<DownloadCompletionListener> downloadCompletionListeners) {
+        Objects.requireNonNull(downloadCompletionListeners, "Download completion listeners collection must not be null");
+        this.downloadCompletionListeners = List.copyOf(downloadCompletionListeners);
+    }
+
+    public CompositeDownloadCompletionListener(DownloadCompletionListener... downloadCompletionListeners) {
+        this(List.of(downloadCompletionListeners));
+    }
+
+    public List<DownloadCompletionListener> getDownloadCompletionListeners() {
+        return downloadCompletionListeners;
+    }
+
+    @Override
+    public void onSuccess(DownloadRequest downloadRequest, Duration downloadDuration) {
+        for (DownloadCompletionListener downloadCompletionListener : downloadCompletionListeners)
+            downloadCompletionListener.onSuccess(downloadRequest, downloadDuration);
+    }
+
+    @Override
+    public void onSuccess(DownloadRequest downloadRequest, DownloadTimings downloadTimings) {
+        for (DownloadCompletionListener downloadCompletionListener : downloadCompletionListeners)
+            downloadCompletionListener.onSuccess(downloadRequest, downloadTimings);
+    }
+
+    @Override
+    public void onFailure(DownloadRequest downloadRequest, Throwable throwable) {
+        for (DownloadCompletionListener downloadCompletionListener : downloadCompletionListeners)
+            downloadCompletionListener.onFailure(downloadRequest, throwable);
+    }
+
+    @Override
+    public void onSourceFailure(DownloadRequest downloadRequest, URI sourceUri, Throwable throwable) {
+        for (DownloadCompletionListener downloadCompletionListener : downloadCompletionListeners)
+            downloadCompletionListener.onSourceFailure(downloadRequest, sourceUri, throwable);
+    }
+}
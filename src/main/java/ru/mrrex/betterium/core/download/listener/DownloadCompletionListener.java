@@ -1,11 +1,19 @@
 package ru.mrrex.betterium.core.download.listener;
 
 import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+import ru.mrrex.betterium.core.download.metrics.DownloadTimings;
 
+import java.net.URI;
 import java.time.Duration;
 
 public interface DownloadCompletionListener {
 
     void onSuccess(DownloadRequest downloadRequest, Duration downloadDuration);
     void onFailure(DownloadRequest downloadRequest, Throwable throwable);
+
+    default void onSuccess(DownloadRequest downloadRequest, DownloadTimings downloadTimings) {
+        onSuccess(downloadRequest, downloadTimings.executionDuration());
+    }
+
+    default void onSourceFailure(DownloadRequest downloadRequest, URI sourceUri, Throwable throwable) {}
 }
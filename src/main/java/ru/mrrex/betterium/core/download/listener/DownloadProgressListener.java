@@ -5,4 +5,8 @@ import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
 public interface DownloadProgressListener {
 
     void onProgress(DownloadRequest downloadRequest, long bytesRead, long totalBytes);
+
+    default void onProgress(DownloadRequest downloadRequest, long wireBytesRead, long decodedBytesRead, long totalWireBytes) {
+        onProgress(downloadRequest, wireBytesRead, totalWireBytes);
+    }
 }
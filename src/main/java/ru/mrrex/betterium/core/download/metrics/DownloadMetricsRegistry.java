@@ -0,0 +1,49 @@
+package ru.mrrex.betterium.core.download.metrics;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class DownloadMetricsRegistry {
+
+    private static final String UNKNOWN_HOST = "unknown";
+
+    private final ConcurrentMap<String, HostDownloadMetrics> hostMetrics;
+
+    public DownloadMetricsRegistry() {
+        this.hostMetrics = new ConcurrentHashMap<>();
+    }
+
+    public void recordSuccess(URI sourceUri, DownloadTimings downloadTimings) {
+        getOrCreateHostMetrics(sourceUri).recordSuccess(downloadTimings);
+    }
+
+    public void recordFailure(URI sourceUri) {
+        getOrCreateHostMetrics(sourceUri).recordFailure();
+    }
+
+    public HostDownloadMetrics getHostMetrics(String host) {
+        Objects.requireNonNull(host, "Host must not be null");
+        return hostMetrics.get(host.toLowerCase());
+    }
+
+    public Map<String, HostDownloadMetrics> getAllHostMetrics() {
+        return Map.copyOf(hostMetrics);
+    }
+
+    public void clear() {
+        hostMetrics.clear();
+    }
+
+    private HostDownloadMetrics getOrCreateHostMetrics(URI sourceUri) {
+        Objects.requireNonNull(sourceUri, "Source URI must not be null");
+
+        String host = (sourceUri.getHost() != null)
+                ? sourceUri.getHost().toLowerCase()
+                : UNKNOWN_HOST;
+
+        return hostMetrics.computeIfAbsent(host, HostDownloadMetrics::new);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.mrrex.betterium.core.download.metrics;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+
+public record DownloadTimings(
+        URI sourceUri,
+        Duration queueWait,
+        Duration timeToFirstByte,
+        Duration bodyTransfer,
+        Duration diskWrite,
+        Duration executionDuration,
+        long wireBytes,
+        long decodedBytes
+) {
+
+    public DownloadTimings {
+        Objects.requireNonNull(sourceUri, "Source URI must not be null");
+        Objects.requireNonNull(queueWait, "Queue wait duration must not be null");
+        Objects.requireNonNull(timeToFirstByte, "Time to first byte duration must not be null");
+        Objects.requireNonNull(bodyTransfer, "Body transfer duration must not be null");
+        Objects.requireNonNull(diskWrite, "Disk write duration must not be null");
+        Objects.requireNonNull(executionDuration, "Execution duration must not be null");
+
+        if (wireBytes < 0 || decodedBytes < 0)
+            throw new IllegalArgumentException("Transferred bytes count must not be negative");
+    }
+
+    public Duration totalDuration() {
+        return queueWait.plus(executionDuration);
+    }
+
+    public double getThroughputBytesPerSecond() {
+        long transferNanos = bodyTransfer.toNanos();
+
+        if (transferNanos <= 0)
+            return 0;
+
+        return wireBytes * 1_000_000_000.0 / transferNanos;
+    }
+}
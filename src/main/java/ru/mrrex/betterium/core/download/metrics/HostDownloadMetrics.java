@@ -0,0 +1,106 @@
+package ru.mrrex.betterium.core.download.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+public class HostDownloadMetrics {
+
+    private final String host;
+
+    private final LatencyHistogram queueWaitHistogram;
+    private final LatencyHistogram timeToFirstByteHistogram;
+    private final LatencyHistogram executionHistogram;
+
+    private final LongAdder successCount;
+    private final LongAdder failureCount;
+
+    private final LongAdder wireBytes;
+    private final LongAdder decodedBytes;
+    private final LongAdder bodyTransferNanos;
+    private final LongAdder diskWriteNanos;
+
+    public HostDownloadMetrics(String host) {
+        this.host = Objects.requireNonNull(host, "Host must not be null");
+
+        this.queueWaitHistogram = new LatencyHistogram();
+        this.timeToFirstByteHistogram = new LatencyHistogram();
+        this.executionHistogram = new LatencyHistogram();
+
+        this.successCount = new LongAdder();
+        this.failureCount = new LongAdder();
+
+        this.wireBytes = new LongAdder();
+        this.decodedBytes = new LongAdder();
+        this.bodyTransferNanos = new LongAdder();
+        this.diskWriteNanos = new LongAdder();
+    }
+
+    public void recordSuccess(DownloadTimings downloadTimings) {
+        Objects.requireNonNull(downloadTimings, "Download timings must not be null");
+
+        queueWaitHistogram.record(downloadTimings.queueWait());
+        timeToFirstByteHistogram.record(downloadTimings.timeToFirstByte());
+        executionHistogram.record(downloadTimings.executionDuration());
+
+        successCount.increment();
+
+        wireBytes.add(downloadTimings.wireBytes());
+        decodedBytes.add(downloadTimings.decodedBytes());
+        bodyTransferNanos.add(downloadTimings.bodyTransfer().toNanos());
+        diskWriteNanos.add(downloadTimings.diskWrite().toNanos());
+    }
+
+    public void recordFailure() {
+        failureCount.increment();
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public LatencyHistogram getQueueWaitHistogram() {
+        return queueWaitHistogram;
+    }
+
+    public LatencyHistogram getTimeToFirstByteHistogram() {
+        return timeToFirstByteHistogram;
+    }
+
+    public LatencyHistogram getExecutionHistogram() {
+        return executionHistogram;
+    }
+
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getWireBytes() {
+        return wireBytes.sum();
+    }
+
+    public long getDecodedBytes() {
+        return decodedBytes.sum();
+    }
+
+    public double getThroughputBytesPerSecond() {
+        long transferNanos = bodyTransferNanos.sum();
+
+        if (transferNanos <= 0)
+            return 0;
+
+        return wireBytes.sum() * 1_000_000_000.0 / transferNanos;
+    }
+
+    public double getDiskWriteBytesPerSecond() {
+        long writeNanos = diskWriteNanos.sum();
+
+        if (writeNanos <= 0)
+            return 0;
+
+        return decodedBytes.sum() * 1_000_000_000.0 / writeNanos;
+    }
+}
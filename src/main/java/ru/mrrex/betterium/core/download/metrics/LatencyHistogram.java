@@ -0,0 +1,115 @@
+package ru.mrrex.betterium.core.download.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of nanosecond latencies.
+ * Values are grouped into power-of-two ranges, each split into {@code 2^SUB_BUCKET_BITS}
+ * linear sub-buckets, which bounds the relative error of reported percentiles to about 3%
+ * while keeping the whole histogram in a single fixed-size array.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount;
+    private final LongAdder totalNanos;
+    private final AtomicLong maxNanos;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new AtomicLong(0);
+    }
+
+    public void record(Duration duration) {
+        record(duration.toNanos());
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0)
+            throw new IllegalArgumentException("Recorded latency must not be negative");
+
+        counts.incrementAndGet(getBucketIndex(nanos));
+        totalCount.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    public Duration getMean() {
+        long count = totalCount.sum();
+
+        if (count == 0)
+            return Duration.ZERO;
+
+        return Duration.ofNanos(totalNanos.sum() / count);
+    }
+
+    public Duration getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Percentile must be in range [0, 100]");
+
+        long count = totalCount.sum();
+
+        if (count == 0)
+            return Duration.ZERO;
+
+        long targetRank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulativeCount = 0;
+
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            cumulativeCount += counts.get(index);
+
+            if (cumulativeCount >= targetRank)
+                return Duration.ofNanos(Math.min(getBucketUpperBound(index), maxNanos.get()));
+        }
+
+        return getMax();
+    }
+
+    public void reset() {
+        for (int index = 0; index < BUCKET_COUNT; index++)
+            counts.set(index, 0);
+
+        totalCount.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT)
+            return (int) value;
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucketIndex = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucketIndex;
+    }
+
+    static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT)
+            return index;
+
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        long subBucketIndex = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        long lowerBound = (SUB_BUCKET_COUNT + subBucketIndex) << shift;
+
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.mrrex.betterium.core.download.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+public enum ContentEncoding {
+
+    IDENTITY("identity"),
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final String headerValue;
+
+    ContentEncoding(String headerValue) {
+        this.headerValue = headerValue;
+    }
+
+    public String getHeaderValue() {
+        return headerValue;
+    }
+
+    public InputStream decode(InputStream inputStream) throws IOException {
+        Objects.requireNonNull(inputStream, "Input stream must not be null");
+
+        return switch (this) {
+            case IDENTITY -> inputStream;
+            case GZIP -> new GZIPInputStream(inputStream, BUFFER_SIZE);
+            case DEFLATE -> new InflaterInputStream(inputStream);
+        };
+    }
+
+    public static ContentEncoding findByHeaderValue(String headerValue) {
+        Objects.requireNonNull(headerValue, "Content encoding header value must not be null");
+
+        String preparedValue = headerValue.trim();
+
+        if (preparedValue.isEmpty())
+            return IDENTITY;
+
+        for (ContentEncoding contentEncoding : values())
+            if (contentEncoding.headerValue.equalsIgnoreCase(preparedValue))
+                return contentEncoding;
+
+        return null;
+    }
+}
@@ -18,6 +18,14 @@ public class CountingInputStream extends InputStream {
         this.totalBytes = totalBytes;
     }
 
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
     private void updateProgress(int bytesReadCount) {
         if (bytesReadCount < 1)
             return;
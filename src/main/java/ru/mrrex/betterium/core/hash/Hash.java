@@ -1,5 +1,6 @@
 package ru.mrrex.betterium.core.hash;
 
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.HexFormat;
 import java.util.Objects;
@@ -9,7 +10,13 @@ public class Hash {
     private final HashAlgorithm algorithm;
     private final byte[] bytes;
 
+    private String hexString;
+
     public Hash(HashAlgorithm algorithm, byte[] bytes) {
+        this(algorithm, bytes, true);
+    }
+
+    private Hash(HashAlgorithm algorithm, byte[] bytes, boolean isCopyRequired) {
         this.algorithm = Objects.requireNonNull(algorithm, "Hash algorithm must not be null");
 
         Objects.requireNonNull(bytes, "Hash bytes must not be null");
@@ -17,19 +24,65 @@ public class Hash {
         if (bytes.length < 1)
             throw new IllegalArgumentException("Hash bytes must not be empty");
 
-        this.bytes = Arrays.copyOf(bytes, bytes.length);
+        this.bytes = isCopyRequired ? Arrays.copyOf(bytes, bytes.length) : bytes;
+    }
+
+    public static Hash fromHex(HashAlgorithm algorithm, CharSequence hexValue) {
+        Objects.requireNonNull(algorithm, "Hash algorithm must not be null");
+        Objects.requireNonNull(hexValue, "Hash hex value must not be null");
+
+        int fromIndex = 0;
+        int toIndex = hexValue.length();
+
+        while (fromIndex < toIndex && Character.isWhitespace(hexValue.charAt(fromIndex)))
+            fromIndex++;
+
+        while (toIndex > fromIndex && Character.isWhitespace(hexValue.charAt(toIndex - 1)))
+            toIndex--;
+
+        if (toIndex - fromIndex != algorithm.getDigestLength() * 2)
+            throw new IllegalArgumentException("Hash hex value length does not match %s digest length: '%s'".formatted(algorithm, hexValue));
+
+        return new Hash(algorithm, HexFormat.of().parseHex(hexValue, fromIndex, toIndex), false);
+    }
+
+    static Hash wrap(HashAlgorithm algorithm, byte[] bytes) {
+        return new Hash(algorithm, bytes, false);
     }
 
     public HashAlgorithm getAlgorithm() {
         return algorithm;
     }
 
+    public int getLength() {
+        return bytes.length;
+    }
+
     public byte[] getBytes() {
         return Arrays.copyOf(bytes, bytes.length);
     }
 
+    public boolean matches(byte[] digestBytes) {
+        return digestBytes != null && MessageDigest.isEqual(bytes, digestBytes);
+    }
+
+    public boolean matches(Hash hash) {
+        return hash != null && algorithm == hash.algorithm && MessageDigest.isEqual(bytes, hash.bytes);
+    }
+
+    void updateDigest(MessageDigest messageDigest) {
+        messageDigest.update(bytes);
+    }
+
     public String toHexString() {
-        return HexFormat.of().formatHex(bytes);
+        String cachedHexString = hexString;
+
+        if (cachedHexString == null) {
+            cachedHexString = HexFormat.of().formatHex(bytes);
+            hexString = cachedHexString;
+        }
+
+        return cachedHexString;
     }
 
     @Override
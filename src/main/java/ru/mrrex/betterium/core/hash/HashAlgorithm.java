@@ -8,21 +8,27 @@ import java.util.Objects;
 
 public enum HashAlgorithm {
 
-    MD5("MD5"),
-    SHA1("SHA-1"),
-    SHA256("SHA-256"),
-    SHA512("SHA-512");
+    MD5("MD5", 16),
+    SHA1("SHA-1", 20),
+    SHA256("SHA-256", 32),
+    SHA512("SHA-512", 64);
 
     private final String messageDigestInstanceName;
+    private final int digestLength;
 
-    HashAlgorithm(String messageDigestInstanceName) {
+    HashAlgorithm(String messageDigestInstanceName, int digestLength) {
         this.messageDigestInstanceName = messageDigestInstanceName;
+        this.digestLength = digestLength;
     }
 
     public String getMessageDigestInstanceName() {
         return messageDigestInstanceName;
     }
 
+    public int getDigestLength() {
+        return digestLength;
+    }
+
     @JsonCreator
     public static HashAlgorithm fromValue(String value) {
         return findByName(value);
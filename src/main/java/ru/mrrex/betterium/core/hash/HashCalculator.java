@@ -1,9 +1,13 @@
 package ru.mrrex.betterium.core.hash;
 
+import ru.mrrex.betterium.core.io.FileContentReader;
+import ru.mrrex.betterium.core.io.ScratchBuffers;
+import ru.mrrex.betterium.core.jfr.HashCalculationEvent;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -11,14 +15,16 @@ import java.util.Objects;
 
 public class HashCalculator {
 
-    private static final int BUFFER_SIZE = 8 * 1024;
-
     private final HashAlgorithm algorithm;
     private final MessageDigest messageDigest;
 
-    public HashCalculator(HashAlgorithm algorithm) throws NoSuchAlgorithmException {
+    public HashCalculator(HashAlgorithm algorithm, MessageDigest messageDigest) {
         this.algorithm = Objects.requireNonNull(algorithm, "Hash algorithm must not be null");
-        this.messageDigest = MessageDigest.getInstance(algorithm.getMessageDigestInstanceName());
+        this.messageDigest = Objects.requireNonNull(messageDigest, "Message digest must not be null");
+    }
+
+    public HashCalculator(HashAlgorithm algorithm) throws NoSuchAlgorithmException {
+        this(algorithm, HashCalculatorFactory.createMessageDigest(algorithm));
     }
 
     public HashAlgorithm getAlgorithm() {
@@ -26,10 +32,16 @@ public class HashCalculator {
     }
 
     public Hash calculate(byte[] data) {
+        HashCalculationEvent calculationEvent = new HashCalculationEvent();
+        calculationEvent.begin();
+
         messageDigest.reset();
         messageDigest.update(data);
 
-        return toHash(messageDigest.digest());
+        Hash hash = toHash(messageDigest.digest());
+        commitCalculationEvent(calculationEvent, data.length);
+
+        return hash;
     }
 
     public Hash calculate(String string) {
@@ -37,24 +49,68 @@ public class HashCalculator {
     }
 
     public Hash calculate(InputStream inputStream) throws IOException {
-        byte[] buffer = new byte[BUFFER_SIZE];
+        HashCalculationEvent calculationEvent = new HashCalculationEvent();
+        calculationEvent.begin();
 
-        messageDigest.reset();
+        byte[] buffer = ScratchBuffers.getByteArray();
+        long totalBytesRead = 0;
+        int bytesRead;
+
+        reset();
 
-        while (inputStream.read(buffer) != -1) {
-            messageDigest.update(buffer);
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            update(buffer, 0, bytesRead);
+            totalBytesRead += bytesRead;
         }
 
-        return toHash(messageDigest.digest());
+        Hash hash = finish();
+        commitCalculationEvent(calculationEvent, totalBytesRead);
+
+        return hash;
     }
 
     public Hash calculate(Path filePath) throws IOException {
-        try (InputStream inputStream = Files.newInputStream(filePath)) {
-            return calculate(inputStream);
-        }
+        HashCalculationEvent calculationEvent = new HashCalculationEvent();
+        calculationEvent.begin();
+
+        messageDigest.reset();
+
+        long totalBytesRead = FileContentReader.read(filePath, messageDigest::update);
+
+        Hash hash = toHash(messageDigest.digest());
+        commitCalculationEvent(calculationEvent, totalBytesRead);
+
+        return hash;
+    }
+
+    public void reset() {
+        messageDigest.reset();
+    }
+
+    public void update(ByteBuffer buffer) {
+        messageDigest.update(buffer);
+    }
+
+    public void update(byte[] data, int offset, int length) {
+        messageDigest.update(data, offset, length);
+    }
+
+    public Hash finish() {
+        return toHash(messageDigest.digest());
+    }
+
+    private void commitCalculationEvent(HashCalculationEvent calculationEvent, long bytes) {
+        calculationEvent.end();
+
+        if (!calculationEvent.shouldCommit())
+            return;
+
+        calculationEvent.setAlgorithm(algorithm.getMessageDigestInstanceName());
+        calculationEvent.setBytes(bytes);
+        calculationEvent.commit();
     }
 
     private Hash toHash(byte[] hashBytes) {
-        return new Hash(algorithm, hashBytes);
+        return Hash.wrap(algorithm, hashBytes);
     }
 }
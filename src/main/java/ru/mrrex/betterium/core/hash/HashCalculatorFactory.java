@@ -0,0 +1,36 @@
+package ru.mrrex.betterium.core.hash;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public abstract class HashCalculatorFactory {
+
+    private static final Map<HashAlgorithm, MessageDigest> PROTOTYPES = new ConcurrentHashMap<>();
+
+    private HashCalculatorFactory() {}
+
+    public static HashCalculator createCalculator(HashAlgorithm algorithm) throws NoSuchAlgorithmException {
+        return new HashCalculator(algorithm, createMessageDigest(algorithm));
+    }
+
+    public static MessageDigest createMessageDigest(HashAlgorithm algorithm) throws NoSuchAlgorithmException {
+        Objects.requireNonNull(algorithm, "Hash algorithm must not be null");
+
+        MessageDigest prototype = PROTOTYPES.get(algorithm);
+
+        if (prototype == null) {
+            prototype = MessageDigest.getInstance(algorithm.getMessageDigestInstanceName());
+            PROTOTYPES.putIfAbsent(algorithm, prototype);
+        }
+
+        // The prototype is never updated, so cloning it concurrently only reads its initial state
+        try {
+            return (MessageDigest) prototype.clone();
+        } catch (CloneNotSupportedException exception) {
+            return MessageDigest.getInstance(algorithm.getMessageDigestInstanceName());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package ru.mrrex.betterium.core.hash;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Merkle tree over fixed-size chunks of a file.
+ * Leaves are {@code H(0x00 || chunk)} and inner nodes {@code H(0x01 || left || right)},
+ * with an unpaired node promoted to the next level unchanged, which yields the same
+ * root as the RFC 6962 layout. The prefixes keep leaf and node digests from being
+ * interchangeable. An empty file consists of a single empty chunk.
+ */
+public record HashTree(
+        HashAlgorithm algorithm,
+        int chunkSize,
+        long contentLength,
+        List<Hash> chunkHashes,
+        Hash rootHash
+) {
+
+    static final byte LEAF_PREFIX = 0x00;
+    static final byte NODE_PREFIX = 0x01;
+
+    public HashTree {
+        Objects.requireNonNull(algorithm, "Hash algorithm must not be null");
+        Objects.requireNonNull(chunkHashes, "Chunk hashes list must not be null");
+        Objects.requireNonNull(rootHash, "Root hash must not be null");
+
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size must be greater than zero");
+
+        if (contentLength < 0)
+            throw new IllegalArgumentException("Content length must not be negative");
+
+        chunkHashes = List.copyOf(chunkHashes);
+
+        if (!chunkHashes.isEmpty() && chunkHashes.size() != getChunkCount(contentLength, chunkSize))
+            throw new IllegalArgumentException("Chunk hashes count does not match content length and chunk size");
+
+        if (rootHash.getAlgorithm() != algorithm)
+            throw new IllegalArgumentException("Root hash algorithm does not match tree algorithm");
+    }
+
+    public static HashTree of(HashAlgorithm algorithm, int chunkSize, long contentLength, List<Hash> chunkHashes) throws NoSuchAlgorithmException {
+        Objects.requireNonNull(chunkHashes, "Chunk hashes list must not be null");
+
+        if (chunkHashes.isEmpty())
+            throw new IllegalArgumentException("Chunk hashes list must not be empty");
+
+        return new HashTree(algorithm, chunkSize, contentLength, chunkHashes, calculateRootHash(algorithm, chunkHashes));
+    }
+
+    public static int getChunkCount(long contentLength, int chunkSize) {
+        long chunkCount = Math.max(1, (contentLength + chunkSize - 1) / chunkSize);
+
+        if (chunkCount > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Content is too large for chunk size " + chunkSize);
+
+        return (int) chunkCount;
+    }
+
+    public int getChunkCount() {
+        return getChunkCount(contentLength, chunkSize);
+    }
+
+    public long getChunkOffset(int chunkIndex) {
+        Objects.checkIndex(chunkIndex, getChunkCount());
+        return (long) chunkIndex * chunkSize;
+    }
+
+    public int getChunkLength(int chunkIndex) {
+        return (int) Math.min(chunkSize, contentLength - getChunkOffset(chunkIndex));
+    }
+
+    public boolean hasChunkHashes() {
+        return !chunkHashes.isEmpty();
+    }
+
+    public boolean isMatching(HashTree actualTree) {
+        Objects.requireNonNull(actualTree, "Actual hash tree must not be null");
+
+        return chunkSize == actualTree.chunkSize
+                && contentLength == actualTree.contentLength
+                && rootHash.matches(actualTree.rootHash);
+    }
+
+    public List<Integer> findMismatchedChunks(HashTree actualTree) {
+        Objects.requireNonNull(actualTree, "Actual hash tree must not be null");
+
+        if (algorithm != actualTree.algorithm || chunkSize != actualTree.chunkSize)
+            throw new IllegalArgumentException("Hash trees use different algorithms or chunk sizes");
+
+        if (!hasChunkHashes() || !actualTree.hasChunkHashes())
+            throw new IllegalStateException("Both hash trees must contain chunk hashes to locate mismatches");
+
+        List<Integer> mismatchedChunks = new ArrayList<>();
+
+        for (int i = 0; i < chunkHashes.size(); i++)
+            if (contentLength != actualTree.contentLength || i >= actualTree.chunkHashes.size()
+                    || !chunkHashes.get(i).matches(actualTree.chunkHashes.get(i)))
+                mismatchedChunks.add(i);
+
+        return mismatchedChunks;
+    }
+
+    static Hash calculateRootHash(HashAlgorithm algorithm, List<Hash> chunkHashes) throws NoSuchAlgorithmException {
+        MessageDigest messageDigest = HashCalculatorFactory.createMessageDigest(algorithm);
+        List<Hash> level = chunkHashes;
+
+        while (level.size() > 1) {
+            List<Hash> nextLevel = new ArrayList<>((level.size() + 1) / 2);
+
+            for (int i = 0; i < level.size(); i += 2) {
+                if (i + 1 == level.size()) {
+                    nextLevel.add(level.get(i));
+                    continue;
+                }
+
+                messageDigest.update(NODE_PREFIX);
+                level.get(i).updateDigest(messageDigest);
+                level.get(i + 1).updateDigest(messageDigest);
+
+                nextLevel.add(Hash.wrap(algorithm, messageDigest.digest()));
+            }
+
+            level = nextLevel;
+        }
+
+        return level.getFirst();
+    }
+}
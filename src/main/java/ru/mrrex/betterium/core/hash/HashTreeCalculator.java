@@ -0,0 +1,149 @@
+package ru.mrrex.betterium.core.hash;
+
+import ru.mrrex.betterium.core.calculator.CalculatorLease;
+import ru.mrrex.betterium.core.calculator.CalculatorPool;
+import ru.mrrex.betterium.core.io.ScratchBuffers;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calculates {@link HashTree}s of files, hashing chunks in parallel on a dedicated {@link ForkJoinPool}.
+ * All workers share one {@link FileChannel} and read their chunks with positional reads,
+ * each through its own {@link HashCalculator}, borrowed from the shared {@link CalculatorPool},
+ * and per-thread scratch buffer.
+ */
+public class HashTreeCalculator implements AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final byte[] LEAF_PREFIX = {HashTree.LEAF_PREFIX};
+
+    private final HashAlgorithm algorithm;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService executorService;
+
+    public HashTreeCalculator(HashAlgorithm algorithm, int chunkSize, int parallelism) {
+        this.algorithm = Objects.requireNonNull(algorithm, "Hash algorithm must not be null");
+
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size must be greater than zero");
+
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be greater than zero");
+
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.executorService = new ForkJoinPool(parallelism);
+    }
+
+    public HashTreeCalculator(HashAlgorithm algorithm) {
+        this(algorithm, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public HashAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public HashTree calculate(Path filePath) throws IOException, NoSuchAlgorithmException, InterruptedException {
+        Objects.requireNonNull(filePath, "File path must not be null");
+
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long contentLength = fileChannel.size();
+            int chunkCount = HashTree.getChunkCount(contentLength, chunkSize);
+
+            Hash[] chunkHashes = new Hash[chunkCount];
+            AtomicInteger nextChunkIndex = new AtomicInteger(0);
+
+            int workerCount = Math.min(parallelism, chunkCount);
+            List<Callable<Void>> workers = new ArrayList<>(workerCount);
+
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(() -> {
+                    try (CalculatorLease<HashCalculator> lease = CalculatorPool.getShared().acquireHashCalculator(algorithm)) {
+                        int chunkIndex;
+
+                        while ((chunkIndex = nextChunkIndex.getAndIncrement()) < chunkCount) {
+                            long chunkOffset = (long) chunkIndex * chunkSize;
+                            int chunkLength = (int) Math.min(chunkSize, contentLength - chunkOffset);
+
+                            chunkHashes[chunkIndex] = calculateChunkHash(lease.get(), fileChannel, chunkOffset, chunkLength);
+                        }
+                    }
+
+                    return null;
+                });
+            }
+
+            for (Future<Void> future : executorService.invokeAll(workers))
+                awaitWorker(future);
+
+            return HashTree.of(algorithm, chunkSize, contentLength, Arrays.asList(chunkHashes));
+        }
+    }
+
+    private Hash calculateChunkHash(HashCalculator hashCalculator, FileChannel fileChannel, long chunkOffset, int chunkLength) throws IOException {
+        ByteBuffer buffer = ScratchBuffers.getByteBuffer();
+        long position = chunkOffset;
+        long chunkEnd = chunkOffset + chunkLength;
+
+        hashCalculator.reset();
+        hashCalculator.update(LEAF_PREFIX, 0, LEAF_PREFIX.length);
+
+        while (position < chunkEnd) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), chunkEnd - position));
+
+            int bytesRead = fileChannel.read(buffer, position);
+
+            if (bytesRead < 0)
+                throw new EOFException("File was truncated while hashing chunk at offset " + chunkOffset);
+
+            buffer.flip();
+            hashCalculator.update(buffer);
+
+            position += bytesRead;
+        }
+
+        return hashCalculator.finish();
+    }
+
+    private void awaitWorker(Future<Void> future) throws IOException, NoSuchAlgorithmException, InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+
+            if (cause instanceof IOException ioException)
+                throw ioException;
+
+            if (cause instanceof NoSuchAlgorithmException noSuchAlgorithmException)
+                throw noSuchAlgorithmException;
+
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+
+            throw new IllegalStateException("Chunk hashing failed", cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.close();
+    }
+}
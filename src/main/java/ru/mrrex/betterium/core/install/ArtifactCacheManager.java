@@ -0,0 +1,405 @@
+package ru.mrrex.betterium.core.install;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.mrrex.betterium.core.artifact.Artifact;
+import ru.mrrex.betterium.core.client.config.ClientConfiguration;
+import ru.mrrex.betterium.core.io.AtomicFiles;
+import ru.mrrex.betterium.core.library.NativeLibrary;
+import ru.mrrex.betterium.core.resource.DownloadableResource;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the artifact and native library directories of an {@link InstallLayout} below a size cap.
+ * Launchers record the files they use in a small usage log, one write per launch, which is cheaper
+ * than touching file times and leaves the identities tracked by a verification cache intact. Files
+ * not referenced by any active {@link ClientConfiguration} are evicted least recently used first,
+ * never before they have been idle for a minimum time. Recording the usage of a configuration
+ * before planning protects its files, including those not yet downloaded, from a concurrent eviction.
+ * <p>
+ * The usage log is guarded by a file lock shared by all processes. Eviction proceeds in batches,
+ * each holding the lock, so a launcher that has recorded its files before reading them can never
+ * lose them to a batch, and launchers are only ever blocked for the duration of a single batch.
+ * Only one manager per usage log may exist within a JVM.
+ */
+public class ArtifactCacheManager {
+
+    private static final String DEFAULT_USAGE_FILE_NAME = "cache-usage.json";
+    private static final String LOCK_FILE_SUFFIX = ".lock";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private static final TypeReference<Map<String, Long>> USAGE_TYPE = new TypeReference<>() {};
+
+    private final InstallLayout layout;
+    private final long sizeCap;
+    private final Duration minimumIdleTime;
+    private final int batchSize;
+
+    private final Path usageFilePath;
+    private final Path lockFilePath;
+
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock processLock;
+
+    private ArtifactCacheManager(InstallLayout layout, long sizeCap, Duration minimumIdleTime, int batchSize, Path usageFilePath) {
+        this.layout = layout;
+        this.sizeCap = sizeCap;
+        this.minimumIdleTime = minimumIdleTime;
+        this.batchSize = batchSize;
+
+        this.usageFilePath = usageFilePath.toAbsolutePath().normalize();
+        this.lockFilePath = this.usageFilePath.resolveSibling(this.usageFilePath.getFileName() + LOCK_FILE_SUFFIX);
+
+        this.objectMapper = new ObjectMapper();
+        this.processLock = new ReentrantLock();
+    }
+
+    public long getSizeCap() {
+        return sizeCap;
+    }
+
+    public void recordUsage(Collection<Path> filePaths) throws IOException {
+        Objects.requireNonNull(filePaths, "File paths collection must not be null");
+
+        long now = System.currentTimeMillis();
+
+        withLock(() -> {
+            Map<String, Long> usage = readUsage();
+
+            for (Path filePath : filePaths)
+                usage.put(getUsageKey(filePath), now);
+
+            writeUsage(usage);
+            return null;
+        });
+    }
+
+    public void recordUsage(InstallPlan installPlan) throws IOException {
+        Objects.requireNonNull(installPlan, "Install plan must not be null");
+        recordUsage(installPlan.items().stream().map(InstallItem::filePath).toList());
+    }
+
+    public void recordUsage(ClientConfiguration clientConfiguration) throws IOException {
+        Objects.requireNonNull(clientConfiguration, "Client configuration must not be null");
+        recordUsage(getReferencedFiles(List.of(clientConfiguration)));
+    }
+
+    public Set<Path> getReferencedFiles(Collection<ClientConfiguration> activeConfigurations) {
+        Objects.requireNonNull(activeConfigurations, "Active configurations collection must not be null");
+
+        Set<Path> referencedFiles = new HashSet<>();
+
+        // Native libraries of every platform count, a shared cache may serve several of them
+        for (ClientConfiguration clientConfiguration : activeConfigurations) {
+            for (Artifact artifact : clientConfiguration.artifacts()) {
+                if (artifact instanceof DownloadableResource downloadableArtifact)
+                    referencedFiles.add(normalize(layout.getFilePath(downloadableArtifact)));
+
+                for (NativeLibrary nativeLibrary : artifact.getDependencies())
+                    if (nativeLibrary instanceof DownloadableResource downloadableLibrary)
+                        referencedFiles.add(normalize(layout.getFilePath(downloadableLibrary)));
+            }
+        }
+
+        return referencedFiles;
+    }
+
+    public EvictionResult collect(Collection<ClientConfiguration> activeConfigurations) throws IOException {
+        EvictionResult batchResult;
+
+        int evictedFileCount = 0;
+        long evictedBytes = 0;
+
+        do {
+            batchResult = collectBatch(activeConfigurations, batchSize);
+
+            evictedFileCount += batchResult.evictedFileCount();
+            evictedBytes += batchResult.evictedBytes();
+        } while (!batchResult.complete() && batchResult.evictedFileCount() > 0);
+
+        return new EvictionResult(
+                batchResult.scannedFileCount(),
+                batchResult.scannedBytes(),
+                evictedFileCount,
+                evictedBytes,
+                batchResult.remainingBytes(),
+                batchResult.complete()
+        );
+    }
+
+    public CompletableFuture<EvictionResult> collectAsync(Collection<ClientConfiguration> activeConfigurations, Executor executor) {
+        Objects.requireNonNull(executor, "Executor must not be null");
+
+        List<ClientConfiguration> configurations = List.copyOf(activeConfigurations);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return collect(configurations);
+            } catch (IOException exception) {
+                throw new CompletionException(exception);
+            }
+        }, executor);
+    }
+
+    public EvictionResult collectBatch(Collection<ClientConfiguration> activeConfigurations, int maxEvictions) throws IOException {
+        if (maxEvictions < 1)
+            throw new IllegalArgumentException("Maximum evictions must be greater than zero");
+
+        Set<Path> referencedFiles = getReferencedFiles(activeConfigurations);
+
+        return withLock(() -> {
+            Map<String, Long> usage = readUsage();
+            List<CachedFile> cachedFiles = scanCachedFiles(usage);
+
+            long totalBytes = 0;
+
+            for (CachedFile cachedFile : cachedFiles)
+                totalBytes += cachedFile.size();
+
+            long idleBefore = System.currentTimeMillis() - minimumIdleTime.toMillis();
+
+            List<CachedFile> candidates = cachedFiles.stream()
+                    .filter(cachedFile -> !referencedFiles.contains(cachedFile.filePath()))
+                    .filter(cachedFile -> cachedFile.lastUsedAt() < idleBefore)
+                    .sorted(Comparator.comparingLong(CachedFile::lastUsedAt))
+                    .toList();
+
+            long remainingBytes = totalBytes;
+            int evictedFileCount = 0;
+            long evictedBytes = 0;
+            int candidateIndex = 0;
+
+            while (remainingBytes > sizeCap && evictedFileCount < maxEvictions && candidateIndex < candidates.size()) {
+                CachedFile candidate = candidates.get(candidateIndex++);
+
+                if (!evict(candidate))
+                    continue;
+
+                usage.remove(getUsageKey(candidate.filePath()));
+
+                remainingBytes -= candidate.size();
+                evictedBytes += candidate.size();
+                evictedFileCount++;
+            }
+
+            if (evictedFileCount > 0)
+                writeUsage(usage);
+
+            boolean isComplete = remainingBytes <= sizeCap || candidateIndex >= candidates.size();
+
+            return new EvictionResult(cachedFiles.size(), totalBytes, evictedFileCount, evictedBytes, remainingBytes, isComplete);
+        });
+    }
+
+    private List<CachedFile> scanCachedFiles(Map<String, Long> usage) throws IOException {
+        List<CachedFile> cachedFiles = new ArrayList<>();
+
+        // Both directories may be the same, in which case it is scanned once
+        Set<Path> directories = new LinkedHashSet<>(List.of(normalize(layout.artifactsDirectory()), normalize(layout.nativesDirectory())));
+
+        for (Path directory : directories) {
+            if (!Files.isDirectory(directory))
+                continue;
+
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path filePath, BasicFileAttributes attributes) {
+                    Path normalizedFilePath = normalize(filePath);
+
+                    if (attributes.isRegularFile() && !isInternalFile(normalizedFilePath)) {
+                        // Files never recorded count as used when they were last written
+                        long lastUsedAt = usage.getOrDefault(
+                                getUsageKey(normalizedFilePath),
+                                attributes.lastModifiedTime().toMillis()
+                        );
+
+                        cachedFiles.add(new CachedFile(normalizedFilePath, attributes.size(), lastUsedAt));
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path filePath, IOException exception) {
+                    // Files removed by a concurrent process are simply not part of the cache anymore
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+
+        return cachedFiles;
+    }
+
+    private boolean isInternalFile(Path filePath) {
+        String fileName = filePath.getFileName().toString();
+
+        return filePath.equals(usageFilePath)
+                || filePath.equals(lockFilePath)
+                || fileName.endsWith(TEMPORARY_FILE_SUFFIX);
+    }
+
+    private boolean evict(CachedFile cachedFile) {
+        try {
+            Files.deleteIfExists(cachedFile.filePath());
+        } catch (IOException _) {
+            // Files held open by a running client cannot be deleted on some platforms
+            return false;
+        }
+
+        deleteEmptyParents(cachedFile.filePath());
+        return true;
+    }
+
+    private void deleteEmptyParents(Path filePath) {
+        Path parentPath = filePath.getParent();
+
+        while (parentPath != null && !isLayoutDirectory(parentPath)) {
+            try {
+                Files.delete(parentPath);
+            } catch (IOException _) {
+                // Not empty, or already gone
+                return;
+            }
+
+            parentPath = parentPath.getParent();
+        }
+    }
+
+    private boolean isLayoutDirectory(Path directory) {
+        return directory.equals(normalize(layout.artifactsDirectory()))
+                || directory.equals(normalize(layout.nativesDirectory()))
+                || !directory.startsWith(normalize(layout.artifactsDirectory())) && !directory.startsWith(normalize(layout.nativesDirectory()));
+    }
+
+    private Map<String, Long> readUsage() throws IOException {
+        if (Files.notExists(usageFilePath))
+            return new HashMap<>();
+
+        try {
+            return new HashMap<>(objectMapper.readValue(usageFilePath.toFile(), USAGE_TYPE));
+        } catch (JsonProcessingException _) {
+            // Losing usage times only makes eviction fall back to modification times
+            return new HashMap<>();
+        }
+    }
+
+    private void writeUsage(Map<String, Long> usage) throws IOException {
+        AtomicFiles.write(usageFilePath, objectMapper.writeValueAsBytes(new TreeMap<>(usage)));
+    }
+
+    private String getUsageKey(Path filePath) {
+        return usageFilePath.getParent()
+                .relativize(normalize(filePath))
+                .toString()
+                .replace('\\', '/');
+    }
+
+    private Path normalize(Path filePath) {
+        return filePath.toAbsolutePath().normalize();
+    }
+
+    private <T> T withLock(LockedAction<T> action) throws IOException {
+        processLock.lock();
+
+        try {
+            Files.createDirectories(lockFilePath.getParent());
+
+            try (FileChannel lockChannel = FileChannel.open(lockFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock _ = lockChannel.lock()
+            ) {
+                return action.run();
+            }
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @FunctionalInterface
+    private interface LockedAction<T> {
+
+        T run() throws IOException;
+    }
+
+    private record CachedFile(Path filePath, long size, long lastUsedAt) {}
+
+    public static class Builder {
+
+        private static final Duration DEFAULT_MINIMUM_IDLE_TIME = Duration.ofDays(1);
+        private static final int DEFAULT_BATCH_SIZE = 64;
+
+        private InstallLayout layout;
+        private Long sizeCap;
+        private Duration minimumIdleTime = DEFAULT_MINIMUM_IDLE_TIME;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private Path usageFilePath;
+
+        private Builder() {}
+
+        public Builder withLayout(InstallLayout layout) {
+            this.layout = Objects.requireNonNull(layout, "Install layout must not be null");
+            return this;
+        }
+
+        public Builder withSizeCap(long sizeCap) {
+            if (sizeCap < 0)
+                throw new IllegalArgumentException("Size cap must not be negative");
+
+            this.sizeCap = sizeCap;
+            return this;
+        }
+
+        public Builder withMinimumIdleTime(Duration minimumIdleTime) {
+            Objects.requireNonNull(minimumIdleTime, "Minimum idle time must not be null");
+
+            // Without an idle time, files downloaded by a launcher that has yet to record them could be evicted
+            if (minimumIdleTime.isNegative() || minimumIdleTime.isZero())
+                throw new IllegalArgumentException("Minimum idle time must be greater than zero");
+
+            this.minimumIdleTime = minimumIdleTime;
+            return this;
+        }
+
+        public Builder withBatchSize(int batchSize) {
+            if (batchSize < 1)
+                throw new IllegalArgumentException("Batch size must be greater than zero");
+
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder withUsageFilePath(Path usageFilePath) {
+            this.usageFilePath = Objects.requireNonNull(usageFilePath, "Usage file path must not be null");
+            return this;
+        }
+
+        public ArtifactCacheManager build() {
+            if (layout == null)
+                throw new IllegalStateException("Install layout (layout) must be set before building cache manager");
+
+            if (sizeCap == null)
+                throw new IllegalStateException("Size cap (sizeCap) must be set before building cache manager");
+
+            Path resolvedUsageFilePath = (usageFilePath != null)
+                    ? usageFilePath
+                    : layout.artifactsDirectory().toAbsolutePath().normalize().resolveSibling(DEFAULT_USAGE_FILE_NAME);
+
+            return new ArtifactCacheManager(layout, sizeCap, minimumIdleTime, batchSize, resolvedUsageFilePath);
+        }
+    }
+}
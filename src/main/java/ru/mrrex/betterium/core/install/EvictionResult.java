@@ -0,0 +1,19 @@
+package ru.mrrex.betterium.core.install;
+
+public record EvictionResult(
+        int scannedFileCount,
+        long scannedBytes,
+        int evictedFileCount,
+        long evictedBytes,
+        long remainingBytes,
+        boolean complete
+) {
+
+    public EvictionResult {
+        if (scannedFileCount < 0 || evictedFileCount < 0)
+            throw new IllegalArgumentException("File counts must not be negative");
+
+        if (scannedBytes < 0 || evictedBytes < 0 || remainingBytes < 0)
+            throw new IllegalArgumentException("Byte counts must not be negative");
+    }
+}
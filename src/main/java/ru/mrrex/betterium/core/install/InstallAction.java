@@ -0,0 +1,8 @@
+package ru.mrrex.betterium.core.install;
+
+public enum InstallAction {
+
+    UP_TO_DATE,
+    DOWNLOAD,
+    REPLACE
+}
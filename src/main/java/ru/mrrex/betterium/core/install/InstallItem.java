@@ -0,0 +1,28 @@
+package ru.mrrex.betterium.core.install;
+
+import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+import ru.mrrex.betterium.core.resource.DownloadableResource;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+public record InstallItem(
+        DownloadableResource resource,
+        Path filePath,
+        InstallAction action,
+        DownloadRequest downloadRequest
+) {
+
+    public InstallItem {
+        Objects.requireNonNull(resource, "Downloadable resource must not be null");
+        Objects.requireNonNull(filePath, "File path must not be null");
+        Objects.requireNonNull(action, "Install action must not be null");
+
+        if ((action == InstallAction.UP_TO_DATE) != (downloadRequest == null))
+            throw new IllegalArgumentException("Download request must be set exactly when the file has to be fetched");
+    }
+
+    public boolean isFetchRequired() {
+        return downloadRequest != null;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.mrrex.betterium.core.install;
+
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.library.implementation.RemoteNativeLibrary;
+import ru.mrrex.betterium.core.resource.DownloadableResource;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Objects;
+
+public record InstallLayout(Path artifactsDirectory, Path nativesDirectory) {
+
+    public InstallLayout {
+        Objects.requireNonNull(artifactsDirectory, "Artifacts directory must not be null");
+        Objects.requireNonNull(nativesDirectory, "Natives directory must not be null");
+    }
+
+    public static InstallLayout of(Path rootDirectory) {
+        Objects.requireNonNull(rootDirectory, "Root directory must not be null");
+        return new InstallLayout(rootDirectory.resolve("artifacts"), rootDirectory.resolve("natives"));
+    }
+
+    public Path getFilePath(DownloadableResource resource) {
+        Objects.requireNonNull(resource, "Downloadable resource must not be null");
+
+        return switch (resource) {
+            case MavenArtifact artifact -> artifactsDirectory.resolve(artifact.getRelativePath());
+            case RemoteNativeLibrary nativeLibrary -> nativesDirectory.resolve(getRelativePath(nativeLibrary.sourceUri()));
+            default -> throw new IllegalArgumentException("Unsupported downloadable resource: " + resource.getClass().getName());
+        };
+    }
+
+    private String getRelativePath(URI sourceUri) {
+        // Host and path keep equally named files from different sources apart
+        String path = sourceUri.getPath().replaceFirst("^/+", "");
+        String host = sourceUri.getHost();
+
+        return (host != null) ? host + '/' + path : path;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.mrrex.betterium.core.install;
+
+import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+
+import java.util.List;
+import java.util.Objects;
+
+public record InstallPlan(List<InstallItem> items, InstallSummary summary) {
+
+    public InstallPlan {
+        Objects.requireNonNull(items, "Install items list must not be null");
+        Objects.requireNonNull(summary, "Install summary must not be null");
+
+        items = List.copyOf(items);
+    }
+
+    public List<DownloadRequest> getDownloadRequests() {
+        return items.stream()
+                .filter(InstallItem::isFetchRequired)
+                .map(InstallItem::downloadRequest)
+                .toList();
+    }
+}
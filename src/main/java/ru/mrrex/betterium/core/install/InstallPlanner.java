@@ -0,0 +1,286 @@
+package ru.mrrex.betterium.core.install;
+
+import ru.mrrex.betterium.core.artifact.Artifact;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.artifact.repository.MavenRepositoryResolver;
+import ru.mrrex.betterium.core.client.config.ClientConfiguration;
+import ru.mrrex.betterium.core.condition.ConditionEvaluator;
+import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+import ru.mrrex.betterium.core.library.NativeLibrary;
+import ru.mrrex.betterium.core.resource.CheckableResource;
+import ru.mrrex.betterium.core.resource.ConditionalResource;
+import ru.mrrex.betterium.core.resource.DownloadableResource;
+import ru.mrrex.betterium.core.verification.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Turns a {@link ClientConfiguration} into the download requests needed to bring an
+ * install directory up to date. Every artifact and every native library applicable
+ * to the environment is mapped to its file through an {@link InstallLayout}; the files
+ * are stat-ed concurrently, missing ones are planned for download and ones whose size
+ * differs from the declared size are planned for replacement without reading them.
+ * The remaining files are verified by a {@link BulkResourceVerifier}, so with a
+ * {@link VerificationCache} attached a no-op update touches only file metadata.
+ * <p>
+ * Files planned for replacement are left in place: the downloader writes a temporary
+ * sibling and atomically moves it over them, so a replaced file that is hard-linked
+ * elsewhere or held open by a running client is never written through.
+ */
+public class InstallPlanner {
+
+    private final InstallLayout layout;
+    private final ConditionEvaluator conditionEvaluator;
+    private final BulkResourceVerifier resourceVerifier;
+    private final MavenRepositoryResolver repositoryResolver;
+
+    private InstallPlanner(
+            InstallLayout layout,
+            ConditionEvaluator conditionEvaluator,
+            BulkResourceVerifier resourceVerifier,
+            MavenRepositoryResolver repositoryResolver
+    ) {
+        this.layout = layout;
+        this.conditionEvaluator = conditionEvaluator;
+        this.resourceVerifier = resourceVerifier;
+        this.repositoryResolver = repositoryResolver;
+    }
+
+    public InstallLayout getLayout() {
+        return layout;
+    }
+
+    public InstallPlanner forLayout(InstallLayout layout) {
+        Objects.requireNonNull(layout, "Install layout must not be null");
+        return new InstallPlanner(layout, conditionEvaluator, resourceVerifier, repositoryResolver);
+    }
+
+    public InstallPlan plan(ClientConfiguration clientConfiguration) throws IOException, InterruptedException {
+        Objects.requireNonNull(clientConfiguration, "Client configuration must not be null");
+
+        Map<Path, DownloadableResource> resources = collectResources(clientConfiguration);
+        List<Path> filePaths = List.copyOf(resources.keySet());
+
+        BasicFileAttributes[] fileAttributes = readFileAttributes(filePaths);
+
+        InstallAction[] actions = new InstallAction[filePaths.size()];
+        List<VerificationTarget> verificationTargets = new ArrayList<>();
+        Map<Path, Integer> verificationIndexes = new HashMap<>();
+
+        for (int i = 0; i < filePaths.size(); i++) {
+            DownloadableResource resource = resources.get(filePaths.get(i));
+            BasicFileAttributes attributes = fileAttributes[i];
+
+            if (attributes == null || !attributes.isRegularFile()) {
+                actions[i] = InstallAction.DOWNLOAD;
+            } else if (resource.getExpectedSize().isPresent() && resource.getExpectedSize().getAsLong() != attributes.size()) {
+                actions[i] = InstallAction.REPLACE;
+            } else if (resource instanceof CheckableResource checkableResource) {
+                // Stays planned for replacement unless verification reports the file as valid
+                actions[i] = InstallAction.REPLACE;
+                verificationIndexes.put(filePaths.get(i), i);
+                verificationTargets.add(new VerificationTarget(checkableResource, filePaths.get(i)));
+            } else {
+                actions[i] = InstallAction.UP_TO_DATE;
+            }
+        }
+
+        BulkVerificationResult verificationResult = resourceVerifier.verify(verificationTargets);
+
+        for (FileVerificationResult fileResult : verificationResult.fileResults()) {
+            int index = verificationIndexes.get(fileResult.target().filePath());
+            actions[index] = fileResult.isValid() ? InstallAction.UP_TO_DATE : InstallAction.REPLACE;
+        }
+
+        return createPlan(resources, filePaths, actions, verificationResult);
+    }
+
+    private Map<Path, DownloadableResource> collectResources(ClientConfiguration clientConfiguration) {
+        // Sorted by path, so plans for the same configuration are always in the same order
+        Map<Path, DownloadableResource> resources = new TreeMap<>();
+
+        for (Artifact artifact : clientConfiguration.artifacts()) {
+            if (artifact instanceof DownloadableResource downloadableArtifact)
+                resources.putIfAbsent(layout.getFilePath(downloadableArtifact), downloadableArtifact);
+
+            for (NativeLibrary nativeLibrary : artifact.getDependencies())
+                if (nativeLibrary instanceof DownloadableResource downloadableLibrary && isApplicable(nativeLibrary))
+                    resources.putIfAbsent(layout.getFilePath(downloadableLibrary), downloadableLibrary);
+        }
+
+        return resources;
+    }
+
+    private boolean isApplicable(NativeLibrary nativeLibrary) {
+        return !(nativeLibrary instanceof ConditionalResource conditionalResource)
+                || conditionEvaluator.isApplicable(conditionalResource);
+    }
+
+    private BasicFileAttributes[] readFileAttributes(List<Path> filePaths) throws IOException, InterruptedException {
+        List<Callable<BasicFileAttributes>> tasks = new ArrayList<>(filePaths.size());
+
+        for (Path filePath : filePaths)
+            tasks.add(() -> readFileAttributes(filePath));
+
+        BasicFileAttributes[] fileAttributes = new BasicFileAttributes[filePaths.size()];
+
+        // Metadata lookups block on the file system rather than the CPU, so they overlap on virtual threads
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<BasicFileAttributes>> futures = executorService.invokeAll(tasks);
+
+            for (int i = 0; i < futures.size(); i++)
+                fileAttributes[i] = awaitAttributes(futures.get(i));
+        }
+
+        return fileAttributes;
+    }
+
+    private BasicFileAttributes readFileAttributes(Path filePath) throws IOException {
+        try {
+            return Files.readAttributes(filePath, BasicFileAttributes.class);
+        } catch (NoSuchFileException _) {
+            return null;
+        }
+    }
+
+    private BasicFileAttributes awaitAttributes(Future<BasicFileAttributes> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Reading file attributes was interrupted");
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+
+            if (cause instanceof IOException ioException)
+                throw ioException;
+
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+
+            throw new IOException("Failed to read file attributes", cause);
+        }
+    }
+
+    private InstallPlan createPlan(
+            Map<Path, DownloadableResource> resources,
+            List<Path> filePaths,
+            InstallAction[] actions,
+            BulkVerificationResult verificationResult
+    ) {
+        List<InstallItem> items = new ArrayList<>(filePaths.size());
+
+        int upToDateCount = 0;
+        int downloadCount = 0;
+        int replaceCount = 0;
+        long knownBytesToFetch = 0;
+        int unknownSizeCount = 0;
+
+        for (int i = 0; i < filePaths.size(); i++) {
+            Path filePath = filePaths.get(i);
+            DownloadableResource resource = resources.get(filePath);
+            InstallAction action = actions[i];
+
+            switch (action) {
+                case UP_TO_DATE -> upToDateCount++;
+                case DOWNLOAD -> downloadCount++;
+                case REPLACE -> replaceCount++;
+            }
+
+            if (action == InstallAction.UP_TO_DATE) {
+                items.add(new InstallItem(resource, filePath, action, null));
+                continue;
+            }
+
+            OptionalLong expectedSize = resource.getExpectedSize();
+
+            if (expectedSize.isPresent())
+                knownBytesToFetch += expectedSize.getAsLong();
+            else
+                unknownSizeCount++;
+
+            items.add(new InstallItem(resource, filePath, action, createDownloadRequest(resource, filePath)));
+        }
+
+        InstallSummary summary = new InstallSummary(
+                filePaths.size(),
+                upToDateCount,
+                downloadCount,
+                replaceCount,
+                knownBytesToFetch,
+                unknownSizeCount,
+                verificationResult.fileResults().size(),
+                verificationResult.getBytesVerified()
+        );
+
+        return new InstallPlan(items, summary);
+    }
+
+    private DownloadRequest createDownloadRequest(DownloadableResource resource, Path filePath) {
+        DownloadRequest.Builder downloadRequestBuilder = (repositoryResolver != null && resource instanceof MavenArtifact artifact)
+                ? repositoryResolver.createDownloadRequestBuilder(artifact)
+                : DownloadRequest.builder().withSourceFileUri(resource.getSourceUri());
+
+        return downloadRequestBuilder
+                .withDestinationFilePath(filePath)
+                .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private InstallLayout layout;
+        private ConditionEvaluator conditionEvaluator;
+        private BulkResourceVerifier resourceVerifier;
+        private MavenRepositoryResolver repositoryResolver;
+
+        private Builder() {}
+
+        public Builder withLayout(InstallLayout layout) {
+            this.layout = Objects.requireNonNull(layout, "Install layout must not be null");
+            return this;
+        }
+
+        public Builder withConditionEvaluator(ConditionEvaluator conditionEvaluator) {
+            this.conditionEvaluator = Objects.requireNonNull(conditionEvaluator, "Condition evaluator must not be null");
+            return this;
+        }
+
+        public Builder withResourceVerifier(BulkResourceVerifier resourceVerifier) {
+            this.resourceVerifier = Objects.requireNonNull(resourceVerifier, "Bulk resource verifier must not be null");
+            return this;
+        }
+
+        public Builder withRepositoryResolver(MavenRepositoryResolver repositoryResolver) {
+            this.repositoryResolver = Objects.requireNonNull(repositoryResolver, "Maven repository resolver must not be null");
+            return this;
+        }
+
+        public InstallPlanner build() {
+            if (layout == null)
+                throw new IllegalStateException("Install layout (layout) must be set before building planner");
+
+            if (conditionEvaluator == null)
+                throw new IllegalStateException("Condition evaluator (conditionEvaluator) must be set before building planner");
+
+            if (resourceVerifier == null)
+                throw new IllegalStateException("Bulk resource verifier (resourceVerifier) must be set before building planner");
+
+            return new InstallPlanner(layout, conditionEvaluator, resourceVerifier, repositoryResolver);
+        }
+    }
+}
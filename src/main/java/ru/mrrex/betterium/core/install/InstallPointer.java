@@ -0,0 +1,15 @@
+package ru.mrrex.betterium.core.install;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+public record InstallPointer(
+        @JsonProperty("current") String currentVersion,
+        @JsonProperty("previous") String previousVersion
+) {
+
+    public InstallPointer {
+        Objects.requireNonNull(currentVersion, "Current version must not be null");
+    }
+}
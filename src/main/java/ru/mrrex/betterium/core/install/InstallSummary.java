@@ -0,0 +1,29 @@
+package ru.mrrex.betterium.core.install;
+
+public record InstallSummary(
+        int fileCount,
+        int upToDateCount,
+        int downloadCount,
+        int replaceCount,
+        long knownBytesToFetch,
+        int unknownSizeCount,
+        int verifiedFileCount,
+        long verifiedBytes
+) {
+
+    public InstallSummary {
+        if (fileCount < 0 || upToDateCount < 0 || downloadCount < 0 || replaceCount < 0 || unknownSizeCount < 0 || verifiedFileCount < 0)
+            throw new IllegalArgumentException("File counts must not be negative");
+
+        if (knownBytesToFetch < 0 || verifiedBytes < 0)
+            throw new IllegalArgumentException("Byte counts must not be negative");
+    }
+
+    public int getFetchCount() {
+        return downloadCount + replaceCount;
+    }
+
+    public boolean isUpToDate() {
+        return getFetchCount() == 0;
+    }
+}
@@ -0,0 +1,24 @@
+package ru.mrrex.betterium.core.install;
+
+import ru.mrrex.betterium.core.client.config.ClientConfiguration;
+
+import java.util.Objects;
+
+public record StagedInstall(
+        String versionId,
+        ClientConfiguration clientConfiguration,
+        InstallLayout layout,
+        InstallPlan plan,
+        int linkedFileCount
+) {
+
+    public StagedInstall {
+        Objects.requireNonNull(versionId, "Version identifier must not be null");
+        Objects.requireNonNull(clientConfiguration, "Client configuration must not be null");
+        Objects.requireNonNull(layout, "Install layout must not be null");
+        Objects.requireNonNull(plan, "Install plan must not be null");
+
+        if (linkedFileCount < 0)
+            throw new IllegalArgumentException("Linked file count must not be negative");
+    }
+}
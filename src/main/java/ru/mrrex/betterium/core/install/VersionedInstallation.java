@@ -0,0 +1,237 @@
+package ru.mrrex.betterium.core.install;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.mrrex.betterium.core.client.config.ClientConfiguration;
+import ru.mrrex.betterium.core.install.exception.IncompleteInstallException;
+import ru.mrrex.betterium.core.io.AtomicFiles;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Keeps every install of a client in a directory of its own and selects the current one
+ * through a pointer file. A new version is staged next to the current one: files that did
+ * not change are hard-linked from the current version, so no bytes are copied, and only the
+ * rest is planned for download. Activation verifies the staged version and then replaces
+ * the pointer in a single atomic move, so a running client keeps its version untouched,
+ * a half-finished update is never launched and a rollback is just another pointer switch.
+ */
+public class VersionedInstallation {
+
+    private static final String VERSIONS_DIRECTORY_NAME = "versions";
+    private static final String POINTER_FILE_NAME = "current.json";
+
+    private static final Pattern VERSION_ID_PATTERN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    private final Path rootDirectory;
+    private final Path versionsDirectory;
+    private final Path pointerFilePath;
+
+    private final InstallPlanner installPlanner;
+    private final ObjectMapper objectMapper;
+
+    private VersionedInstallation(Path rootDirectory, InstallPlanner installPlanner) {
+        this.rootDirectory = rootDirectory;
+        this.versionsDirectory = rootDirectory.resolve(VERSIONS_DIRECTORY_NAME);
+        this.pointerFilePath = rootDirectory.resolve(POINTER_FILE_NAME);
+
+        this.installPlanner = installPlanner;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    public Path getRootDirectory() {
+        return rootDirectory;
+    }
+
+    public Optional<String> getCurrentVersion() throws IOException {
+        return readPointer().map(InstallPointer::currentVersion);
+    }
+
+    public Optional<String> getPreviousVersion() throws IOException {
+        return readPointer().map(InstallPointer::previousVersion);
+    }
+
+    public Optional<InstallLayout> getCurrentLayout() throws IOException {
+        return getCurrentVersion().map(this::getLayout);
+    }
+
+    public InstallLayout getLayout(String versionId) {
+        return InstallLayout.of(getVersionDirectory(versionId));
+    }
+
+    public List<String> getVersions() throws IOException {
+        if (!Files.isDirectory(versionsDirectory))
+            return List.of();
+
+        try (Stream<Path> versionDirectories = Files.list(versionsDirectory)) {
+            return versionDirectories
+                    .filter(Files::isDirectory)
+                    .map(versionDirectory -> versionDirectory.getFileName().toString())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    public StagedInstall stage(String versionId, ClientConfiguration clientConfiguration) throws IOException, InterruptedException {
+        Objects.requireNonNull(clientConfiguration, "Client configuration must not be null");
+
+        Optional<String> currentVersion = getCurrentVersion();
+
+        if (currentVersion.filter(versionId::equals).isPresent())
+            throw new IllegalStateException("Version " + versionId + " is current and cannot be staged again");
+
+        Path versionDirectory = getVersionDirectory(versionId);
+        InstallPlanner stagingPlanner = installPlanner.forLayout(InstallLayout.of(versionDirectory));
+
+        Files.createDirectories(versionDirectory);
+
+        int linkedFileCount = 0;
+
+        if (currentVersion.isPresent()) {
+            Path currentDirectory = getVersionDirectory(currentVersion.get());
+
+            for (InstallItem item : stagingPlanner.plan(clientConfiguration).items()) {
+                if (item.action() != InstallAction.DOWNLOAD)
+                    continue;
+
+                Path currentFilePath = currentDirectory.resolve(versionDirectory.relativize(item.filePath()));
+
+                if (Files.isRegularFile(currentFilePath) && link(currentFilePath, item.filePath()))
+                    linkedFileCount++;
+            }
+        }
+
+        // Linked files shared with the current version are verified once more before they are trusted
+        InstallPlan installPlan = stagingPlanner.plan(clientConfiguration);
+
+        return new StagedInstall(versionId, clientConfiguration, stagingPlanner.getLayout(), installPlan, linkedFileCount);
+    }
+
+    public void activate(StagedInstall stagedInstall) throws IOException, InterruptedException {
+        Objects.requireNonNull(stagedInstall, "Staged install must not be null");
+
+        InstallPlan installPlan = installPlanner
+                .forLayout(stagedInstall.layout())
+                .plan(stagedInstall.clientConfiguration());
+
+        if (!installPlan.summary().isUpToDate())
+            throw new IncompleteInstallException(stagedInstall.versionId(), installPlan.summary());
+
+        switchTo(stagedInstall.versionId());
+    }
+
+    public String rollback() throws IOException {
+        InstallPointer pointer = readPointer()
+                .orElseThrow(() -> new IllegalStateException("No version has been activated yet"));
+
+        String previousVersion = pointer.previousVersion();
+
+        if (previousVersion == null || !Files.isDirectory(getVersionDirectory(previousVersion)))
+            throw new IllegalStateException("No previous version is available to roll back to");
+
+        switchTo(previousVersion);
+        return previousVersion;
+    }
+
+    public void removeVersion(String versionId) throws IOException {
+        if (getCurrentVersion().filter(versionId::equals).isPresent())
+            throw new IllegalStateException("Version " + versionId + " is current and cannot be removed");
+
+        Path versionDirectory = getVersionDirectory(versionId);
+
+        if (Files.notExists(versionDirectory))
+            return;
+
+        Files.walkFileTree(versionDirectory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path filePath, BasicFileAttributes attributes) throws IOException {
+                Files.delete(filePath);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exception) throws IOException {
+                if (exception != null)
+                    throw exception;
+
+                Files.delete(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void switchTo(String versionId) throws IOException {
+        String currentVersion = getCurrentVersion().orElse(null);
+
+        if (versionId.equals(currentVersion))
+            return;
+
+        InstallPointer pointer = new InstallPointer(versionId, currentVersion);
+        AtomicFiles.write(pointerFilePath, objectMapper.writeValueAsBytes(pointer));
+    }
+
+    private Optional<InstallPointer> readPointer() throws IOException {
+        if (Files.notExists(pointerFilePath))
+            return Optional.empty();
+
+        return Optional.of(objectMapper.readValue(pointerFilePath.toFile(), InstallPointer.class));
+    }
+
+    private boolean link(Path existingFilePath, Path linkFilePath) throws IOException {
+        Files.createDirectories(linkFilePath.getParent());
+
+        try {
+            Files.createLink(linkFilePath, existingFilePath);
+        } catch (UnsupportedOperationException | IOException _) {
+            // Different file systems or no hard link support, the file is downloaded instead
+            return false;
+        }
+
+        return true;
+    }
+
+    private Path getVersionDirectory(String versionId) {
+        Objects.requireNonNull(versionId, "Version identifier must not be null");
+
+        if (!VERSION_ID_PATTERN.matcher(versionId).matches())
+            throw new IllegalArgumentException("Invalid version identifier: " + versionId);
+
+        return versionsDirectory.resolve(versionId);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private Path rootDirectory;
+        private InstallPlanner installPlanner;
+
+        private Builder() {}
+
+        public Builder withRootDirectory(Path rootDirectory) {
+            this.rootDirectory = Objects.requireNonNull(rootDirectory, "Root directory must not be null");
+            return this;
+        }
+
+        public Builder withInstallPlanner(InstallPlanner installPlanner) {
+            this.installPlanner = Objects.requireNonNull(installPlanner, "Install planner must not be null");
+            return this;
+        }
+
+        public VersionedInstallation build() {
+            if (rootDirectory == null)
+                throw new IllegalStateException("Root directory (rootDirectory) must be set before building installation");
+
+            if (installPlanner == null)
+                throw new IllegalStateException("Install planner (installPlanner) must be set before building installation");
+
+            return new VersionedInstallation(rootDirectory.toAbsolutePath().normalize(), installPlanner);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.mrrex.betterium.core.install.exception;
+
+import ru.mrrex.betterium.core.install.InstallSummary;
+
+public class IncompleteInstallException extends RuntimeException {
+
+    private final String versionId;
+    private final InstallSummary summary;
+
+    public IncompleteInstallException(String message, String versionId, InstallSummary summary) {
+        super(message);
+        this.versionId = versionId;
+        this.summary = summary;
+    }
+
+    public IncompleteInstallException(String versionId, InstallSummary summary) {
+        this("Install of version " + versionId + " is incomplete: " + summary.getFetchCount() + " files are missing or invalid", versionId, summary);
+    }
+
+    public String getVersionId() {
+        return versionId;
+    }
+
+    public InstallSummary getSummary() {
+        return summary;
+    }
+}
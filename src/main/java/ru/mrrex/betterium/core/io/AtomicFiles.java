@@ -0,0 +1,73 @@
+package ru.mrrex.betterium.core.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * Writes files through a temporary sibling that is atomically moved over the target,
+ * so concurrent readers and later runs see either the previous or the complete new content.
+ * The content comes from memory, a copy of another file or a hard link to it.
+ */
+public abstract class AtomicFiles {
+
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private AtomicFiles() {}
+
+    public static void write(Path filePath, byte[] content) throws IOException {
+        Objects.requireNonNull(filePath, "File path must not be null");
+        Objects.requireNonNull(content, "Content must not be null");
+
+        replace(filePath, temporaryFilePath -> Files.write(temporaryFilePath, content));
+    }
+
+    public static void copy(Path sourceFilePath, Path filePath) throws IOException {
+        Objects.requireNonNull(sourceFilePath, "Source file path must not be null");
+        Objects.requireNonNull(filePath, "File path must not be null");
+
+        replace(filePath, temporaryFilePath -> Files.copy(sourceFilePath, temporaryFilePath, StandardCopyOption.REPLACE_EXISTING));
+    }
+
+    /**
+     * Places a hard link to the source file at the target where the file system allows it,
+     * and a copy otherwise.
+     */
+    public static void link(Path sourceFilePath, Path filePath) throws IOException {
+        Objects.requireNonNull(sourceFilePath, "Source file path must not be null");
+        Objects.requireNonNull(filePath, "File path must not be null");
+
+        replace(filePath, temporaryFilePath -> {
+            try {
+                // The link needs a free name, the created temporary file only reserves it
+                Files.delete(temporaryFilePath);
+                Files.createLink(temporaryFilePath, sourceFilePath);
+            } catch (UnsupportedOperationException | IOException _) {
+                // Different file systems or no hard link support
+                Files.copy(sourceFilePath, temporaryFilePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        });
+    }
+
+    private static void replace(Path filePath, TemporaryFileWriter temporaryFileWriter) throws IOException {
+        Path parentPath = filePath.toAbsolutePath().getParent();
+        Files.createDirectories(parentPath);
+
+        Path temporaryFilePath = Files.createTempFile(parentPath, filePath.getFileName().toString(), TEMPORARY_FILE_SUFFIX);
+
+        try {
+            temporaryFileWriter.write(temporaryFilePath);
+            Files.move(temporaryFilePath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFilePath);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TemporaryFileWriter {
+
+        void write(Path temporaryFilePath) throws IOException;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.mrrex.betterium.core.io;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Reads file content as a sequence of {@link ByteBuffer} chunks.
+ * Small files are read through the per-thread {@link ScratchBuffers} buffer, while files
+ * larger than {@link #MAPPING_THRESHOLD} are memory-mapped window by window,
+ * so files over 2 GB are supported and every window is unmapped as soon as
+ * it has been consumed.
+ */
+public abstract class FileContentReader {
+
+    private static final long MAPPING_THRESHOLD = 4L * 1024 * 1024;
+    private static final long MAPPING_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private FileContentReader() {}
+
+    public static long read(Path filePath, Consumer<ByteBuffer> chunkConsumer) throws IOException {
+        Objects.requireNonNull(filePath, "File path must not be null");
+        Objects.requireNonNull(chunkConsumer, "Chunk consumer must not be null");
+
+        try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+
+            if (fileSize >= MAPPING_THRESHOLD)
+                return readMapped(fileChannel, fileSize, chunkConsumer);
+
+            return readBuffered(fileChannel, chunkConsumer);
+        }
+    }
+
+    private static long readMapped(FileChannel fileChannel, long fileSize, Consumer<ByteBuffer> chunkConsumer) throws IOException {
+        long offset = 0;
+
+        while (offset < fileSize) {
+            long windowSize = Math.min(MAPPING_WINDOW_SIZE, fileSize - offset);
+
+            try (Arena arena = Arena.ofConfined()) {
+                MemorySegment window = fileChannel.map(FileChannel.MapMode.READ_ONLY, offset, windowSize, arena);
+                chunkConsumer.accept(window.asByteBuffer());
+            }
+
+            offset += windowSize;
+        }
+
+        return offset;
+    }
+
+    private static long readBuffered(FileChannel fileChannel, Consumer<ByteBuffer> chunkConsumer) throws IOException {
+        ByteBuffer buffer = ScratchBuffers.getByteBuffer();
+        long totalBytesRead = 0;
+        int bytesRead;
+
+        while ((bytesRead = fileChannel.read(buffer)) != -1) {
+            buffer.flip();
+            chunkConsumer.accept(buffer);
+            buffer.clear();
+
+            totalBytesRead += bytesRead;
+        }
+
+        return totalBytesRead;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.mrrex.betterium.core.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Per-thread scratch buffers for short, non-nested read loops.
+ * A buffer obtained here must not be retained after the loop finishes and must not be
+ * used while another caller on the same thread may request it, since every call
+ * returns the same instance for the current thread.
+ */
+public abstract class ScratchBuffers {
+
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> BYTE_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+
+    private ScratchBuffers() {}
+
+    public static ByteBuffer getByteBuffer() {
+        return BYTE_BUFFER.get().clear();
+    }
+
+    public static byte[] getByteArray() {
+        return BYTE_BUFFER.get().array();
+    }
+}
@@ -0,0 +1,38 @@
+package ru.mrrex.betterium.core.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import ru.mrrex.betterium.core.hash.Hash;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class HashMapDeserializer extends JsonDeserializer<Map<HashAlgorithm, Hash>> {
+
+    @Override
+    public Map<HashAlgorithm, Hash> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT)
+            throw new IOException("Expected an object of hash values");
+
+        Map<HashAlgorithm, Hash> hashes = new EnumMap<>(HashAlgorithm.class);
+        String algorithmName;
+
+        while ((algorithmName = p.nextFieldName()) != null) {
+            p.nextToken();
+
+            try {
+                HashAlgorithm algorithm = HashAlgorithm.getByName(algorithmName);
+                hashes.put(algorithm, Hash.fromHex(algorithm, p.getValueAsString("")));
+            } catch (NoSuchAlgorithmException | IllegalArgumentException e) {
+                throw new IOException("Incorrect hash value for '" + algorithmName + "'", e);
+            }
+        }
+
+        return hashes;
+    }
+}
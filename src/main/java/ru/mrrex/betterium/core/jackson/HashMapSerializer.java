@@ -0,0 +1,23 @@
+package ru.mrrex.betterium.core.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import ru.mrrex.betterium.core.hash.Hash;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class HashMapSerializer extends JsonSerializer<Map<HashAlgorithm, Hash>> {
+
+    @Override
+    public void serialize(Map<HashAlgorithm, Hash> value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+
+        for (Map.Entry<HashAlgorithm, Hash> entry : value.entrySet())
+            gen.writeStringField(entry.getKey().toValue(), entry.getValue().toHexString());
+
+        gen.writeEndObject();
+    }
+}
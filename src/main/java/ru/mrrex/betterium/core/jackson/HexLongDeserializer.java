@@ -1,6 +1,7 @@
 package ru.mrrex.betterium.core.jackson;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 
@@ -8,8 +9,14 @@ import java.io.IOException;
 
 public class HexLongDeserializer extends JsonDeserializer<Long> {
 
+    private static final String HEX_PREFIX = "0x";
+
     @Override
     public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        // Numbers are decimal, strings are always hexadecimal as written by HexLongSerializer
+        if (p.currentToken() == JsonToken.VALUE_NUMBER_INT)
+            return p.getLongValue();
+
         String value = p.getValueAsString();
 
         if (value == null || value.trim().isBlank())
@@ -17,14 +24,14 @@ public class HexLongDeserializer extends JsonDeserializer<Long> {
 
         String preparedValue = value.trim();
 
+        if (preparedValue.regionMatches(true, 0, HEX_PREFIX, 0, HEX_PREFIX.length()))
+            preparedValue = preparedValue.substring(HEX_PREFIX.length());
+
         try {
-            return Long.parseLong(preparedValue, 10);
-        } catch (NumberFormatException _) {
-            try {
-                return Long.parseLong(preparedValue, 16);
-            } catch (NumberFormatException e) {
-                throw new IOException("Incorrect HEX number format: '" + value + "'", e);
-            }
+            // 64-bit checksums such as XXH64 use the full unsigned range
+            return Long.parseUnsignedLong(preparedValue, 16);
+        } catch (NumberFormatException e) {
+            throw new IOException("Incorrect HEX number format: '" + value + "'", e);
         }
     }
 }
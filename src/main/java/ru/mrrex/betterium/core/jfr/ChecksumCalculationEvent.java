@@ -0,0 +1,26 @@
+package ru.mrrex.betterium.core.jfr;
+
+import jdk.jfr.*;
+
+@Name("ru.mrrex.betterium.ChecksumCalculation")
+@Label("Checksum Calculation")
+@Category({"Betterium", "Integrity"})
+@Description("Calculation of a non-cryptographic checksum over a resource")
+@StackTrace(false)
+public class ChecksumCalculationEvent extends Event {
+
+    @Label("Algorithm")
+    private String algorithm;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
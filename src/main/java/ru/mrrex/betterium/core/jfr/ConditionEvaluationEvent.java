@@ -0,0 +1,32 @@
+package ru.mrrex.betterium.core.jfr;
+
+import jdk.jfr.*;
+
+@Name("ru.mrrex.betterium.ConditionEvaluation")
+@Label("Condition Evaluation")
+@Category({"Betterium", "Condition"})
+@Description("Evaluation of resource conditions against the environment context")
+@StackTrace(false)
+public class ConditionEvaluationEvent extends Event {
+
+    @Label("Conditions")
+    private String conditions;
+
+    @Label("Validators")
+    private int validatorCount;
+
+    @Label("Applicable")
+    private boolean applicable;
+
+    public void setConditions(String conditions) {
+        this.conditions = conditions;
+    }
+
+    public void setValidatorCount(int validatorCount) {
+        this.validatorCount = validatorCount;
+    }
+
+    public void setApplicable(boolean applicable) {
+        this.applicable = applicable;
+    }
+}
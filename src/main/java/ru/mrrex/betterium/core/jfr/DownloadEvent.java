@@ -0,0 +1,55 @@
+package ru.mrrex.betterium.core.jfr;
+
+import jdk.jfr.*;
+
+@Name("ru.mrrex.betterium.Download")
+@Label("Download")
+@Category({"Betterium", "Download"})
+@Description("Transfer of a single file over HTTP")
+@StackTrace(false)
+public class DownloadEvent extends Event {
+
+    @Label("Source URI")
+    private String sourceUri;
+
+    @Label("Host")
+    private String host;
+
+    @Label("HTTP Status Code")
+    private int statusCode;
+
+    @Label("Wire Bytes")
+    @DataAmount
+    private long wireBytes;
+
+    @Label("Decoded Bytes")
+    @DataAmount
+    private long decodedBytes;
+
+    @Label("Successful")
+    private boolean successful;
+
+    public void setSourceUri(String sourceUri) {
+        this.sourceUri = sourceUri;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public void setWireBytes(long wireBytes) {
+        this.wireBytes = wireBytes;
+    }
+
+    public void setDecodedBytes(long decodedBytes) {
+        this.decodedBytes = decodedBytes;
+    }
+
+    public void setSuccessful(boolean successful) {
+        this.successful = successful;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.mrrex.betterium.core.jfr;
+
+import jdk.jfr.*;
+
+@Name("ru.mrrex.betterium.JavaProcessLaunch")
+@Label("Java Process Launch")
+@Category({"Betterium", "Runtime"})
+@Description("Start of an external Java application process")
+@StackTrace(false)
+public class JavaProcessLaunchEvent extends Event {
+
+    @Label("Main Class")
+    private String mainClass;
+
+    @Label("Classpath Entries")
+    private int classpathEntryCount;
+
+    @Label("Process ID")
+    private long processId;
+
+    @Label("Successful")
+    private boolean successful;
+
+    public void setMainClass(String mainClass) {
+        this.mainClass = mainClass;
+    }
+
+    public void setClasspathEntryCount(int classpathEntryCount) {
+        this.classpathEntryCount = classpathEntryCount;
+    }
+
+    public void setProcessId(long processId) {
+        this.processId = processId;
+    }
+
+    public void setSuccessful(boolean successful) {
+        this.successful = successful;
+    }
+}
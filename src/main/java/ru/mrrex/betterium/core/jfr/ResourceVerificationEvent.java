@@ -0,0 +1,33 @@
+package ru.mrrex.betterium.core.jfr;
+
+import jdk.jfr.*;
+
+@Name("ru.mrrex.betterium.ResourceVerification")
+@Label("Resource Verification")
+@Category({"Betterium", "Integrity"})
+@Description("Single-pass verification of all checksums and hashes declared by a resource")
+@StackTrace(false)
+public class ResourceVerificationEvent extends Event {
+
+    @Label("Algorithms")
+    private String algorithms;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Valid")
+    private boolean valid;
+
+    public void setAlgorithms(String algorithms) {
+        this.algorithms = algorithms;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+}
@@ -0,0 +1,21 @@
+package ru.mrrex.betterium.core.library.extraction;
+
+public record ExtractionResult(
+        int entryCount,
+        int extractedCount,
+        int skippedCount,
+        long extractedBytes
+) {
+
+    public ExtractionResult {
+        if (entryCount < 0 || extractedCount < 0 || skippedCount < 0)
+            throw new IllegalArgumentException("Entry counts must not be negative");
+
+        if (extractedBytes < 0)
+            throw new IllegalArgumentException("Extracted bytes must not be negative");
+    }
+
+    public boolean isUpToDate() {
+        return extractedCount == 0;
+    }
+}
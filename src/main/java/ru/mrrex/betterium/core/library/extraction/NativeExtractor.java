@@ -0,0 +1,247 @@
+package ru.mrrex.betterium.core.library.extraction;
+
+import ru.mrrex.betterium.core.io.ScratchBuffers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Extracts native library archives into a shared directory on a dedicated {@link ForkJoinPool}.
+ * Archives are opened through {@link ZipFile}, which reads entries by random access from the
+ * central directory, and the entries of all archives are extracted in parallel, largest first.
+ * An entry is skipped when the file already extracted for it has the size and CRC-32 recorded
+ * in the central directory. Every file is written to a temporary sibling and atomically moved
+ * into place, so clients launching concurrently from the same directory never observe a
+ * partially written library.
+ */
+public class NativeExtractor implements AutoCloseable {
+
+    private static final String META_INF_DIRECTORY = "META-INF/";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private final int parallelism;
+    private final ExecutorService executorService;
+
+    public NativeExtractor(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be greater than zero");
+
+        this.parallelism = parallelism;
+        this.executorService = new ForkJoinPool(parallelism);
+    }
+
+    public NativeExtractor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ExtractionResult extract(Collection<Path> archivePaths, Path targetDirectory) throws IOException, InterruptedException {
+        Objects.requireNonNull(archivePaths, "Archive paths collection must not be null");
+        Objects.requireNonNull(targetDirectory, "Target directory must not be null");
+
+        Path normalizedTargetDirectory = targetDirectory.toAbsolutePath().normalize();
+        List<ZipFile> zipFiles = new ArrayList<>(archivePaths.size());
+
+        try {
+            for (Path archivePath : archivePaths)
+                zipFiles.add(new ZipFile(archivePath.toFile()));
+
+            List<ExtractionTask> tasks = collectTasks(zipFiles, normalizedTargetDirectory);
+
+            if (tasks.isEmpty())
+                return new ExtractionResult(0, 0, 0, 0);
+
+            AtomicInteger nextTaskIndex = new AtomicInteger(0);
+            AtomicInteger extractedCount = new AtomicInteger(0);
+            AtomicLong extractedBytes = new AtomicLong(0);
+
+            int workerCount = Math.min(parallelism, tasks.size());
+            List<Callable<Void>> workers = new ArrayList<>(workerCount);
+
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(() -> {
+                    int taskIndex;
+
+                    while ((taskIndex = nextTaskIndex.getAndIncrement()) < tasks.size()) {
+                        ExtractionTask task = tasks.get(taskIndex);
+
+                        if (extract(task)) {
+                            extractedCount.incrementAndGet();
+                            extractedBytes.addAndGet(task.entry().getSize());
+                        }
+                    }
+
+                    return null;
+                });
+            }
+
+            for (Future<Void> future : executorService.invokeAll(workers))
+                awaitWorker(future);
+
+            return new ExtractionResult(
+                    tasks.size(),
+                    extractedCount.get(),
+                    tasks.size() - extractedCount.get(),
+                    extractedBytes.get()
+            );
+        } finally {
+            closeZipFiles(zipFiles);
+        }
+    }
+
+    private List<ExtractionTask> collectTasks(List<ZipFile> zipFiles, Path targetDirectory) throws IOException {
+        // The first archive providing a file wins, so the result does not depend on scheduling
+        Map<Path, ExtractionTask> tasks = new LinkedHashMap<>();
+
+        for (ZipFile zipFile : zipFiles) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+
+                if (entry.isDirectory() || entry.getName().startsWith(META_INF_DIRECTORY))
+                    continue;
+
+                Path targetPath = targetDirectory.resolve(entry.getName()).normalize();
+
+                if (!targetPath.startsWith(targetDirectory) || targetPath.equals(targetDirectory))
+                    throw new IOException("Archive entry escapes the target directory: " + entry.getName() + " in " + zipFile.getName());
+
+                tasks.putIfAbsent(targetPath, new ExtractionTask(zipFile, entry, targetPath));
+            }
+        }
+
+        List<ExtractionTask> sortedTasks = new ArrayList<>(tasks.values());
+        sortedTasks.sort(Comparator.comparingLong((ExtractionTask task) -> task.entry().getSize()).reversed());
+
+        return sortedTasks;
+    }
+
+    private boolean extract(ExtractionTask task) throws IOException {
+        if (isExtracted(task))
+            return false;
+
+        Path targetPath = task.targetPath();
+        Path parentPath = targetPath.getParent();
+
+        Files.createDirectories(parentPath);
+
+        Path temporaryFilePath = Files.createTempFile(parentPath, "." + targetPath.getFileName(), TEMPORARY_FILE_SUFFIX);
+
+        try {
+            writeEntry(task, temporaryFilePath);
+
+            try {
+                Files.move(temporaryFilePath, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException exception) {
+                // A library loaded by a running client cannot be replaced on some platforms,
+                // which is fine when another client has already extracted the same content
+                if (isExtracted(task))
+                    return false;
+
+                throw exception;
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFilePath);
+        }
+
+        return true;
+    }
+
+    private void writeEntry(ExtractionTask task, Path filePath) throws IOException {
+        ZipEntry entry = task.entry();
+
+        try (CheckedInputStream inputStream = new CheckedInputStream(task.zipFile().getInputStream(entry), new CRC32());
+             OutputStream outputStream = Files.newOutputStream(filePath, StandardOpenOption.TRUNCATE_EXISTING)
+        ) {
+            inputStream.transferTo(outputStream);
+
+            if (entry.getCrc() != -1 && inputStream.getChecksum().getValue() != entry.getCrc())
+                throw new IOException("CRC-32 mismatch for archive entry " + entry.getName() + " in " + task.zipFile().getName());
+        }
+    }
+
+    private boolean isExtracted(ExtractionTask task) throws IOException {
+        ZipEntry entry = task.entry();
+
+        if (entry.getSize() == -1 || entry.getCrc() == -1)
+            return false;
+
+        try (FileChannel fileChannel = FileChannel.open(task.targetPath(), StandardOpenOption.READ)) {
+            if (fileChannel.size() != entry.getSize())
+                return false;
+
+            return calculateCrc(fileChannel) == entry.getCrc();
+        } catch (NoSuchFileException _) {
+            return false;
+        }
+    }
+
+    private long calculateCrc(FileChannel fileChannel) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ScratchBuffers.getByteBuffer();
+
+        while (fileChannel.read(buffer.clear()) != -1) {
+            buffer.flip();
+            crc.update(buffer);
+        }
+
+        return crc.getValue();
+    }
+
+    private void closeZipFiles(List<ZipFile> zipFiles) throws IOException {
+        IOException closeException = null;
+
+        for (ZipFile zipFile : zipFiles) {
+            try {
+                zipFile.close();
+            } catch (IOException exception) {
+                if (closeException == null)
+                    closeException = exception;
+                else
+                    closeException.addSuppressed(exception);
+            }
+        }
+
+        if (closeException != null)
+            throw closeException;
+    }
+
+    private void awaitWorker(Future<Void> future) throws IOException, InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+
+            if (cause instanceof IOException ioException)
+                throw ioException;
+
+            if (cause instanceof RuntimeException runtimeException)
+                throw runtimeException;
+
+            throw new IllegalStateException("Native extraction failed", cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.close();
+    }
+
+    private record ExtractionTask(ZipFile zipFile, ZipEntry entry, Path targetPath) {}
+}
@@ -1,11 +1,15 @@
 package ru.mrrex.betterium.core.library.implementation;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.Hash;
 import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.jackson.HashMapDeserializer;
+import ru.mrrex.betterium.core.jackson.HashMapSerializer;
 import ru.mrrex.betterium.core.jackson.HexLongDeserializer;
 import ru.mrrex.betterium.core.jackson.HexLongSerializer;
 import ru.mrrex.betterium.core.library.NativeLibrary;
@@ -20,13 +24,18 @@ public record RemoteNativeLibrary(
         @JsonProperty("source_uri")
         URI sourceUri,
 
+        @JsonProperty("size")
+        Long size,
+
         @JsonProperty("checksums")
         @JsonSerialize(contentUsing = HexLongSerializer.class)
         @JsonDeserialize(contentUsing = HexLongDeserializer.class)
         Map<ChecksumAlgorithm, Long> checksums,
 
         @JsonProperty("hashes")
-        Map<HashAlgorithm, String> hashes,
+        @JsonSerialize(using = HashMapSerializer.class)
+        @JsonDeserialize(using = HashMapDeserializer.class)
+        Map<HashAlgorithm, Hash> hashes,
 
         @JsonProperty("conditions")
         Map<String, String> conditions
@@ -36,6 +45,9 @@ public record RemoteNativeLibrary(
     public RemoteNativeLibrary {
         Objects.requireNonNull(sourceUri, "Source URI (sourceUri) must not be null");
 
+        if (size != null && size < 0)
+            throw new IllegalArgumentException("Size must not be negative");
+
         checksums = (checksums != null)
                 ? Map.copyOf(checksums)
                 : Collections.emptyMap();
@@ -54,13 +66,19 @@ public record RemoteNativeLibrary(
         return sourceUri;
     }
 
+    @Override
+    @JsonIgnore
+    public OptionalLong getExpectedSize() {
+        return (size != null) ? OptionalLong.of(size) : OptionalLong.empty();
+    }
+
     @Override
     public Map<ChecksumAlgorithm, Long> getChecksums() {
         return Map.copyOf(checksums);
     }
 
     @Override
-    public Map<HashAlgorithm, String> getHashes() {
+    public Map<HashAlgorithm, Hash> getHashes() {
         return Map.copyOf(hashes);
     }
 
@@ -76,9 +94,10 @@ public record RemoteNativeLibrary(
     public static class Builder {
 
         private URI sourceUri;
+        private Long size;
 
         private final Map<ChecksumAlgorithm, Long> checksums = new EnumMap<>(ChecksumAlgorithm.class);
-        private final Map<HashAlgorithm, String> hashes = new EnumMap<>(HashAlgorithm.class);
+        private final Map<HashAlgorithm, Hash> hashes = new EnumMap<>(HashAlgorithm.class);
 
         private final Map<String, String> conditions = new HashMap<>();
 
@@ -89,6 +108,11 @@ public record RemoteNativeLibrary(
             return this;
         }
 
+        public Builder withSize(long size) {
+            this.size = size;
+            return this;
+        }
+
         public Builder withChecksums(Map<ChecksumAlgorithm, Long> checksums) {
             Objects.requireNonNull(checksums, "Checksums map must not be null");
             this.checksums.putAll(checksums);
@@ -105,14 +129,21 @@ public record RemoteNativeLibrary(
 
         public Builder withHashes(Map<HashAlgorithm, String> hashes) {
             Objects.requireNonNull(hashes, "Hash map must not be null");
-            this.hashes.putAll(hashes);
+            hashes.forEach(this::withHash);
 
             return this;
         }
 
         public Builder withHash(HashAlgorithm algorithm, String hashValue) {
             Objects.requireNonNull(algorithm, "Hash algorithm must not be null");
-            this.hashes.put(algorithm, hashValue);
+            this.hashes.put(algorithm, Hash.fromHex(algorithm, hashValue));
+
+            return this;
+        }
+
+        public Builder withHash(Hash hash) {
+            Objects.requireNonNull(hash, "Hash must not be null");
+            this.hashes.put(hash.getAlgorithm(), hash);
 
             return this;
         }
@@ -139,6 +170,7 @@ public record RemoteNativeLibrary(
 
             return new RemoteNativeLibrary(
                     sourceUri,
+                    size,
                     checksums,
                     hashes,
                     conditions
@@ -1,6 +1,7 @@
 package ru.mrrex.betterium.core.resource;
 
 import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.Hash;
 import ru.mrrex.betterium.core.hash.HashAlgorithm;
 
 import java.util.Map;
@@ -8,5 +9,5 @@ import java.util.Map;
 public interface CheckableResource {
 
     Map<ChecksumAlgorithm, Long> getChecksums();
-    Map<HashAlgorithm, String> getHashes();
+    Map<HashAlgorithm, Hash> getHashes();
 }
@@ -1,8 +1,11 @@
 package ru.mrrex.betterium.core.resource;
 
 import java.net.URI;
+import java.util.OptionalLong;
 
 public interface DownloadableResource {
 
     URI getSourceUri();
+
+    OptionalLong getExpectedSize();
 }
@@ -1,5 +1,7 @@
 package ru.mrrex.betterium.core.runtime;
 
+import ru.mrrex.betterium.core.jfr.JavaProcessLaunchEvent;
+
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -48,10 +50,58 @@ public class JavaProcessExecutor {
         if (configuration.classpathEntries().isEmpty())
             throw new IllegalStateException("Classpath entries list cannot be empty");
 
-        List<String> commandLineArguments = buildCommandLineArguments(configuration);
-        ProcessBuilder processBuilder = javaRuntime.createProcessBuilder(commandLineArguments);
+        JavaProcessLaunchEvent launchEvent = new JavaProcessLaunchEvent();
+        launchEvent.begin();
+
+        Process process = null;
+
+        try {
+            List<String> commandLineArguments = buildCommandLineArguments(configuration);
+            ProcessBuilder processBuilder = javaRuntime.createProcessBuilder(commandLineArguments);
+
+            process = processBuilder.start();
+            return process;
+        } finally {
+            commitLaunchEvent(launchEvent, configuration, process);
+        }
+    }
+
+    /**
+     * Commits the flight recorder event describing the process launch, if the
+     * event is enabled and exceeds the configured threshold.
+     *
+     * @param launchEvent The event started before the process was launched.
+     * @param configuration The Java application configuration.
+     * @param process The started process, or {@code null} if the launch failed.
+     */
+    private void commitLaunchEvent(JavaProcessLaunchEvent launchEvent, JavaApplicationConfiguration configuration, Process process) {
+        launchEvent.end();
+
+        if (!launchEvent.shouldCommit())
+            return;
+
+        launchEvent.setMainClass(configuration.mainClass());
+        launchEvent.setClasspathEntryCount(configuration.classpathEntries().size());
+        launchEvent.setSuccessful(process != null);
 
-        return processBuilder.start();
+        if (process != null)
+            launchEvent.setProcessId(getProcessId(process));
+
+        launchEvent.commit();
+    }
+
+    /**
+     * Gets the native process identifier, if the platform supports it.
+     *
+     * @param process The started process.
+     * @return The process identifier, or {@code -1} if it is not available.
+     */
+    private long getProcessId(Process process) {
+        try {
+            return process.pid();
+        } catch (UnsupportedOperationException _) {
+            return -1;
+        }
     }
 
     /**
@@ -0,0 +1,137 @@
+package ru.mrrex.betterium.core.verification;
+
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.checksum.ChecksumCalculatorFactory;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.hash.HashCalculatorFactory;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.zip.Checksum;
+
+/**
+ * Relative cost of integrity algorithms in nanoseconds per byte.
+ * {@link #defaults()} holds typical figures for current x86-64 and AArch64 JVMs with
+ * CRC and SHA intrinsics, while {@link #measure()} times every algorithm on this machine,
+ * which is worth doing once per process when ranking must reflect the actual hardware.
+ * Each algorithm is warmed up until its timings stabilise before it is measured, since
+ * the pure-Java ones are many times slower until compiled; an algorithm that does not
+ * stabilise within its budget keeps its default cost.
+ */
+public class AlgorithmCostModel {
+
+    private static final int MEASUREMENT_BUFFER_SIZE = 1024 * 1024;
+    private static final int MEASUREMENT_ROUNDS = 5;
+
+    private static final int STABLE_WARM_UP_ROUNDS = 10;
+    private static final long STABLE_WARM_UP_NANOS = 200_000_000L;
+    private static final double SIGNIFICANT_IMPROVEMENT = 0.95;
+    private static final long WARM_UP_BUDGET_NANOS = 1_000_000_000L;
+
+    private static final AlgorithmCostModel DEFAULT_MODEL = new AlgorithmCostModel(Map.ofEntries(
+            Map.entry(VerificationAlgorithm.of(ChecksumAlgorithm.CRC32C), 0.1),
+            Map.entry(VerificationAlgorithm.of(ChecksumAlgorithm.CRC32), 0.12),
+            Map.entry(VerificationAlgorithm.of(ChecksumAlgorithm.XXH3), 0.2),
+            Map.entry(VerificationAlgorithm.of(ChecksumAlgorithm.XXH64), 0.2),
+            Map.entry(VerificationAlgorithm.of(ChecksumAlgorithm.ADLER32), 0.25),
+            Map.entry(VerificationAlgorithm.of(HashAlgorithm.SHA1), 1.0),
+            Map.entry(VerificationAlgorithm.of(HashAlgorithm.SHA512), 1.5),
+            Map.entry(VerificationAlgorithm.of(HashAlgorithm.MD5), 1.6),
+            Map.entry(VerificationAlgorithm.of(HashAlgorithm.SHA256), 2.0)
+    ));
+
+    private final Map<VerificationAlgorithm, Double> nanosPerByte;
+
+    public AlgorithmCostModel(Map<VerificationAlgorithm, Double> nanosPerByte) {
+        Objects.requireNonNull(nanosPerByte, "Algorithm costs map must not be null");
+        this.nanosPerByte = Map.copyOf(nanosPerByte);
+    }
+
+    public static AlgorithmCostModel defaults() {
+        return DEFAULT_MODEL;
+    }
+
+    public static AlgorithmCostModel measure() throws NoSuchAlgorithmException {
+        byte[] data = new byte[MEASUREMENT_BUFFER_SIZE];
+        new Random(0).nextBytes(data);
+
+        Map<VerificationAlgorithm, Double> nanosPerByte = new HashMap<>();
+
+        for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+            Checksum checksum = ChecksumCalculatorFactory.createChecksum(algorithm);
+            measure(data, () -> {
+                checksum.reset();
+                checksum.update(data, 0, data.length);
+            }, VerificationAlgorithm.of(algorithm), nanosPerByte);
+        }
+
+        for (HashAlgorithm algorithm : HashAlgorithm.values()) {
+            MessageDigest messageDigest = HashCalculatorFactory.createMessageDigest(algorithm);
+            measure(data, () -> messageDigest.digest(data), VerificationAlgorithm.of(algorithm), nanosPerByte);
+        }
+
+        return new AlgorithmCostModel(nanosPerByte);
+    }
+
+    public double getNanosPerByte(VerificationAlgorithm algorithm) {
+        Objects.requireNonNull(algorithm, "Verification algorithm must not be null");
+
+        Double cost = nanosPerByte.get(algorithm);
+
+        if (cost != null)
+            return cost;
+
+        return DEFAULT_MODEL.nanosPerByte.getOrDefault(algorithm, Double.MAX_VALUE);
+    }
+
+    private static void measure(byte[] data, Runnable calculation, VerificationAlgorithm algorithm,
+                                Map<VerificationAlgorithm, Double> nanosPerByte) {
+        if (!warmUp(calculation))
+            return;
+
+        long bestDuration = Long.MAX_VALUE;
+
+        // The best of several rounds filters out scheduling noise
+        for (int i = 0; i < MEASUREMENT_ROUNDS; i++)
+            bestDuration = Math.min(bestDuration, time(calculation));
+
+        nanosPerByte.put(algorithm, (double) bestDuration / data.length);
+    }
+
+    private static boolean warmUp(Runnable calculation) {
+        long startTime = System.nanoTime();
+        long stableSince = startTime;
+        long bestDuration = Long.MAX_VALUE;
+        int stableRounds = 0;
+
+        // A plateau only counts once it outlasts a pending JIT compilation, otherwise the
+        // intermediate tier would be measured
+        while (stableRounds < STABLE_WARM_UP_ROUNDS || System.nanoTime() - stableSince < STABLE_WARM_UP_NANOS) {
+            if (System.nanoTime() - startTime > WARM_UP_BUDGET_NANOS)
+                return false;
+
+            long duration = time(calculation);
+
+            if (duration < bestDuration * SIGNIFICANT_IMPROVEMENT) {
+                stableRounds = 0;
+                stableSince = System.nanoTime();
+            } else {
+                stableRounds++;
+            }
+
+            bestDuration = Math.min(bestDuration, duration);
+        }
+
+        return true;
+    }
+
+    private static long time(Runnable calculation) {
+        long startTime = System.nanoTime();
+        calculation.run();
+        return System.nanoTime() - startTime;
+    }
+}
@@ -0,0 +1,8 @@
+package ru.mrrex.betterium.core.verification;
+
+public enum AlgorithmStrength {
+
+    ERROR_DETECTION,
+    BROKEN_CRYPTOGRAPHIC,
+    CRYPTOGRAPHIC
+}
@@ -0,0 +1,133 @@
+package ru.mrrex.betterium.core.verification;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies many resources in parallel on a dedicated {@link ForkJoinPool}.
+ * Files are dispatched largest first from a shared queue, so the biggest files
+ * start early and small ones fill the gaps, which avoids a single straggler
+ * dominating the total time. Every worker uses its own {@link ResourceVerifier},
+ * all of them sharing the optional {@link VerificationCache}.
+ */
+public class BulkResourceVerifier implements AutoCloseable {
+
+    private final int parallelism;
+    private final ExecutorService executorService;
+    private final VerificationCache verificationCache;
+
+    public BulkResourceVerifier(int parallelism, VerificationCache verificationCache) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be greater than zero");
+
+        this.parallelism = parallelism;
+        this.executorService = new ForkJoinPool(parallelism);
+        this.verificationCache = verificationCache;
+    }
+
+    public BulkResourceVerifier(int parallelism) {
+        this(parallelism, null);
+    }
+
+    public BulkResourceVerifier() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BulkVerificationResult verify(Collection<VerificationTarget> targets, boolean isAbortOnMismatch) throws InterruptedException {
+        Objects.requireNonNull(targets, "Verification targets collection must not be null");
+
+        List<VerificationTarget> targetList = List.copyOf(targets);
+
+        if (targetList.isEmpty())
+            return new BulkVerificationResult(List.of(), 0);
+
+        Integer[] dispatchOrder = getLargestFirstOrder(targetList);
+        FileVerificationResult[] fileResults = new FileVerificationResult[targetList.size()];
+
+        AtomicInteger nextPosition = new AtomicInteger(0);
+        AtomicBoolean isAborted = new AtomicBoolean(false);
+
+        int workerCount = Math.min(parallelism, targetList.size());
+        List<Callable<Void>> workers = new ArrayList<>(workerCount);
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(() -> {
+                ResourceVerifier resourceVerifier = new ResourceVerifier(verificationCache);
+                int position;
+
+                while (!isAborted.get() && (position = nextPosition.getAndIncrement()) < dispatchOrder.length) {
+                    int index = dispatchOrder[position];
+                    FileVerificationResult fileResult = verify(resourceVerifier, targetList.get(index));
+
+                    fileResults[index] = fileResult;
+
+                    if (isAbortOnMismatch && !fileResult.isValid())
+                        isAborted.set(true);
+                }
+
+                return null;
+            });
+        }
+
+        executorService.invokeAll(workers);
+
+        List<FileVerificationResult> completedResults = new ArrayList<>(fileResults.length);
+
+        for (FileVerificationResult fileResult : fileResults)
+            if (fileResult != null)
+                completedResults.add(fileResult);
+
+        return new BulkVerificationResult(completedResults, fileResults.length - completedResults.size());
+    }
+
+    public BulkVerificationResult verify(Collection<VerificationTarget> targets) throws InterruptedException {
+        return verify(targets, false);
+    }
+
+    private FileVerificationResult verify(ResourceVerifier resourceVerifier, VerificationTarget target) {
+        try {
+            return FileVerificationResult.success(
+                    target,
+                    resourceVerifier.verify(target.resource(), target.filePath())
+            );
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException exception) {
+            // Anything escaping here would end the worker and leave its remaining targets unreported
+            return FileVerificationResult.failure(target, exception);
+        }
+    }
+
+    private Integer[] getLargestFirstOrder(List<VerificationTarget> targets) {
+        long[] fileSizes = new long[targets.size()];
+        Integer[] order = new Integer[targets.size()];
+
+        for (int i = 0; i < targets.size(); i++) {
+            fileSizes[i] = getFileSize(targets.get(i).filePath());
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (first, second) -> Long.compare(fileSizes[second], fileSizes[first]));
+
+        return order;
+    }
+
+    private long getFileSize(Path filePath) {
+        try {
+            return Files.size(filePath);
+        } catch (IOException _) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.close();
+    }
+}
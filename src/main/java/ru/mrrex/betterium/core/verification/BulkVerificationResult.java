@@ -0,0 +1,49 @@
+package ru.mrrex.betterium.core.verification;
+
+import java.util.List;
+import java.util.Objects;
+
+public record BulkVerificationResult(
+        List<FileVerificationResult> fileResults,
+        int skippedCount
+) {
+
+    public BulkVerificationResult {
+        Objects.requireNonNull(fileResults, "File verification results list must not be null");
+
+        if (skippedCount < 0)
+            throw new IllegalArgumentException("Skipped files count must not be negative");
+
+        fileResults = List.copyOf(fileResults);
+    }
+
+    public boolean isComplete() {
+        return skippedCount == 0;
+    }
+
+    public boolean isValid() {
+        if (!isComplete())
+            return false;
+
+        for (FileVerificationResult fileResult : fileResults)
+            if (!fileResult.isValid())
+                return false;
+
+        return true;
+    }
+
+    public List<FileVerificationResult> getInvalidResults() {
+        return fileResults.stream()
+                .filter(fileResult -> !fileResult.isValid())
+                .toList();
+    }
+
+    public long getBytesVerified() {
+        long bytesVerified = 0;
+
+        for (FileVerificationResult fileResult : fileResults)
+            bytesVerified += fileResult.getBytesVerified();
+
+        return bytesVerified;
+    }
+}
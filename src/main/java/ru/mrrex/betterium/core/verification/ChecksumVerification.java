@@ -0,0 +1,20 @@
+package ru.mrrex.betterium.core.verification;
+
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+
+import java.util.Objects;
+
+public record ChecksumVerification(
+        ChecksumAlgorithm algorithm,
+        long expectedValue,
+        long actualValue
+) {
+
+    public ChecksumVerification {
+        Objects.requireNonNull(algorithm, "Checksum algorithm must not be null");
+    }
+
+    public boolean isMatching() {
+        return expectedValue == actualValue;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.mrrex.betterium.core.verification;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public record FileIdentity(long size, long lastModifiedNanos, String fileKey) {
+
+    public FileIdentity {
+        Objects.requireNonNull(fileKey, "File key must not be null");
+    }
+
+    public static FileIdentity of(Path filePath) throws IOException {
+        Objects.requireNonNull(filePath, "File path must not be null");
+
+        BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+        Object fileKey = attributes.fileKey();
+
+        return new FileIdentity(
+                attributes.size(),
+                attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+                (fileKey != null) ? fileKey.toString() : ""
+        );
+    }
+}
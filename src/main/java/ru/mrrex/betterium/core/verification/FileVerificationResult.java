@@ -0,0 +1,33 @@
+package ru.mrrex.betterium.core.verification;
+
+import java.util.Objects;
+
+public record FileVerificationResult(
+        VerificationTarget target,
+        VerificationResult verificationResult,
+        Exception exception
+) {
+
+    public FileVerificationResult {
+        Objects.requireNonNull(target, "Verification target must not be null");
+
+        if ((verificationResult == null) == (exception == null))
+            throw new IllegalArgumentException("Exactly one of verification result or exception must be set");
+    }
+
+    public static FileVerificationResult success(VerificationTarget target, VerificationResult verificationResult) {
+        return new FileVerificationResult(target, verificationResult, null);
+    }
+
+    public static FileVerificationResult failure(VerificationTarget target, Exception exception) {
+        return new FileVerificationResult(target, null, exception);
+    }
+
+    public boolean isValid() {
+        return verificationResult != null && verificationResult.isValid();
+    }
+
+    public long getBytesVerified() {
+        return (verificationResult != null) ? verificationResult.bytesVerified() : 0;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.mrrex.betterium.core.verification;
+
+import ru.mrrex.betterium.core.hash.Hash;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+
+import java.util.Objects;
+
+public record HashVerification(
+        HashAlgorithm algorithm,
+        Hash expectedHash,
+        Hash actualHash
+) {
+
+    public HashVerification {
+        Objects.requireNonNull(algorithm, "Hash algorithm must not be null");
+        Objects.requireNonNull(expectedHash, "Expected hash must not be null");
+        Objects.requireNonNull(actualHash, "Actual hash must not be null");
+
+        if (expectedHash.getAlgorithm() != algorithm || actualHash.getAlgorithm() != algorithm)
+            throw new IllegalArgumentException("Hash algorithms do not match verified algorithm");
+    }
+
+    public boolean isMatching() {
+        return expectedHash.matches(actualHash);
+    }
+}
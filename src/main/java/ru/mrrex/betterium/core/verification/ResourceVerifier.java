@@ -0,0 +1,255 @@
+package ru.mrrex.betterium.core.verification;
+
+import ru.mrrex.betterium.core.calculator.CalculatorLease;
+import ru.mrrex.betterium.core.calculator.CalculatorPool;
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.checksum.ChecksumCalculator;
+import ru.mrrex.betterium.core.hash.Hash;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.hash.HashCalculator;
+import ru.mrrex.betterium.core.io.FileContentReader;
+import ru.mrrex.betterium.core.io.ScratchBuffers;
+import ru.mrrex.betterium.core.jfr.ResourceVerificationEvent;
+import ru.mrrex.betterium.core.resource.CheckableResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Verifies a {@link CheckableResource} against its content in a single pass:
+ * every buffer read from the source is fed to all declared checksums and
+ * message digests, so the cost is one read regardless of the number of algorithms.
+ * Calculators are borrowed from a {@link CalculatorPool} for the duration of one verification.
+ * <p>
+ * When a {@link VerificationCache} is supplied, files whose identity is unchanged since
+ * they were last verified against the same expectations are trusted without being read.
+ * A resource without declared algorithms is never read, but its file must still exist.
+ */
+public class ResourceVerifier {
+
+    private final VerificationCache verificationCache;
+    private final CalculatorPool calculatorPool;
+
+    public ResourceVerifier(VerificationCache verificationCache, CalculatorPool calculatorPool) {
+        this.verificationCache = verificationCache;
+        this.calculatorPool = Objects.requireNonNull(calculatorPool, "Calculator pool must not be null");
+    }
+
+    public ResourceVerifier(VerificationCache verificationCache) {
+        this(verificationCache, CalculatorPool.getShared());
+    }
+
+    public ResourceVerifier() {
+        this(null);
+    }
+
+    public VerificationResult verify(CheckableResource resource, Path filePath) throws IOException, NoSuchAlgorithmException {
+        Objects.requireNonNull(resource, "Checkable resource must not be null");
+        Objects.requireNonNull(filePath, "File path must not be null");
+
+        if (resource.getChecksums().isEmpty() && resource.getHashes().isEmpty()) {
+            requireRegularFile(filePath);
+            return new VerificationResult(Map.of(), Map.of(), 0, false);
+        }
+
+        if (verificationCache == null)
+            return verify(resource, chunkConsumer -> FileContentReader.read(filePath, chunkConsumer));
+
+        // Identity is captured before reading so that a concurrent modification invalidates the entry
+        FileIdentity fileIdentity = FileIdentity.of(filePath);
+
+        if (verificationCache.isTrusted(resource, filePath, fileIdentity))
+            return createCachedResult(resource);
+
+        VerificationResult verificationResult = verify(resource, chunkConsumer -> FileContentReader.read(filePath, chunkConsumer));
+
+        if (verificationResult.isValid())
+            verificationCache.record(resource, filePath, fileIdentity);
+        else
+            verificationCache.invalidate(filePath);
+
+        return verificationResult;
+    }
+
+    public VerificationResult verify(CheckableResource resource, InputStream inputStream) throws IOException, NoSuchAlgorithmException {
+        Objects.requireNonNull(resource, "Checkable resource must not be null");
+        Objects.requireNonNull(inputStream, "Input stream must not be null");
+
+        return verify(resource, chunkConsumer -> read(inputStream, chunkConsumer));
+    }
+
+    static void requireRegularFile(Path filePath) throws NoSuchFileException {
+        if (!Files.isRegularFile(filePath))
+            throw new NoSuchFileException(filePath.toString());
+    }
+
+    private VerificationResult verify(CheckableResource resource, ContentReader contentReader) throws IOException, NoSuchAlgorithmException {
+        Map<ChecksumAlgorithm, Long> expectedChecksums = resource.getChecksums();
+        Map<HashAlgorithm, Hash> expectedHashes = resource.getHashes();
+
+        if (expectedChecksums.isEmpty() && expectedHashes.isEmpty())
+            return new VerificationResult(Map.of(), Map.of(), 0, false);
+
+        ResourceVerificationEvent verificationEvent = new ResourceVerificationEvent();
+        verificationEvent.begin();
+
+        List<CalculatorLease<?>> leases = new ArrayList<>();
+        VerificationResult verificationResult;
+
+        try {
+            Map<ChecksumAlgorithm, ChecksumCalculator> checksumCalculators = acquireChecksumCalculators(expectedChecksums, leases);
+            Map<HashAlgorithm, HashCalculator> hashCalculators = acquireHashCalculators(expectedHashes, leases);
+
+            long bytesVerified = contentReader.read(chunk -> update(chunk, checksumCalculators.values(), hashCalculators.values()));
+
+            verificationResult = new VerificationResult(
+                    collectChecksumVerifications(expectedChecksums, checksumCalculators),
+                    collectHashVerifications(expectedHashes, hashCalculators),
+                    bytesVerified,
+                    false
+            );
+        } finally {
+            leases.forEach(CalculatorLease::close);
+        }
+
+        verificationEvent.end();
+
+        if (verificationEvent.shouldCommit()) {
+            verificationEvent.setAlgorithms(expectedChecksums.keySet() + " " + expectedHashes.keySet());
+            verificationEvent.setBytes(verificationResult.bytesVerified());
+            verificationEvent.setValid(verificationResult.isValid());
+            verificationEvent.commit();
+        }
+
+        return verificationResult;
+    }
+
+    VerificationCache getVerificationCache() {
+        return verificationCache;
+    }
+
+    ResourceVerifier withoutCache() {
+        return (verificationCache != null) ? new ResourceVerifier(null, calculatorPool) : this;
+    }
+
+    static VerificationResult createCachedResult(CheckableResource resource) {
+        Map<ChecksumAlgorithm, ChecksumVerification> checksumVerifications = new EnumMap<>(ChecksumAlgorithm.class);
+        Map<HashAlgorithm, HashVerification> hashVerifications = new EnumMap<>(HashAlgorithm.class);
+
+        resource.getChecksums().forEach((algorithm, expectedValue) -> checksumVerifications.put(
+                algorithm,
+                new ChecksumVerification(algorithm, expectedValue, expectedValue)
+        ));
+
+        resource.getHashes().forEach((algorithm, expectedHash) -> hashVerifications.put(
+                algorithm,
+                new HashVerification(algorithm, expectedHash, expectedHash)
+        ));
+
+        return new VerificationResult(checksumVerifications, hashVerifications, 0, true);
+    }
+
+    private long read(InputStream inputStream, Consumer<ByteBuffer> chunkConsumer) throws IOException {
+        byte[] buffer = ScratchBuffers.getByteArray();
+        long totalBytesRead = 0;
+        int bytesRead;
+
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            chunkConsumer.accept(ByteBuffer.wrap(buffer, 0, bytesRead));
+            totalBytesRead += bytesRead;
+        }
+
+        return totalBytesRead;
+    }
+
+    private void update(ByteBuffer chunk, Iterable<ChecksumCalculator> checksumCalculators, Iterable<HashCalculator> hashCalculators) {
+        int position = chunk.position();
+
+        for (ChecksumCalculator checksumCalculator : checksumCalculators) {
+            chunk.position(position);
+            checksumCalculator.update(chunk);
+        }
+
+        for (HashCalculator hashCalculator : hashCalculators) {
+            chunk.position(position);
+            hashCalculator.update(chunk);
+        }
+    }
+
+    private Map<ChecksumAlgorithm, ChecksumCalculator> acquireChecksumCalculators(
+            Map<ChecksumAlgorithm, Long> expectedChecksums,
+            List<CalculatorLease<?>> leases
+    ) {
+        Map<ChecksumAlgorithm, ChecksumCalculator> checksumCalculators = new EnumMap<>(ChecksumAlgorithm.class);
+
+        for (ChecksumAlgorithm algorithm : expectedChecksums.keySet()) {
+            CalculatorLease<ChecksumCalculator> lease = calculatorPool.acquireChecksumCalculator(algorithm);
+
+            leases.add(lease);
+            checksumCalculators.put(algorithm, lease.get());
+        }
+
+        return checksumCalculators;
+    }
+
+    private Map<HashAlgorithm, HashCalculator> acquireHashCalculators(
+            Map<HashAlgorithm, Hash> expectedHashes,
+            List<CalculatorLease<?>> leases
+    ) throws NoSuchAlgorithmException {
+        Map<HashAlgorithm, HashCalculator> hashCalculators = new EnumMap<>(HashAlgorithm.class);
+
+        for (HashAlgorithm algorithm : expectedHashes.keySet()) {
+            CalculatorLease<HashCalculator> lease = calculatorPool.acquireHashCalculator(algorithm);
+
+            leases.add(lease);
+            hashCalculators.put(algorithm, lease.get());
+        }
+
+        return hashCalculators;
+    }
+
+    private Map<ChecksumAlgorithm, ChecksumVerification> collectChecksumVerifications(
+            Map<ChecksumAlgorithm, Long> expectedChecksums,
+            Map<ChecksumAlgorithm, ChecksumCalculator> checksumCalculators
+    ) {
+        Map<ChecksumAlgorithm, ChecksumVerification> verifications = new EnumMap<>(ChecksumAlgorithm.class);
+
+        checksumCalculators.forEach((algorithm, checksumCalculator) -> verifications.put(
+                algorithm,
+                new ChecksumVerification(algorithm, expectedChecksums.get(algorithm), checksumCalculator.finish())
+        ));
+
+        return verifications;
+    }
+
+    private Map<HashAlgorithm, HashVerification> collectHashVerifications(
+            Map<HashAlgorithm, Hash> expectedHashes,
+            Map<HashAlgorithm, HashCalculator> hashCalculators
+    ) {
+        Map<HashAlgorithm, HashVerification> verifications = new EnumMap<>(HashAlgorithm.class);
+
+        hashCalculators.forEach((algorithm, hashCalculator) -> verifications.put(
+                algorithm,
+                new HashVerification(algorithm, expectedHashes.get(algorithm), hashCalculator.finish())
+        ));
+
+        return verifications;
+    }
+
+    @FunctionalInterface
+    private interface ContentReader {
+
+        long read(Consumer<ByteBuffer> chunkConsumer) throws IOException;
+    }
+}
@@ -0,0 +1,8 @@
+package ru.mrrex.betterium.core.verification;
+
+public enum TrustLevel {
+
+    QUICK,
+    STRONG,
+    FULL
+}
@@ -0,0 +1,41 @@
+package ru.mrrex.betterium.core.verification;
+
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+
+public record VerificationAlgorithm(
+        ChecksumAlgorithm checksumAlgorithm,
+        HashAlgorithm hashAlgorithm
+) {
+
+    public VerificationAlgorithm {
+        if ((checksumAlgorithm == null) == (hashAlgorithm == null))
+            throw new IllegalArgumentException("Exactly one of checksum or hash algorithm must be set");
+    }
+
+    public static VerificationAlgorithm of(ChecksumAlgorithm checksumAlgorithm) {
+        return new VerificationAlgorithm(checksumAlgorithm, null);
+    }
+
+    public static VerificationAlgorithm of(HashAlgorithm hashAlgorithm) {
+        return new VerificationAlgorithm(null, hashAlgorithm);
+    }
+
+    public boolean isChecksum() {
+        return checksumAlgorithm != null;
+    }
+
+    public AlgorithmStrength getStrength() {
+        if (isChecksum())
+            return AlgorithmStrength.ERROR_DETECTION;
+
+        return switch (hashAlgorithm) {
+            case MD5, SHA1 -> AlgorithmStrength.BROKEN_CRYPTOGRAPHIC;
+            case SHA256, SHA512 -> AlgorithmStrength.CRYPTOGRAPHIC;
+        };
+    }
+
+    public String getName() {
+        return isChecksum() ? checksumAlgorithm.toValue() : hashAlgorithm.toValue();
+    }
+}
@@ -0,0 +1,343 @@
+package ru.mrrex.betterium.core.verification;
+
+import ru.mrrex.betterium.core.resource.CheckableResource;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Persistent record of files that have already passed verification.
+ * Each entry binds an absolute path to its {@link FileIdentity} and to a fingerprint
+ * of the checksums and hashes it was verified against, so an unchanged file can be
+ * trusted with a single {@code stat} call instead of reading its content.
+ * <p>
+ * Entries are stored in an append-only log of length-prefixed, CRC-protected records;
+ * later records override earlier ones, a record without a fingerprint is a tombstone
+ * left by {@link #invalidate(Path)} and a torn tail left by a crashed process is ignored.
+ * Appends and compaction are serialized between processes through an exclusive lock
+ * on a sibling {@code .lock} file.
+ */
+public class VerificationCache implements AutoCloseable {
+
+    private static final int LOG_MAGIC = 0x42565243;
+    private static final int LOG_VERSION = 1;
+
+    private static final String LOCK_FILE_SUFFIX = ".lock";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+
+    private static final int MAX_RECORD_LENGTH = 1024 * 1024;
+    private static final int COMPACTION_RATIO = 2;
+
+    private static final long RACY_MODIFICATION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private static final FileIdentity TOMBSTONE_IDENTITY = new FileIdentity(-1, -1, "");
+    private static final byte[] TOMBSTONE_FINGERPRINT = new byte[0];
+
+    private final Path logFilePath;
+    private final Path lockFilePath;
+
+    private final Map<String, Entry> entries;
+    private final Queue<Entry> pendingEntries;
+
+    private int loggedRecordCount;
+    private boolean isLogDamaged;
+
+    private VerificationCache(Path logFilePath) {
+        this.logFilePath = logFilePath;
+        this.lockFilePath = logFilePath.resolveSibling(logFilePath.getFileName() + LOCK_FILE_SUFFIX);
+
+        this.entries = new ConcurrentHashMap<>();
+        this.pendingEntries = new ConcurrentLinkedQueue<>();
+    }
+
+    public static VerificationCache open(Path logFilePath) throws IOException {
+        Objects.requireNonNull(logFilePath, "Log file path must not be null");
+
+        VerificationCache verificationCache = new VerificationCache(logFilePath.toAbsolutePath());
+        verificationCache.load();
+
+        return verificationCache;
+    }
+
+    public boolean isTrusted(CheckableResource resource, Path filePath, FileIdentity fileIdentity) {
+        Objects.requireNonNull(resource, "Checkable resource must not be null");
+        Objects.requireNonNull(fileIdentity, "File identity must not be null");
+
+        Entry entry = entries.get(toKey(filePath));
+
+        return entry != null
+                && entry.fileIdentity().equals(fileIdentity)
+                && Arrays.equals(entry.fingerprint(), createFingerprint(resource));
+    }
+
+    public boolean isTrusted(CheckableResource resource, Path filePath) throws IOException {
+        return isTrusted(resource, filePath, FileIdentity.of(filePath));
+    }
+
+    public void record(CheckableResource resource, Path filePath, FileIdentity fileIdentity) {
+        Objects.requireNonNull(resource, "Checkable resource must not be null");
+        Objects.requireNonNull(fileIdentity, "File identity must not be null");
+
+        // A file modified within the timestamp granularity may change again without its identity changing
+        long modificationAge = System.currentTimeMillis() * 1_000_000L - fileIdentity.lastModifiedNanos();
+
+        if (modificationAge < RACY_MODIFICATION_INTERVAL_NANOS)
+            return;
+
+        Entry entry = new Entry(toKey(filePath), fileIdentity, createFingerprint(resource));
+
+        entries.put(entry.path(), entry);
+        pendingEntries.add(entry);
+    }
+
+    public void invalidate(Path filePath) {
+        String key = toKey(filePath);
+
+        // The tombstone keeps a record already in the log, possibly from another process, from being trusted again
+        entries.remove(key);
+        pendingEntries.add(new Entry(key, TOMBSTONE_IDENTITY, TOMBSTONE_FINGERPRINT));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public synchronized void flush() throws IOException {
+        if (pendingEntries.isEmpty())
+            return;
+
+        // Records appended after a damaged tail would be unreachable, so the log is rewritten instead
+        if (isLogDamaged) {
+            compact();
+            return;
+        }
+
+        List<Entry> entriesToAppend = drainPendingEntries();
+
+        try (FileChannel lockChannel = openLockChannel(); FileLock _ = lockChannel.lock()) {
+            boolean isNewLog = !Files.exists(logFilePath) || Files.size(logFilePath) == 0;
+
+            try (OutputStream outputStream = Files.newOutputStream(logFilePath, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                 DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream))
+            ) {
+                if (isNewLog)
+                    writeHeader(dataOutputStream);
+
+                for (Entry entryToAppend : entriesToAppend)
+                    writeRecord(dataOutputStream, entryToAppend);
+            }
+        }
+
+        loggedRecordCount += entriesToAppend.size();
+
+        if (loggedRecordCount > COMPACTION_RATIO * Math.max(entries.size(), 1))
+            compact();
+    }
+
+    public synchronized void compact() throws IOException {
+        Path temporaryFilePath = logFilePath.resolveSibling(logFilePath.getFileName() + TEMPORARY_FILE_SUFFIX);
+
+        try (FileChannel lockChannel = openLockChannel(); FileLock _ = lockChannel.lock()) {
+            // The log holds everything flushed by this and other processes, only pending records are missing
+            Map<String, Entry> mergedEntries = readLog();
+
+            for (Entry entry : drainPendingEntries())
+                apply(mergedEntries, entry);
+
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFilePath);
+                 DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(outputStream))
+            ) {
+                writeHeader(dataOutputStream);
+
+                for (Entry entry : mergedEntries.values())
+                    writeRecord(dataOutputStream, entry);
+            }
+
+            Files.move(temporaryFilePath, logFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            entries.clear();
+            entries.putAll(mergedEntries);
+            loggedRecordCount = mergedEntries.size();
+            isLogDamaged = false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void load() throws IOException {
+        entries.putAll(readLog());
+    }
+
+    private Map<String, Entry> readLog() throws IOException {
+        Map<String, Entry> loadedEntries = new HashMap<>();
+
+        if (!Files.exists(logFilePath))
+            return loadedEntries;
+
+        int recordCount = 0;
+        boolean isDamaged = true;
+
+        try (InputStream inputStream = Files.newInputStream(logFilePath);
+             DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(inputStream))
+        ) {
+            if (dataInputStream.readInt() != LOG_MAGIC || dataInputStream.readInt() != LOG_VERSION)
+                return loadedEntries;
+
+            Entry entry;
+
+            while ((entry = readRecord(dataInputStream)) != null) {
+                apply(loadedEntries, entry);
+                recordCount++;
+            }
+
+            isDamaged = dataInputStream.read() != -1;
+        } catch (EOFException _) {
+            // Empty or truncated header, the log will be rewritten on the next flush
+        }
+
+        loggedRecordCount = recordCount;
+        isLogDamaged = isDamaged;
+
+        return loadedEntries;
+    }
+
+    private List<Entry> drainPendingEntries() {
+        List<Entry> drainedEntries = new ArrayList<>();
+        Entry entry;
+
+        while ((entry = pendingEntries.poll()) != null)
+            drainedEntries.add(entry);
+
+        return drainedEntries;
+    }
+
+    private static void apply(Map<String, Entry> entryMap, Entry entry) {
+        if (entry.isTombstone())
+            entryMap.remove(entry.path());
+        else
+            entryMap.put(entry.path(), entry);
+    }
+
+    private void writeHeader(DataOutputStream dataOutputStream) throws IOException {
+        dataOutputStream.writeInt(LOG_MAGIC);
+        dataOutputStream.writeInt(LOG_VERSION);
+    }
+
+    private void writeRecord(DataOutputStream dataOutputStream, Entry entry) throws IOException {
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream recordOutputStream = new DataOutputStream(recordBytes)) {
+            recordOutputStream.writeUTF(entry.path());
+            recordOutputStream.writeLong(entry.fileIdentity().size());
+            recordOutputStream.writeLong(entry.fileIdentity().lastModifiedNanos());
+            recordOutputStream.writeUTF(entry.fileIdentity().fileKey());
+            recordOutputStream.writeByte(entry.fingerprint().length);
+            recordOutputStream.write(entry.fingerprint());
+        }
+
+        byte[] payload = recordBytes.toByteArray();
+
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(payload);
+
+        dataOutputStream.writeInt(payload.length);
+        dataOutputStream.write(payload);
+        dataOutputStream.writeInt((int) crc32c.getValue());
+    }
+
+    private Entry readRecord(DataInputStream dataInputStream) throws IOException {
+        dataInputStream.mark(MAX_RECORD_LENGTH + 2 * Integer.BYTES);
+
+        try {
+            int payloadLength = dataInputStream.readInt();
+
+            if (payloadLength < 1 || payloadLength > MAX_RECORD_LENGTH) {
+                dataInputStream.reset();
+                return null;
+            }
+
+            byte[] payload = new byte[payloadLength];
+            dataInputStream.readFully(payload);
+
+            CRC32C crc32c = new CRC32C();
+            crc32c.update(payload);
+
+            if (dataInputStream.readInt() != (int) crc32c.getValue()) {
+                dataInputStream.reset();
+                return null;
+            }
+
+            DataInputStream recordInputStream = new DataInputStream(new ByteArrayInputStream(payload));
+
+            String path = recordInputStream.readUTF();
+            FileIdentity fileIdentity = new FileIdentity(
+                    recordInputStream.readLong(),
+                    recordInputStream.readLong(),
+                    recordInputStream.readUTF()
+            );
+
+            byte[] fingerprint = new byte[recordInputStream.readUnsignedByte()];
+            recordInputStream.readFully(fingerprint);
+
+            return new Entry(path, fileIdentity, fingerprint);
+        } catch (EOFException _) {
+            // Torn record at the end of the log, rewound so that the caller can detect it
+            dataInputStream.reset();
+            return null;
+        }
+    }
+
+    private FileChannel openLockChannel() throws IOException {
+        return FileChannel.open(lockFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private static String toKey(Path filePath) {
+        Objects.requireNonNull(filePath, "File path must not be null");
+        return filePath.toAbsolutePath().normalize().toString();
+    }
+
+    private static byte[] createFingerprint(CheckableResource resource) {
+        StringBuilder expectations = new StringBuilder();
+
+        new TreeMap<>(resource.getChecksums()).forEach((algorithm, value) -> expectations
+                .append(algorithm.toValue())
+                .append('=')
+                .append(Long.toHexString(value))
+                .append(';'));
+
+        new TreeMap<>(resource.getHashes()).forEach((algorithm, value) -> expectations
+                .append(algorithm.toValue())
+                .append('=')
+                .append(value.toHexString())
+                .append(';'));
+
+        try {
+            return MessageDigest.getInstance(FINGERPRINT_ALGORITHM)
+                    .digest(expectations.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Fingerprint algorithm is not available: " + FINGERPRINT_ALGORITHM, exception);
+        }
+    }
+
+    private record Entry(String path, FileIdentity fileIdentity, byte[] fingerprint) {
+
+        boolean isTombstone() {
+            return fingerprint.length == 0;
+        }
+    }
+}
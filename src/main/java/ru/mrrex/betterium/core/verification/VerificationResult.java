@@ -0,0 +1,39 @@
+package ru.mrrex.betterium.core.verification;
+
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+
+import java.util.Map;
+import java.util.Objects;
+
+public record VerificationResult(
+        Map<ChecksumAlgorithm, ChecksumVerification> checksums,
+        Map<HashAlgorithm, HashVerification> hashes,
+        long bytesVerified,
+        boolean cached
+) {
+
+    public VerificationResult {
+        Objects.requireNonNull(checksums, "Checksum verifications map must not be null");
+        Objects.requireNonNull(hashes, "Hash verifications map must not be null");
+
+        checksums = Map.copyOf(checksums);
+        hashes = Map.copyOf(hashes);
+    }
+
+    public boolean isEmpty() {
+        return checksums.isEmpty() && hashes.isEmpty();
+    }
+
+    public boolean isValid() {
+        for (ChecksumVerification verification : checksums.values())
+            if (!verification.isMatching())
+                return false;
+
+        for (HashVerification verification : hashes.values())
+            if (!verification.isMatching())
+                return false;
+
+        return true;
+    }
+}
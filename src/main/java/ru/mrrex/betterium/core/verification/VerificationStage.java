@@ -0,0 +1,36 @@
+package ru.mrrex.betterium.core.verification;
+
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.Hash;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.resource.CheckableResource;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Subset of a resource's declared checks that is computed in one pass over the content.
+ */
+public record VerificationStage(
+        Map<ChecksumAlgorithm, Long> checksums,
+        Map<HashAlgorithm, Hash> hashes
+) implements CheckableResource {
+
+    public VerificationStage {
+        Objects.requireNonNull(checksums, "Checksums map must not be null");
+        Objects.requireNonNull(hashes, "Hashes map must not be null");
+
+        checksums = Map.copyOf(checksums);
+        hashes = Map.copyOf(hashes);
+    }
+
+    @Override
+    public Map<ChecksumAlgorithm, Long> getChecksums() {
+        return checksums;
+    }
+
+    @Override
+    public Map<HashAlgorithm, Hash> getHashes() {
+        return hashes;
+    }
+}
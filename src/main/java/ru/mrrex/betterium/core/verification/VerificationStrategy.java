@@ -0,0 +1,215 @@
+package ru.mrrex.betterium.core.verification;
+
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.Hash;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.resource.CheckableResource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Chooses which of a resource's declared checks to compute, and in which order,
+ * according to a {@link TrustLevel}:
+ * <ul>
+ *     <li>{@link TrustLevel#QUICK} computes only the cheapest declared algorithm;</li>
+ *     <li>{@link TrustLevel#STRONG} computes the cheapest algorithm of the strongest declared {@link AlgorithmStrength};</li>
+ *     <li>{@link TrustLevel#FULL} computes every declared algorithm.</li>
+ * </ul>
+ * With the prefilter enabled, the cheapest declared algorithm runs in a pass of its own
+ * before the selected expensive ones, so a corrupt file is rejected without computing
+ * the expensive digest at the price of one extra cheap pass over a valid file.
+ * Stages are executed by a {@link ResourceVerifier}; a {@link VerificationCache} attached
+ * to it is consulted and updated once per file, keyed by all selected algorithms together,
+ * so an unchanged file that passed every stage before is trusted without being read.
+ */
+public class VerificationStrategy {
+
+    private final TrustLevel trustLevel;
+    private final boolean prefilterEnabled;
+    private final AlgorithmCostModel costModel;
+
+    private VerificationStrategy(TrustLevel trustLevel, boolean prefilterEnabled, AlgorithmCostModel costModel) {
+        this.trustLevel = trustLevel;
+        this.prefilterEnabled = prefilterEnabled;
+        this.costModel = costModel;
+    }
+
+    public TrustLevel getTrustLevel() {
+        return trustLevel;
+    }
+
+    public boolean isPrefilterEnabled() {
+        return prefilterEnabled;
+    }
+
+    public List<VerificationStage> plan(CheckableResource resource) {
+        Objects.requireNonNull(resource, "Checkable resource must not be null");
+
+        List<VerificationAlgorithm> declaredAlgorithms = getDeclaredAlgorithms(resource);
+
+        if (declaredAlgorithms.isEmpty())
+            return List.of();
+
+        declaredAlgorithms.sort(Comparator
+                .comparingDouble(costModel::getNanosPerByte)
+                .thenComparing(VerificationAlgorithm::getName));
+
+        VerificationAlgorithm cheapestAlgorithm = declaredAlgorithms.getFirst();
+        List<VerificationAlgorithm> selectedAlgorithms = selectAlgorithms(declaredAlgorithms);
+
+        if (!prefilterEnabled || selectedAlgorithms.equals(List.of(cheapestAlgorithm)))
+            return List.of(createStage(resource, selectedAlgorithms));
+
+        List<VerificationAlgorithm> remainingAlgorithms = new ArrayList<>(selectedAlgorithms);
+        remainingAlgorithms.remove(cheapestAlgorithm);
+
+        return List.of(
+                createStage(resource, List.of(cheapestAlgorithm)),
+                createStage(resource, remainingAlgorithms)
+        );
+    }
+
+    public VerificationResult verify(ResourceVerifier resourceVerifier, CheckableResource resource, Path filePath) throws IOException, NoSuchAlgorithmException {
+        Objects.requireNonNull(resourceVerifier, "Resource verifier must not be null");
+        Objects.requireNonNull(filePath, "File path must not be null");
+
+        List<VerificationStage> stages = plan(resource);
+        VerificationCache verificationCache = resourceVerifier.getVerificationCache();
+
+        if (stages.isEmpty())
+            ResourceVerifier.requireRegularFile(filePath);
+
+        if (verificationCache == null || stages.isEmpty())
+            return verifyStages(resourceVerifier, stages, filePath);
+
+        // Entries recorded per stage would overwrite each other, so the cache only sees the combined checks
+        VerificationStage selectedChecks = combine(stages);
+        FileIdentity fileIdentity = FileIdentity.of(filePath);
+
+        if (verificationCache.isTrusted(selectedChecks, filePath, fileIdentity))
+            return ResourceVerifier.createCachedResult(selectedChecks);
+
+        VerificationResult verificationResult = verifyStages(resourceVerifier.withoutCache(), stages, filePath);
+
+        if (verificationResult.isValid())
+            verificationCache.record(selectedChecks, filePath, fileIdentity);
+        else
+            verificationCache.invalidate(filePath);
+
+        return verificationResult;
+    }
+
+    private VerificationResult verifyStages(ResourceVerifier resourceVerifier, List<VerificationStage> stages, Path filePath) throws IOException, NoSuchAlgorithmException {
+        Map<ChecksumAlgorithm, ChecksumVerification> checksumVerifications = new EnumMap<>(ChecksumAlgorithm.class);
+        Map<HashAlgorithm, HashVerification> hashVerifications = new EnumMap<>(HashAlgorithm.class);
+
+        long bytesVerified = 0;
+        boolean isCached = true;
+
+        for (VerificationStage stage : stages) {
+            VerificationResult stageResult = resourceVerifier.verify(stage, filePath);
+
+            checksumVerifications.putAll(stageResult.checksums());
+            hashVerifications.putAll(stageResult.hashes());
+
+            bytesVerified += stageResult.bytesVerified();
+            isCached &= stageResult.cached();
+
+            if (!stageResult.isValid())
+                break;
+        }
+
+        return new VerificationResult(checksumVerifications, hashVerifications, bytesVerified, isCached && !stages.isEmpty());
+    }
+
+    private VerificationStage combine(List<VerificationStage> stages) {
+        Map<ChecksumAlgorithm, Long> checksums = new EnumMap<>(ChecksumAlgorithm.class);
+        Map<HashAlgorithm, Hash> hashes = new EnumMap<>(HashAlgorithm.class);
+
+        for (VerificationStage stage : stages) {
+            checksums.putAll(stage.checksums());
+            hashes.putAll(stage.hashes());
+        }
+
+        return new VerificationStage(checksums, hashes);
+    }
+
+    private List<VerificationAlgorithm> selectAlgorithms(List<VerificationAlgorithm> sortedAlgorithms) {
+        return switch (trustLevel) {
+            case QUICK -> List.of(sortedAlgorithms.getFirst());
+            case STRONG -> {
+                AlgorithmStrength strongestStrength = sortedAlgorithms.stream()
+                        .map(VerificationAlgorithm::getStrength)
+                        .max(Comparator.naturalOrder())
+                        .orElseThrow();
+
+                yield sortedAlgorithms.stream()
+                        .filter(algorithm -> algorithm.getStrength() == strongestStrength)
+                        .limit(1)
+                        .toList();
+            }
+            case FULL -> sortedAlgorithms;
+        };
+    }
+
+    private List<VerificationAlgorithm> getDeclaredAlgorithms(CheckableResource resource) {
+        List<VerificationAlgorithm> algorithms = new ArrayList<>();
+
+        for (ChecksumAlgorithm algorithm : resource.getChecksums().keySet())
+            algorithms.add(VerificationAlgorithm.of(algorithm));
+
+        for (HashAlgorithm algorithm : resource.getHashes().keySet())
+            algorithms.add(VerificationAlgorithm.of(algorithm));
+
+        return algorithms;
+    }
+
+    private VerificationStage createStage(CheckableResource resource, List<VerificationAlgorithm> algorithms) {
+        Map<ChecksumAlgorithm, Long> checksums = new EnumMap<>(ChecksumAlgorithm.class);
+        Map<HashAlgorithm, Hash> hashes = new EnumMap<>(HashAlgorithm.class);
+
+        for (VerificationAlgorithm algorithm : algorithms) {
+            if (algorithm.isChecksum())
+                checksums.put(algorithm.checksumAlgorithm(), resource.getChecksums().get(algorithm.checksumAlgorithm()));
+            else
+                hashes.put(algorithm.hashAlgorithm(), resource.getHashes().get(algorithm.hashAlgorithm()));
+        }
+
+        return new VerificationStage(checksums, hashes);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private TrustLevel trustLevel = TrustLevel.STRONG;
+        private boolean prefilterEnabled = true;
+        private AlgorithmCostModel costModel = AlgorithmCostModel.defaults();
+
+        private Builder() {}
+
+        public Builder withTrustLevel(TrustLevel trustLevel) {
+            this.trustLevel = Objects.requireNonNull(trustLevel, "Trust level must not be null");
+            return this;
+        }
+
+        public Builder withPrefilterEnabled(boolean prefilterEnabled) {
+            this.prefilterEnabled = prefilterEnabled;
+            return this;
+        }
+
+        public Builder withCostModel(AlgorithmCostModel costModel) {
+            this.costModel = Objects.requireNonNull(costModel, "Algorithm cost model must not be null");
+            return this;
+        }
+
+        public VerificationStrategy build() {
+            return new VerificationStrategy(trustLevel, prefilterEnabled, costModel);
+        }
+    }
+}
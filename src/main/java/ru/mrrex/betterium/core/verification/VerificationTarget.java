@@ -0,0 +1,14 @@
+package ru.mrrex.betterium.core.verification;
+
+import ru.mrrex.betterium.core.resource.CheckableResource;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+public record VerificationTarget(CheckableResource resource, Path filePath) {
+
+    public VerificationTarget {
+        Objects.requireNonNull(resource, "Checkable resource must not be null");
+        Objects.requireNonNull(filePath, "File path must not be null");
+    }
+}
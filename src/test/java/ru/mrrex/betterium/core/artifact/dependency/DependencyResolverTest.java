@@ -0,0 +1,373 @@
+package ru.mrrex.betterium.core.artifact.dependency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.artifact.dependency.exception.DependencyResolutionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link DependencyResolver} class, verifying POM inheritance,
+ * dependency management, scope and exclusion handling, version mediation,
+ * caching of resolution results and recovery from import cycles and failed fetches.
+ */
+@DisplayName("Dependency Resolver Tests")
+class DependencyResolverTest {
+
+    private static final MavenCoordinates APP = MavenCoordinates.parse("com.example:app:1.0");
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<MavenCoordinates, String> poms = new HashMap<>();
+    private final AtomicInteger fetchCount = new AtomicInteger();
+
+    private final PomSource pomSource = coordinates -> {
+        fetchCount.incrementAndGet();
+        String pom = poms.get(coordinates);
+
+        if (pom == null)
+            throw new FileNotFoundException(coordinates.getPomPath());
+
+        return new ByteArrayInputStream(pom.getBytes(StandardCharsets.UTF_8));
+    };
+
+    /**
+     * Verifies that versions are taken from inherited properties, inherited
+     * dependency management and imported BOMs.
+     */
+    @Test
+    @DisplayName("Parents, properties and BOM imports supply versions")
+    void testInheritanceAndManagement() throws IOException {
+        addPom("com.example:parent:3", """
+                <packaging>pom</packaging>
+                <properties><lib.version>2.1</lib.version></properties>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>lib</artifactId><version>${lib.version}</version></dependency>
+                    <dependency><groupId>com.example</groupId><artifactId>bom</artifactId><version>5</version><type>pom</type><scope>import</scope></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        addPom("com.example:bom:5", """
+                <packaging>pom</packaging>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>util</artifactId><version>${project.version}.0</version></dependency>
+                    <dependency><groupId>com.example</groupId><artifactId>lib</artifactId><version>9.9</version></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        addPom("com.example:app:1.0", """
+                <parent><groupId>com.example</groupId><artifactId>parent</artifactId><version>3</version></parent>
+                <dependencies>
+                    <dependency><groupId>${project.groupId}</groupId><artifactId>lib</artifactId></dependency>
+                    <dependency><groupId>com.example</groupId><artifactId>util</artifactId></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:lib:2.1", "");
+        addPom("com.example:util:5.0", "");
+
+        try (DependencyResolver resolver = new DependencyResolver(pomSource)) {
+            assertEquals(
+                    List.of(APP, MavenCoordinates.parse("com.example:lib:2.1"), MavenCoordinates.parse("com.example:util:5.0")),
+                    resolver.resolve(List.of(APP)).artifacts()
+            );
+        }
+    }
+
+    /**
+     * Verifies that a property overridden by a child applies to the managed
+     * versions and to the dependencies it inherits from its parent.
+     */
+    @Test
+    @DisplayName("Child properties apply to inherited declarations")
+    void testChildPropertiesOverrideParent() throws IOException {
+        addPom("com.example:parent:1", """
+                <packaging>pom</packaging>
+                <properties><lib.version>1.0</lib.version></properties>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>lib</artifactId><version>${lib.version}</version></dependency>
+                </dependencies></dependencyManagement>
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>util</artifactId><version>${dep.version}</version></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:app:1.0", """
+                <parent><groupId>com.example</groupId><artifactId>parent</artifactId><version>1</version></parent>
+                <properties><lib.version>2.0</lib.version><dep.version>3.1</dep.version></properties>
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>lib</artifactId></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:lib:2.0", "");
+        addPom("com.example:util:3.1", "");
+
+        try (DependencyResolver resolver = new DependencyResolver(pomSource)) {
+            assertEquals(
+                    List.of(APP, MavenCoordinates.parse("com.example:util:3.1"), MavenCoordinates.parse("com.example:lib:2.0")),
+                    resolver.resolve(List.of(APP)).artifacts()
+            );
+        }
+    }
+
+    /**
+     * Verifies that the dependency management of a root overrides the versions
+     * declared by its transitive dependencies.
+     */
+    @Test
+    @DisplayName("Root management overrides transitive versions")
+    void testRootManagementOverridesTransitiveVersions() throws IOException {
+        addPom("com.example:app:1.0", """
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>x</artifactId><version>3.0</version></dependency>
+                </dependencies></dependencyManagement>
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>lib</artifactId><version>1</version></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:lib:1", """
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>x</artifactId><version>1.0</version></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:x:3.0", "");
+
+        try (DependencyResolver resolver = new DependencyResolver(pomSource)) {
+            assertEquals(
+                    List.of(APP, MavenCoordinates.parse("com.example:lib:1"), MavenCoordinates.parse("com.example:x:3.0")),
+                    resolver.resolve(List.of(APP)).artifacts()
+            );
+        }
+    }
+
+    /**
+     * Verifies that test, provided and optional dependencies are not inherited
+     * and that exclusions apply to the whole subtree below the excluding dependency.
+     */
+    @Test
+    @DisplayName("Scopes, optional dependencies and exclusions are honoured")
+    void testScopesAndExclusions() throws IOException {
+        addPom("com.example:app:1.0", """
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>lib</artifactId><version>1</version>
+                        <exclusions><exclusion><groupId>com.example</groupId><artifactId>excluded</artifactId></exclusion></exclusions>
+                    </dependency>
+                    <dependency><groupId>org.junit</groupId><artifactId>junit</artifactId><version>5</version><scope>test</scope></dependency>
+                    <dependency><groupId>com.example</groupId><artifactId>api</artifactId><version>1</version><scope>provided</scope></dependency>
+                    <dependency><groupId>com.example</groupId><artifactId>extra</artifactId><version>1</version><optional>true</optional></dependency>
+                    <dependency><groupId>com.example</groupId><artifactId>natives</artifactId><version>1</version><classifier>natives-linux</classifier></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:lib:1", """
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>driver</artifactId><version>1</version><scope>runtime</scope></dependency>
+                    <dependency><groupId>com.example</groupId><artifactId>excluded</artifactId><version>1</version></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:driver:1", """
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>excluded</artifactId><version>1</version></dependency>
+                </dependencies>
+                """);
+
+        try (DependencyResolver resolver = new DependencyResolver(pomSource)) {
+            assertEquals(
+                    List.of(APP, MavenCoordinates.parse("com.example:lib:1"), MavenCoordinates.parse("com.example:driver:1")),
+                    resolver.resolve(List.of(APP)).artifacts()
+            );
+        }
+    }
+
+    /**
+     * Verifies that the version declared nearest to the roots wins a conflict.
+     */
+    @Test
+    @DisplayName("Nearest declaration wins version conflicts")
+    void testNearestWins() throws IOException {
+        addPom("com.example:app:1.0", """
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>a</artifactId><version>1</version></dependency>
+                    <dependency><groupId>com.example</groupId><artifactId>b</artifactId><version>1</version></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:a:1", """
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>c</artifactId><version>1</version></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:b:1", """
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>d</artifactId><version>1</version></dependency>
+                    <dependency><groupId>com.example</groupId><artifactId>c</artifactId><version>2</version></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:c:1", "");
+        addPom("com.example:d:1", """
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>a</artifactId><version>7</version></dependency>
+                </dependencies>
+                """);
+
+        try (DependencyResolver resolver = new DependencyResolver(pomSource)) {
+            List<MavenCoordinates> artifacts = resolver.resolve(List.of(APP)).artifacts();
+
+            assertTrue(artifacts.contains(MavenCoordinates.parse("com.example:a:1")));
+            assertTrue(artifacts.contains(MavenCoordinates.parse("com.example:c:1")));
+            assertEquals(5, artifacts.size());
+        }
+    }
+
+    /**
+     * Verifies that a cached resolution is returned without reading any POM.
+     */
+    @Test
+    @DisplayName("Cached resolution skips POM fetches")
+    void testCachedResolution() throws IOException {
+        addPom("com.example:app:1.0", """
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>lib</artifactId><version>1</version></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:lib:1", "");
+
+        DependencyResolution resolution;
+
+        try (DependencyResolver resolver = new DependencyResolver(pomSource, tempDir)) {
+            resolution = resolver.resolve(List.of(APP));
+        }
+
+        poms.clear();
+        fetchCount.set(0);
+
+        try (DependencyResolver resolver = new DependencyResolver(pomSource, tempDir)) {
+            assertEquals(resolution, resolver.resolve(List.of(APP)));
+        }
+
+        assertEquals(0, fetchCount.get());
+        assertEquals(2, resolution.toArtifacts().size());
+    }
+
+    /**
+     * Verifies that BOMs importing each other from different roots fail the resolution
+     * instead of leaving both builds waiting for each other.
+     */
+    @Test
+    @DisplayName("Mutual BOM imports across roots are rejected")
+    void testMutualImportsAcrossRoots() {
+        MavenCoordinates firstBom = MavenCoordinates.parse("com.example:first-bom:1");
+        MavenCoordinates secondBom = MavenCoordinates.parse("com.example:second-bom:1");
+
+        addPom("com.example:first-bom:1", """
+                <packaging>pom</packaging>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>second-bom</artifactId><version>1</version><type>pom</type><scope>import</scope></dependency>
+                </dependencies></dependencyManagement>
+                """);
+        addPom("com.example:second-bom:1", """
+                <packaging>pom</packaging>
+                <dependencyManagement><dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>first-bom</artifactId><version>1</version><type>pom</type><scope>import</scope></dependency>
+                </dependencies></dependencyManagement>
+                """);
+
+        // Both roots are being built before either of them reaches its import
+        CountDownLatch openedLatch = new CountDownLatch(2);
+
+        PomSource concurrentPomSource = coordinates -> {
+            openedLatch.countDown();
+
+            try {
+                openedLatch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+            return pomSource.openPom(coordinates);
+        };
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (DependencyResolver resolver = new DependencyResolver(concurrentPomSource)) {
+                DependencyResolutionException exception = assertThrows(
+                        DependencyResolutionException.class,
+                        () -> resolver.resolve(List.of(firstBom, secondBom))
+                );
+
+                assertTrue(exception.getMessage().startsWith("POM imports itself"));
+            }
+        });
+    }
+
+    /**
+     * Verifies that a failed POM fetch is not cached, so the same resolver
+     * succeeds once the repository answers again.
+     */
+    @Test
+    @DisplayName("Failed POM fetch is retried")
+    void testFailedFetchRetried() throws IOException {
+        addPom("com.example:app:1.0", """
+                <dependencies>
+                    <dependency><groupId>com.example</groupId><artifactId>lib</artifactId><version>1</version></dependency>
+                </dependencies>
+                """);
+        addPom("com.example:lib:1", "");
+
+        AtomicBoolean failing = new AtomicBoolean(true);
+
+        PomSource flakyPomSource = coordinates -> {
+            if (coordinates.artifactId().equals("lib") && failing.getAndSet(false))
+                throw new IOException("Connection reset");
+
+            return pomSource.openPom(coordinates);
+        };
+
+        try (DependencyResolver resolver = new DependencyResolver(flakyPomSource)) {
+            assertThrows(IOException.class, () -> resolver.resolve(List.of(APP)));
+            assertEquals(
+                    List.of(APP, MavenCoordinates.parse("com.example:lib:1")),
+                    resolver.resolve(List.of(APP)).artifacts()
+            );
+        }
+    }
+
+    /**
+     * Verifies that POMs declaring a document type are rejected,
+     * so external entities can never be resolved.
+     */
+    @Test
+    @DisplayName("POM with document type declaration is rejected")
+    void testDoctypeRejected() {
+        String pom = """
+                <?xml version="1.0"?>
+                <!DOCTYPE project [<!ENTITY xxe SYSTEM "file:///etc/passwd">]>
+                <project><artifactId>&xxe;</artifactId></project>
+                """;
+
+        assertThrows(IOException.class, () -> PomParser.parse(new ByteArrayInputStream(pom.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private void addPom(String coordinates, String content) {
+        MavenCoordinates mavenCoordinates = MavenCoordinates.parse(coordinates);
+
+        poms.put(mavenCoordinates, """
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <groupId>%s</groupId>
+                    <artifactId>%s</artifactId>
+                    <version>%s</version>
+                    %s
+                </project>
+                """.formatted(mavenCoordinates.groupId(), mavenCoordinates.artifactId(), mavenCoordinates.version(), content));
+    }
+}
@@ -0,0 +1,122 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.verification.ResourceVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link LocalMavenRepository} class, verifying that only verified
+ * artifacts are served from the local repository and that downloads are written back.
+ */
+@DisplayName("Local Maven Repository Tests")
+class LocalMavenRepositoryTest {
+
+    private static final byte[] CONTENT = "local repository artifact".getBytes();
+
+    @TempDir
+    Path tempDir;
+
+    private LocalMavenRepository localRepository;
+    private MavenArtifact artifact;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        localRepository = new LocalMavenRepository(tempDir.resolve("repository"));
+
+        artifact = createArtifactBuilder()
+                .withHash(HashAlgorithm.SHA256, HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT)))
+                .build();
+    }
+
+    /**
+     * Verifies that a valid local artifact is placed at the destination.
+     */
+    @Test
+    @DisplayName("Verified local artifact is served")
+    void testServeVerifiedArtifact() throws IOException, NoSuchAlgorithmException {
+        Path artifactPath = localRepository.getArtifactPath(artifact);
+        Files.createDirectories(artifactPath.getParent());
+        Files.write(artifactPath, CONTENT);
+
+        Path destinationFilePath = tempDir.resolve("install").resolve("lwjgl.jar");
+
+        assertTrue(localRepository.copyTo(artifact, destinationFilePath));
+        assertArrayEquals(CONTENT, Files.readAllBytes(destinationFilePath));
+    }
+
+    /**
+     * Verifies that a corrupt local artifact is not served.
+     */
+    @Test
+    @DisplayName("Corrupt local artifact is rejected")
+    void testRejectCorruptArtifact() throws IOException, NoSuchAlgorithmException {
+        Path artifactPath = localRepository.getArtifactPath(artifact);
+        Files.createDirectories(artifactPath.getParent());
+        Files.writeString(artifactPath, "tampered");
+
+        Path destinationFilePath = tempDir.resolve("lwjgl.jar");
+
+        assertFalse(localRepository.copyTo(artifact, destinationFilePath));
+        assertFalse(Files.exists(destinationFilePath));
+    }
+
+    /**
+     * Verifies that artifacts without declared checks are served only when
+     * unverified artifacts are explicitly allowed.
+     */
+    @Test
+    @DisplayName("Unverifiable artifact requires explicit permission")
+    void testUnverifiableArtifact() throws IOException, NoSuchAlgorithmException {
+        MavenArtifact unverifiableArtifact = createArtifactBuilder().build();
+
+        Path artifactPath = localRepository.getArtifactPath(unverifiableArtifact);
+        Files.createDirectories(artifactPath.getParent());
+        Files.write(artifactPath, CONTENT);
+
+        LocalMavenRepository permissiveRepository = new LocalMavenRepository(localRepository.getRootDirectory(), new ResourceVerifier(), true);
+
+        assertFalse(localRepository.contains(unverifiableArtifact));
+        assertTrue(permissiveRepository.contains(unverifiableArtifact));
+    }
+
+    /**
+     * Verifies that a valid download is written back into the repository layout once,
+     * while an invalid one is never written.
+     */
+    @Test
+    @DisplayName("Valid download is written back")
+    void testWriteBack() throws IOException, NoSuchAlgorithmException {
+        Path invalidFilePath = tempDir.resolve("invalid.jar");
+        Files.writeString(invalidFilePath, "tampered");
+
+        assertFalse(localRepository.install(artifact, invalidFilePath));
+        assertFalse(Files.exists(localRepository.getArtifactPath(artifact)));
+
+        Path downloadedFilePath = tempDir.resolve("downloaded.jar");
+        Files.write(downloadedFilePath, CONTENT);
+
+        assertTrue(localRepository.install(artifact, downloadedFilePath));
+        assertArrayEquals(CONTENT, Files.readAllBytes(localRepository.getArtifactPath(artifact)));
+        assertFalse(localRepository.install(artifact, downloadedFilePath));
+    }
+
+    private MavenArtifact.Builder createArtifactBuilder() {
+        return MavenArtifact.builder()
+                .withGroupId("org.lwjgl.lwjgl")
+                .withArtifactId("lwjgl")
+                .withVersion("2.9.4");
+    }
+}
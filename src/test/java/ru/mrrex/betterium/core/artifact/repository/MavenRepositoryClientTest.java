@@ -0,0 +1,134 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+import ru.mrrex.betterium.core.download.downloader.http.HttpFileDownloader;
+import ru.mrrex.betterium.core.download.listener.CompositeDownloadCompletionListener;
+import ru.mrrex.betterium.core.download.listener.DownloadCompletionListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link MavenRepositoryClient} class, verifying that fetches and
+ * downloads alike feed the {@link MavenRepositoryRanking} of a shared resolver.
+ */
+@DisplayName("Maven Repository Client Tests")
+class MavenRepositoryClientTest {
+
+    private static final String RELATIVE_PATH = "org/lwjgl/lwjgl/lwjgl/2.9.4/lwjgl-2.9.4.pom";
+    private static final byte[] CONTENT = "<project/>".getBytes();
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer httpServer;
+
+    private MavenRepository emptyRepository;
+    private MavenRepository fullRepository;
+    private MavenRepositoryResolver repositoryResolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        httpServer.createContext("/empty/", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        httpServer.createContext("/full/", this::send);
+        httpServer.start();
+
+        URI baseUri = URI.create("http://127.0.0.1:" + httpServer.getAddress().getPort() + "/");
+
+        emptyRepository = new MavenRepository("empty", baseUri.resolve("empty/"));
+        fullRepository = new MavenRepository("full", baseUri.resolve("full/"));
+        repositoryResolver = new MavenRepositoryResolver(List.of(emptyRepository, fullRepository));
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpServer.stop(0);
+    }
+
+    /**
+     * Verifies that a fetch falling back past a missing file records the miss
+     * and the successful transfer into the resolver's ranking.
+     */
+    @Test
+    @DisplayName("Fetches are recorded into the ranking")
+    void testFetchFeedsRanking() throws IOException {
+        try (MavenRepositoryClient repositoryClient = new MavenRepositoryClient(repositoryResolver)) {
+            assertArrayEquals(CONTENT, repositoryClient.fetch(RELATIVE_PATH));
+        }
+
+        RepositoryStatistics emptyStatistics = repositoryResolver.getRanking().getStatistics(emptyRepository);
+        RepositoryStatistics fullStatistics = repositoryResolver.getRanking().getStatistics(fullRepository);
+
+        assertEquals(1, emptyStatistics.missCount());
+        assertEquals(0, emptyStatistics.failureCount());
+        assertEquals(1, fullStatistics.successCount());
+        assertEquals(List.of(fullRepository, emptyRepository), repositoryResolver.getRanking().rank(repositoryResolver.getRepositories()));
+    }
+
+    /**
+     * Verifies that the resolver combined with an application listener still
+     * receives every download outcome, and so does the application listener.
+     */
+    @Test
+    @DisplayName("Composite listener reports downloads to every listener")
+    void testCompositeListenerFeedsRanking() throws IOException {
+        List<Duration> applicationDurations = new CopyOnWriteArrayList<>();
+
+        DownloadCompletionListener applicationListener = new DownloadCompletionListener() {
+            @Override
+            public void onSuccess(DownloadRequest downloadRequest, Duration downloadDuration) {
+                applicationDurations.add(downloadDuration);
+            }
+
+            @Override
+            public void onFailure(DownloadRequest downloadRequest, Throwable throwable) {}
+        };
+
+        Path destinationFilePath = tempDir.resolve("lwjgl.pom");
+        DownloadRequest downloadRequest = DownloadRequest.builder()
+                .withSourceFileUri(emptyRepository.resolve(RELATIVE_PATH))
+                .withMirrorUris(List.of(fullRepository.resolve(RELATIVE_PATH)))
+                .withDestinationFilePath(destinationFilePath)
+                .build();
+
+        try (HttpFileDownloader fileDownloader = new HttpFileDownloader(1)) {
+            fileDownloader.setDownloadCompletionListener(new CompositeDownloadCompletionListener(applicationListener, repositoryResolver));
+            fileDownloader.enqueue(downloadRequest);
+            fileDownloader.download();
+        }
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(destinationFilePath));
+        assertEquals(1, applicationDurations.size());
+        assertEquals(1, repositoryResolver.getRanking().getStatistics(emptyRepository).missCount());
+        assertEquals(1, repositoryResolver.getRanking().getStatistics(fullRepository).successCount());
+    }
+
+    private void send(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(200, CONTENT.length);
+
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(CONTENT);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+import ru.mrrex.betterium.core.download.downloader.http.HttpStatusException;
+import ru.mrrex.betterium.core.download.metrics.DownloadTimings;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link MavenRepositoryResolver} class, verifying repository
+ * ordering, fallback requests and persistence of the repository ranking.
+ */
+@DisplayName("Maven Repository Resolver Tests")
+class MavenRepositoryResolverTest {
+
+    private static final MavenRepository NEXUS = new MavenRepository("nexus", URI.create("https://nexus.example.com/repository/maven-public"));
+    private static final MavenRepository MIRROR = new MavenRepository("mirror", URI.create("https://mirror.example.com/maven2/"));
+
+    private static final MavenArtifact ARTIFACT = MavenArtifact.builder()
+            .withGroupId("org.lwjgl.lwjgl")
+            .withArtifactId("lwjgl")
+            .withVersion("2.9.4")
+            .build();
+
+    @TempDir
+    Path tempDir;
+
+    private MavenRepositoryResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new MavenRepositoryResolver(List.of(NEXUS, MIRROR, MavenRepository.MAVEN_CENTRAL));
+    }
+
+    /**
+     * Verifies that artifact paths are resolved below the repository base path
+     * even when the configured base URI lacks a trailing slash.
+     */
+    @Test
+    @DisplayName("Artifact path keeps the repository base path")
+    void testResolveKeepsBasePath() {
+        assertEquals(
+                URI.create("https://nexus.example.com/repository/maven-public/org/lwjgl/lwjgl/lwjgl/2.9.4/lwjgl-2.9.4.jar"),
+                NEXUS.resolve(ARTIFACT.getRelativePath())
+        );
+
+        assertEquals(
+                URI.create("https://repo1.maven.org/maven2/org/lwjgl/lwjgl/lwjgl/2.9.4/lwjgl-2.9.4.jar"),
+                ARTIFACT.getSourceUri()
+        );
+    }
+
+    /**
+     * Verifies that unmeasured repositories keep their configured order and become
+     * the source and mirrors of the created download request.
+     */
+    @Test
+    @DisplayName("Download request falls back to remaining repositories")
+    void testDownloadRequestMirrors() {
+        DownloadRequest downloadRequest = resolver.createDownloadRequestBuilder(ARTIFACT)
+                .withDestinationFilePath(tempDir.resolve("lwjgl.jar"))
+                .build();
+
+        assertEquals(NEXUS.resolve(ARTIFACT.getRelativePath()), downloadRequest.sourceFileUri());
+        assertEquals(
+                List.of(MIRROR.resolve(ARTIFACT.getRelativePath()), MavenRepository.MAVEN_CENTRAL.resolve(ARTIFACT.getRelativePath())),
+                downloadRequest.mirrorUris()
+        );
+    }
+
+    /**
+     * Verifies that measured repositories are ordered by estimated download time,
+     * with unexplored repositories tried first.
+     */
+    @Test
+    @DisplayName("Faster repository is ranked first")
+    void testRankingByMeasuredSpeed() {
+        resolver.onSuccess(null, createTimings(NEXUS, Duration.ofMillis(400), Duration.ofSeconds(2)));
+        resolver.onSuccess(null, createTimings(MIRROR, Duration.ofMillis(20), Duration.ofMillis(100)));
+
+        assertEquals(
+                List.of(MavenRepository.MAVEN_CENTRAL, MIRROR, NEXUS),
+                resolver.getRanking().rank(resolver.getRepositories())
+        );
+    }
+
+    /**
+     * Verifies that a repository failing repeatedly is moved behind healthy ones,
+     * while missing artifacts do not count against its health.
+     */
+    @Test
+    @DisplayName("Repeatedly failing repository is ranked last")
+    void testUnhealthyRepositoryRankedLast() {
+        resolver.onSuccess(null, createTimings(MavenRepository.MAVEN_CENTRAL, Duration.ofMillis(300), Duration.ofSeconds(1)));
+        resolver.onSuccess(null, createTimings(NEXUS, Duration.ofMillis(10), Duration.ofMillis(50)));
+        resolver.onSuccess(null, createTimings(MIRROR, Duration.ofMillis(50), Duration.ofMillis(200)));
+
+        URI sourceUri = NEXUS.resolve(ARTIFACT.getRelativePath());
+
+        for (int i = 0; i < 5; i++)
+            resolver.onSourceFailure(null, sourceUri, new HttpStatusException(sourceUri, 404));
+
+        assertEquals(NEXUS, resolver.getRanking().rank(resolver.getRepositories()).getFirst());
+
+        for (int i = 0; i < 3; i++)
+            resolver.onSourceFailure(null, sourceUri, new ConnectException("Connection refused"));
+
+        assertEquals(
+                List.of(MIRROR, MavenRepository.MAVEN_CENTRAL, NEXUS),
+                resolver.getRanking().rank(resolver.getRepositories())
+        );
+    }
+
+    /**
+     * Verifies that a repository answering only with 404 counts as explored,
+     * so it stops being tried first, without being marked unhealthy.
+     */
+    @Test
+    @DisplayName("Missing artifacts explore a repository")
+    void testMissExploresRepository() {
+        resolver.onSuccess(null, createTimings(MIRROR, Duration.ofMillis(50), Duration.ofMillis(200)));
+        resolver.onSuccess(null, createTimings(MavenRepository.MAVEN_CENTRAL, Duration.ofMillis(300), Duration.ofSeconds(1)));
+
+        URI sourceUri = NEXUS.resolve(ARTIFACT.getRelativePath());
+
+        for (int i = 0; i < 5; i++)
+            resolver.onSourceFailure(null, sourceUri, new HttpStatusException(sourceUri, 404, Duration.ofMillis(15)));
+
+        RepositoryStatistics statistics = resolver.getRanking().getStatistics(NEXUS);
+
+        assertTrue(statistics.isExplored());
+        assertTrue(statistics.isHealthy(System.currentTimeMillis()));
+        assertEquals(0, statistics.failureCount());
+        assertEquals(5, statistics.missCount());
+        assertEquals(15, statistics.latencyMillis(), 1e-9);
+        assertEquals(
+                List.of(MIRROR, MavenRepository.MAVEN_CENTRAL, NEXUS),
+                resolver.getRanking().rank(resolver.getRepositories())
+        );
+    }
+
+    /**
+     * Verifies that the ranking survives a save and load round trip.
+     */
+    @Test
+    @DisplayName("Ranking is restored from disk")
+    void testRankingPersistence() throws IOException {
+        Path rankingFilePath = tempDir.resolve("ranking").resolve("repositories.json");
+
+        resolver.onSuccess(null, createTimings(NEXUS, Duration.ofMillis(400), Duration.ofSeconds(2)));
+        resolver.onSuccess(null, createTimings(MIRROR, Duration.ofMillis(20), Duration.ofMillis(100)));
+        resolver.getRanking().save(rankingFilePath);
+
+        MavenRepositoryRanking restoredRanking = new MavenRepositoryRanking();
+        restoredRanking.load(rankingFilePath);
+
+        assertEquals(resolver.getRanking().getStatistics(NEXUS), restoredRanking.getStatistics(NEXUS));
+        assertEquals(
+                resolver.getRanking().rank(resolver.getRepositories()),
+                restoredRanking.rank(resolver.getRepositories())
+        );
+    }
+
+    /**
+     * Verifies that a damaged ranking file is ignored rather than failing resolution.
+     */
+    @Test
+    @DisplayName("Damaged ranking file is ignored")
+    void testDamagedRankingFile() throws IOException {
+        Path rankingFilePath = tempDir.resolve("repositories.json");
+        Files.writeString(rankingFilePath, "{ \"https://nexus");
+
+        MavenRepositoryRanking ranking = new MavenRepositoryRanking();
+        ranking.load(rankingFilePath);
+
+        assertEquals(RepositoryStatistics.EMPTY, ranking.getStatistics(NEXUS));
+    }
+
+    private DownloadTimings createTimings(MavenRepository repository, Duration timeToFirstByte, Duration bodyTransfer) {
+        return new DownloadTimings(
+                repository.resolve(ARTIFACT.getRelativePath()),
+                Duration.ZERO,
+                timeToFirstByte,
+                bodyTransfer,
+                Duration.ZERO,
+                timeToFirstByte.plus(bodyTransfer),
+                1024 * 1024,
+                1024 * 1024
+        );
+    }
+}
@@ -0,0 +1,112 @@
+package ru.mrrex.betterium.core.artifact.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.hash.Hash;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link SidecarHashFetcher} class, verifying that cached sidecars
+ * populate artifact hashes without network requests and never replace declared hashes.
+ */
+@DisplayName("Sidecar Hash Fetcher Tests")
+class SidecarHashFetcherTest {
+
+    // Nothing listens on port 1, so any request would fail the test with a connection error
+    private static final MavenRepository UNREACHABLE = new MavenRepository("unreachable", URI.create("http://127.0.0.1:1/maven2/"));
+
+    private static final String SHA1_HEX = "0123456789abcdef0123456789abcdef01234567";
+    private static final String SHA256_HEX = "00112233445566778899aabbccddeeff00112233445566778899aabbccddeeff";
+    private static final String DECLARED_SHA256_HEX = "ffeeddccbbaa99887766554433221100ffeeddccbbaa99887766554433221100";
+
+    private static final MavenArtifact ARTIFACT = MavenArtifact.builder()
+            .withGroupId("org.lwjgl.lwjgl")
+            .withArtifactId("lwjgl")
+            .withVersion("2.9.4")
+            .build();
+
+    @TempDir
+    Path tempDir;
+
+    private MavenRepositoryClient repositoryClient;
+    private SidecarHashFetcher sidecarHashFetcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path sidecarBasePath = tempDir.resolve(ARTIFACT.getRelativePath());
+        Files.createDirectories(sidecarBasePath.getParent());
+
+        Files.writeString(Path.of(sidecarBasePath + ".sha1"), SHA1_HEX + "  lwjgl-2.9.4.jar\n");
+        Files.writeString(Path.of(sidecarBasePath + ".sha256"), SHA256_HEX.toUpperCase());
+
+        repositoryClient = new MavenRepositoryClient(new MavenRepositoryResolver(List.of(UNREACHABLE)));
+        sidecarHashFetcher = new SidecarHashFetcher(repositoryClient, tempDir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sidecarHashFetcher.close();
+        repositoryClient.close();
+    }
+
+    /**
+     * Verifies that cached sidecars, including ones followed by a file name,
+     * are parsed into artifact hashes without contacting the repository.
+     */
+    @Test
+    @DisplayName("Cached sidecars populate hashes offline")
+    void testCachedSidecars() throws IOException {
+        MavenArtifact populatedArtifact = sidecarHashFetcher.populateHashes(List.of(ARTIFACT)).getFirst();
+
+        assertEquals(Hash.fromHex(HashAlgorithm.SHA1, SHA1_HEX), populatedArtifact.getHashes().get(HashAlgorithm.SHA1));
+        assertEquals(Hash.fromHex(HashAlgorithm.SHA256, SHA256_HEX), populatedArtifact.getHashes().get(HashAlgorithm.SHA256));
+        assertFalse(populatedArtifact.getHashes().containsKey(HashAlgorithm.SHA512));
+    }
+
+    /**
+     * Verifies that a hash declared by the artifact is kept over its sidecar.
+     */
+    @Test
+    @DisplayName("Declared hashes take precedence over sidecars")
+    void testDeclaredHashKept() throws IOException {
+        MavenArtifact declaredArtifact = MavenArtifact.builder()
+                .withGroupId(ARTIFACT.groupId())
+                .withArtifactId(ARTIFACT.artifactId())
+                .withVersion(ARTIFACT.version())
+                .withHash(HashAlgorithm.SHA256, DECLARED_SHA256_HEX)
+                .build();
+
+        MavenArtifact populatedArtifact = sidecarHashFetcher.populateHashes(List.of(declaredArtifact)).getFirst();
+
+        assertEquals(Hash.fromHex(HashAlgorithm.SHA256, DECLARED_SHA256_HEX), populatedArtifact.getHashes().get(HashAlgorithm.SHA256));
+        assertEquals(Hash.fromHex(HashAlgorithm.SHA1, SHA1_HEX), populatedArtifact.getHashes().get(HashAlgorithm.SHA1));
+    }
+
+    /**
+     * Verifies that an artifact without cached sidecars is fetched from the repository,
+     * surfacing the connection failure of the unreachable repository.
+     */
+    @Test
+    @DisplayName("Uncached artifact is fetched from the repository")
+    void testUncachedArtifactFetched() {
+        MavenArtifact uncachedArtifact = MavenArtifact.builder()
+                .withGroupId("org.lwjgl.lwjgl")
+                .withArtifactId("lwjgl_util")
+                .withVersion("2.9.4")
+                .build();
+
+        assertThrows(IOException.class, () -> sidecarHashFetcher.populateHashes(List.of(uncachedArtifact)));
+    }
+}
@@ -0,0 +1,95 @@
+package ru.mrrex.betterium.core.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.checksum.ChecksumCalculator;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.hash.HashCalculator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link CalculatorPool} class, verifying reuse, capacity
+ * limits and correctness under concurrent use.
+ */
+@DisplayName("Calculator Pool Tests")
+class CalculatorPoolTest {
+
+    /**
+     * Verifies that a released calculator is reused by the next lease
+     * and that a released lease can no longer be used.
+     */
+    @Test
+    @DisplayName("Released calculator is reused")
+    void testReuse() throws NoSuchAlgorithmException {
+        CalculatorPool calculatorPool = new CalculatorPool(4);
+        HashCalculator firstCalculator;
+
+        CalculatorLease<HashCalculator> lease = calculatorPool.acquireHashCalculator(HashAlgorithm.SHA256);
+
+        try (lease) {
+            firstCalculator = lease.get();
+        }
+
+        assertThrows(IllegalStateException.class, lease::get);
+        assertEquals(1, calculatorPool.getIdleHashCalculatorCount(HashAlgorithm.SHA256));
+
+        try (CalculatorLease<HashCalculator> secondLease = calculatorPool.acquireHashCalculator(HashAlgorithm.SHA256)) {
+            assertSame(firstCalculator, secondLease.get());
+        }
+    }
+
+    /**
+     * Verifies that no more than the configured number of idle calculators is retained.
+     */
+    @Test
+    @DisplayName("Idle calculators are capped")
+    void testIdleCapacity() {
+        CalculatorPool calculatorPool = new CalculatorPool(2);
+        List<CalculatorLease<ChecksumCalculator>> leases = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++)
+            leases.add(calculatorPool.acquireChecksumCalculator(ChecksumAlgorithm.CRC32));
+
+        leases.forEach(CalculatorLease::close);
+
+        assertEquals(2, calculatorPool.getIdleChecksumCalculatorCount(ChecksumAlgorithm.CRC32));
+    }
+
+    /**
+     * Verifies that concurrent workers sharing the pool calculate correct hashes.
+     */
+    @Test
+    @DisplayName("Concurrent workers share the pool")
+    void testConcurrentUse() throws InterruptedException, ExecutionException, NoSuchAlgorithmException {
+        CalculatorPool calculatorPool = new CalculatorPool();
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try (ExecutorService executorService = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 200; i++) {
+                byte[] data = ("payload-" + i).getBytes(StandardCharsets.UTF_8);
+                byte[] expectedBytes = MessageDigest.getInstance("SHA-1").digest(data);
+
+                results.add(executorService.submit(() -> {
+                    try (CalculatorLease<HashCalculator> lease = calculatorPool.acquireHashCalculator(HashAlgorithm.SHA1)) {
+                        return MessageDigest.isEqual(expectedBytes, lease.get().calculate(data).getBytes());
+                    }
+                }));
+            }
+        }
+
+        for (Future<Boolean> result : results)
+            assertTrue(result.get());
+    }
+}
@@ -0,0 +1,118 @@
+package ru.mrrex.betterium.core.checksum;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mrrex.betterium.core.library.implementation.RemoteNativeLibrary;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link ChecksumCalculator} class, verifying stream and
+ * incremental calculation against a directly computed checksum.
+ */
+@DisplayName("Checksum Calculator Tests")
+class ChecksumCalculatorTest {
+
+    private static final byte[] CONTENT = createContent(70_001);
+
+    /**
+     * Verifies that a stream whose length is not a multiple of the buffer size
+     * is checksummed over the bytes actually read.
+     */
+    @Test
+    @DisplayName("Stream with partial final chunk")
+    void testStreamCalculation() throws IOException {
+        ChecksumCalculator checksumCalculator = ChecksumCalculatorFactory.createCalculator(ChecksumAlgorithm.CRC32);
+
+        assertEquals(expectedCrc32(), checksumCalculator.calculate(new ByteArrayInputStream(CONTENT)));
+    }
+
+    /**
+     * Verifies that incremental updates from heap and direct buffers produce
+     * the same checksum as a single calculation.
+     */
+    @Test
+    @DisplayName("Incremental heap and direct buffers")
+    void testIncrementalCalculation() {
+        ChecksumCalculator checksumCalculator = ChecksumCalculatorFactory.createCalculator(ChecksumAlgorithm.CRC32);
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(CONTENT.length - 1000);
+        directBuffer.put(CONTENT, 1000, CONTENT.length - 1000).flip();
+
+        checksumCalculator.reset();
+        checksumCalculator.update(ByteBuffer.wrap(CONTENT, 0, 500));
+        checksumCalculator.update(CONTENT, 500, 500);
+        checksumCalculator.update(directBuffer);
+
+        assertEquals(expectedCrc32(), checksumCalculator.finish());
+    }
+
+    /**
+     * Verifies XXH64 and XXH3 against published reference values and that
+     * the result does not depend on how the input is split into updates.
+     */
+    @Test
+    @DisplayName("XXH64 and XXH3 reference values")
+    void testXXHashReferenceValues() {
+        ChecksumCalculator xxh64Calculator = ChecksumCalculatorFactory.createCalculator(ChecksumAlgorithm.XXH64);
+        ChecksumCalculator xxh3Calculator = ChecksumCalculatorFactory.createCalculator(ChecksumAlgorithm.XXH3);
+
+        assertEquals(0xEF46DB3751D8E999L, xxh64Calculator.calculate(new byte[0]));
+        assertEquals(0x44BC2CF5AD770999L, xxh64Calculator.calculate("abc".getBytes()));
+        assertEquals(0x2D06800538D394C2L, xxh3Calculator.calculate(new byte[0]));
+        assertEquals(0x78AF5F94892F3950L, xxh3Calculator.calculate("abc".getBytes()));
+
+        for (ChecksumCalculator checksumCalculator : new ChecksumCalculator[] {xxh64Calculator, xxh3Calculator}) {
+            long expectedValue = checksumCalculator.calculate(CONTENT);
+
+            checksumCalculator.reset();
+
+            for (int offset = 0, step = 1; offset < CONTENT.length; offset += step, step = step * 3 % 1009 + 1)
+                checksumCalculator.update(CONTENT, offset, Math.min(step, CONTENT.length - offset));
+
+            assertEquals(expectedValue, checksumCalculator.finish());
+        }
+    }
+
+    /**
+     * Verifies that 64-bit checksums, including values with the sign bit set,
+     * round-trip through the hexadecimal JSON representation.
+     */
+    @Test
+    @DisplayName("64-bit checksums round-trip through JSON")
+    void testJsonRoundTrip() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        RemoteNativeLibrary nativeLibrary = RemoteNativeLibrary.builder()
+                .withSourceUri(URI.create("https://example.com/natives.jar"))
+                .withChecksum(ChecksumAlgorithm.XXH64, 0xEF46DB3751D8E999L)
+                .withChecksum(ChecksumAlgorithm.XXH3, 0x1234567890123456L)
+                .build();
+
+        String json = objectMapper.writeValueAsString(nativeLibrary);
+
+        assertEquals(nativeLibrary, objectMapper.readValue(json, RemoteNativeLibrary.class));
+    }
+
+    private static long expectedCrc32() {
+        CRC32 crc32 = new CRC32();
+        crc32.update(CONTENT);
+
+        return crc32.getValue();
+    }
+
+    private static byte[] createContent(int length) {
+        byte[] content = new byte[length];
+        new Random(11).nextBytes(content);
+
+        return content;
+    }
+}
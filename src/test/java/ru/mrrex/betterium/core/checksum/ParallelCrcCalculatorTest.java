@@ -0,0 +1,75 @@
+package ru.mrrex.betterium.core.checksum;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link CrcCombiner} and {@link ParallelCrcCalculator} classes,
+ * verifying that combined segment values equal the sequential checksum.
+ */
+@DisplayName("Parallel CRC Calculator Tests")
+class ParallelCrcCalculatorTest {
+
+    private static final byte[] CONTENT = createContent(10_500);
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that combining the CRCs of two parts gives the CRC of their concatenation
+     * for every split point, including empty parts.
+     */
+    @ParameterizedTest
+    @EnumSource(value = ChecksumAlgorithm.class, names = {"CRC32", "CRC32C"})
+    @DisplayName("Combined parts equal the whole")
+    void testCombine(ChecksumAlgorithm algorithm) {
+        long expectedCrc = calculate(algorithm, 0, CONTENT.length);
+
+        for (int split = 0; split <= CONTENT.length; split += 777) {
+            long firstCrc = calculate(algorithm, 0, split);
+            long secondCrc = calculate(algorithm, split, CONTENT.length - split);
+
+            assertEquals(expectedCrc, CrcCombiner.combine(algorithm, firstCrc, secondCrc, CONTENT.length - split));
+        }
+    }
+
+    /**
+     * Verifies that the parallel calculation over segments, including a partial
+     * last segment, equals the sequential calculation.
+     */
+    @ParameterizedTest
+    @EnumSource(value = ChecksumAlgorithm.class, names = {"CRC32", "CRC32C"})
+    @DisplayName("Parallel calculation equals sequential")
+    void testParallelCalculation(ChecksumAlgorithm algorithm) throws IOException, InterruptedException {
+        Path filePath = Files.write(tempDir.resolve("content.bin"), CONTENT);
+
+        try (ParallelCrcCalculator crcCalculator = new ParallelCrcCalculator(algorithm, 1000, 3)) {
+            assertEquals(calculate(algorithm, 0, CONTENT.length), crcCalculator.calculate(filePath));
+        }
+    }
+
+    private static long calculate(ChecksumAlgorithm algorithm, int offset, int length) {
+        ChecksumCalculator checksumCalculator = ChecksumCalculatorFactory.createCalculator(algorithm);
+
+        checksumCalculator.reset();
+        checksumCalculator.update(CONTENT, offset, length);
+
+        return checksumCalculator.finish();
+    }
+
+    private static byte[] createContent(int length) {
+        byte[] content = new byte[length];
+        new Random(5).nextBytes(content);
+
+        return content;
+    }
+}
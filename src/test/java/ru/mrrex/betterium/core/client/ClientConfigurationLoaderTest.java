@@ -0,0 +1,117 @@
+package ru.mrrex.betterium.core.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.client.config.ClientConfiguration;
+import ru.mrrex.betterium.core.client.config.ClientConfigurationLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link ClientConfigurationLoader} class, verifying that binary
+ * snapshots reproduce the parsed configuration and are replaced when the source changes.
+ */
+@DisplayName("ClientConfigurationLoader Tests")
+class ClientConfigurationLoaderTest {
+
+    private static final String CONFIGURATION_JSON = """
+            {
+              "name": "Test Client",
+              "version": "1.2.0",
+              "main_class": "net.minecraft.client.Minecraft",
+              "artifacts": [
+                {
+                  "type": "maven",
+                  "group_id": "org.lwjgl.lwjgl",
+                  "artifact_id": "lwjgl",
+                  "version": "2.9.4",
+                  "size": 1024,
+                  "checksums": { "crc32": "0xCAFEBABE", "xxh64": "ffffffffffffffff" },
+                  "hashes": { "sha1": "da39a3ee5e6b4b0d3255bfef95601890afd80709" },
+                  "dependencies": [
+                    {
+                      "type": "remote",
+                      "source_uri": "https://example.com/natives/linux.jar",
+                      "conditions": { "os.name.contains": "Linux" }
+                    }
+                  ]
+                }
+              ],
+              "jvm_arguments": ["-Xmx2G", "-Dfile.encoding=UTF-8"],
+              "arguments": ["--demo"]
+            }
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshotDirectory;
+    private Path configurationFilePath;
+    private ClientConfigurationLoader configurationLoader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        snapshotDirectory = tempDir.resolve("snapshots");
+        configurationFilePath = tempDir.resolve("client.json");
+
+        Files.writeString(configurationFilePath, CONFIGURATION_JSON);
+        configurationLoader = new ClientConfigurationLoader(snapshotDirectory);
+    }
+
+    /**
+     * Verifies that a configuration loaded from its snapshot equals the one parsed from JSON.
+     */
+    @Test
+    @DisplayName("Snapshot reproduces parsed configuration")
+    void testSnapshotRoundTrip() throws IOException {
+        ClientConfiguration parsedConfiguration = configurationLoader.load(configurationFilePath);
+        assertEquals(1, countSnapshots());
+
+        ClientConfiguration snapshotConfiguration = new ClientConfigurationLoader(snapshotDirectory).load(configurationFilePath);
+
+        assertEquals(parsedConfiguration, snapshotConfiguration);
+        assertEquals(1, countSnapshots());
+    }
+
+    /**
+     * Verifies that a changed source is parsed again, replacing its earlier snapshot
+     * but not those of other sources, and that a damaged snapshot is ignored.
+     */
+    @Test
+    @DisplayName("Changed source and damaged snapshot fall back to JSON")
+    void testFallbackToJson() throws IOException {
+        Path otherConfigurationFilePath = Files.writeString(tempDir.resolve("other.json"), CONFIGURATION_JSON);
+
+        configurationLoader.load(configurationFilePath);
+        configurationLoader.load(otherConfigurationFilePath);
+        assertEquals(2, countSnapshots());
+
+        Files.writeString(configurationFilePath, CONFIGURATION_JSON.replace("1.2.0", "1.3.0"));
+
+        assertEquals("1.3.0", configurationLoader.load(configurationFilePath).version());
+        assertEquals(2, countSnapshots());
+        assertEquals("1.2.0", configurationLoader.load(otherConfigurationFilePath).version());
+
+        try (Stream<Path> snapshotFiles = Files.list(snapshotDirectory)) {
+            for (Path snapshotFile : snapshotFiles.toList())
+                Files.write(snapshotFile, new byte[] {1, 2, 3});
+        }
+
+        List<ClientConfiguration> clientConfigurations = configurationLoader.loadAll(List.of(configurationFilePath));
+        assertEquals("1.3.0", clientConfigurations.getFirst().version());
+    }
+
+    private long countSnapshots() throws IOException {
+        try (Stream<Path> snapshotFiles = Files.list(snapshotDirectory)) {
+            return snapshotFiles.count();
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package ru.mrrex.betterium.core.download.downloader.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.artifact.repository.LocalMavenRepository;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.download.downloader.DownloadFailurePolicy;
+import ru.mrrex.betterium.core.download.downloader.DownloadHandle;
+import ru.mrrex.betterium.core.download.downloader.DownloadRequest;
+import ru.mrrex.betterium.core.download.exception.DownloadFailedException;
+import ru.mrrex.betterium.core.download.listener.DownloadCompletionListener;
+import ru.mrrex.betterium.core.download.metrics.DownloadTimings;
+import ru.mrrex.betterium.core.download.stream.ContentEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link HttpFileDownloader} class, verifying batch failure
+ * policies, cancellation through download handles, content encoding and
+ * replacement of existing files against a local HTTP server.
+ */
+@DisplayName("HTTP File Downloader Tests")
+class HttpFileDownloaderTest {
+
+    private static final byte[] CONTENT = "betterium".repeat(1024).getBytes();
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer httpServer;
+    private HttpFileDownloader fileDownloader;
+
+    private final CountDownLatch releaseLatch = new CountDownLatch(1);
+    private final RecordingListener completionListener = new RecordingListener();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        httpServer.setExecutor(Executors.newCachedThreadPool());
+        httpServer.start();
+
+        fileDownloader = new HttpFileDownloader(2);
+        fileDownloader.setDownloadCompletionListener(completionListener);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Stalled responses must finish before the client is closed, as it waits for them
+        releaseLatch.countDown();
+
+        fileDownloader.close();
+        httpServer.stop(0);
+    }
+
+    /**
+     * Verifies that a failed required download fails the whole fail-fast batch
+     * and cancels a sibling that is still transferring, without reporting the
+     * cancelled sibling as a source failure.
+     */
+    @Test
+    @DisplayName("Fail-fast batch cancels running siblings")
+    void testFailFastCancelsSiblings() throws Exception {
+        CountDownLatch stalledLatch = new CountDownLatch(1);
+
+        serve("/stalled", exchange -> {
+            stalledLatch.countDown();
+            sendStalled(exchange);
+        });
+        serve("/missing", exchange -> {
+            // The sibling must already be transferring when the batch fails
+            await(stalledLatch);
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+
+        DownloadRequest stalledRequest = createRequest("/stalled", "stalled.bin");
+        DownloadRequest missingRequest = createRequest("/missing", "missing.bin");
+
+        fileDownloader.setDownloadFailurePolicy(DownloadFailurePolicy.FAIL_FAST);
+        fileDownloader.enqueue(stalledRequest);
+        fileDownloader.enqueue(missingRequest);
+
+        DownloadFailedException exception = assertThrows(DownloadFailedException.class, fileDownloader::download);
+
+        assertEquals(missingRequest, exception.getDownloadRequest());
+        assertInstanceOf(HttpStatusException.class, exception.getCause());
+        assertInstanceOf(CancellationException.class, completionListener.awaitFailure(stalledRequest));
+        assertFalse(completionListener.sourceFailures.containsKey(stalledRequest));
+        assertFalse(fileDownloader.isBusy());
+    }
+
+    /**
+     * Verifies that a failed optional download does not fail the fail-fast batch.
+     */
+    @Test
+    @DisplayName("Fail-fast batch tolerates optional failures")
+    void testFailFastIgnoresOptionalFailure() throws Exception {
+        serve("/file", exchange -> send(exchange, CONTENT));
+        serve("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+
+        DownloadRequest fileRequest = createRequest("/file", "file.bin");
+        DownloadRequest missingRequest = DownloadRequest.builder()
+                .withSourceFileUri(getUri("/missing"))
+                .withDestinationFilePath(tempDir.resolve("missing.bin"))
+                .withRequired(false)
+                .build();
+
+        fileDownloader.setDownloadFailurePolicy(DownloadFailurePolicy.FAIL_FAST);
+        fileDownloader.enqueue(fileRequest);
+        fileDownloader.enqueue(missingRequest);
+        fileDownloader.download();
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(fileRequest.destinationFilePath()));
+        assertInstanceOf(HttpStatusException.class, completionListener.awaitFailure(missingRequest));
+    }
+
+    /**
+     * Verifies that a download cancelled before the batch starts is reported
+     * as cancelled without ever reaching the server.
+     */
+    @Test
+    @DisplayName("Cancellation before start skips the request")
+    void testCancelBeforeStart() throws Exception {
+        AtomicInteger requestCount = new AtomicInteger();
+
+        serve("/file", exchange -> {
+            requestCount.incrementAndGet();
+            send(exchange, CONTENT);
+        });
+
+        DownloadRequest downloadRequest = createRequest("/file", "file.bin");
+        DownloadHandle downloadHandle = fileDownloader.enqueue(downloadRequest);
+
+        assertTrue(downloadHandle.cancel());
+        assertFalse(downloadHandle.cancel());
+
+        fileDownloader.download();
+
+        assertTrue(downloadHandle.isCancelled());
+        assertInstanceOf(CancellationException.class, completionListener.awaitFailure(downloadRequest));
+        assertEquals(0, requestCount.get());
+        assertTrue(Files.notExists(downloadRequest.destinationFilePath()));
+    }
+
+    /**
+     * Verifies that cancelling a running download surfaces a {@link CancellationException},
+     * removes the partial file and is not recorded as a failure of the source or its host.
+     */
+    @Test
+    @DisplayName("Cancellation after start stops the transfer")
+    void testCancelAfterStart() throws Exception {
+        CountDownLatch stalledLatch = new CountDownLatch(1);
+
+        serve("/stalled", exchange -> {
+            stalledLatch.countDown();
+            sendStalled(exchange);
+        });
+
+        DownloadRequest downloadRequest = createRequest("/stalled", "stalled.bin");
+        DownloadHandle downloadHandle = fileDownloader.enqueue(downloadRequest);
+
+        try (ExecutorService cancellingExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Boolean> cancellation = cancellingExecutor.submit(() -> {
+                await(stalledLatch);
+                return downloadHandle.cancel();
+            });
+
+            fileDownloader.download();
+
+            assertTrue(cancellation.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+
+        assertInstanceOf(CancellationException.class, completionListener.awaitFailure(downloadRequest));
+        assertFalse(completionListener.sourceFailures.containsKey(downloadRequest));
+        assertNull(fileDownloader.getDownloadMetricsRegistry().getHostMetrics(downloadRequest.sourceFileUri().getHost()));
+        assertTrue(Files.notExists(downloadRequest.destinationFilePath()));
+    }
+
+    /**
+     * Verifies that compressed responses are decoded to the original content and that
+     * the timings distinguish the bytes received on the wire from the bytes written.
+     */
+    @ParameterizedTest
+    @EnumSource(value = ContentEncoding.class, names = {"GZIP", "DEFLATE"})
+    @DisplayName("Compressed response is decoded")
+    void testCompressedResponse(ContentEncoding contentEncoding) throws Exception {
+        byte[] encodedContent = encode(contentEncoding, CONTENT);
+        AtomicReference<String> acceptedEncodings = new AtomicReference<>();
+
+        serve("/file", exchange -> {
+            acceptedEncodings.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            exchange.getResponseHeaders().set("Content-Encoding", contentEncoding.getHeaderValue());
+            send(exchange, encodedContent);
+        });
+
+        DownloadRequest downloadRequest = DownloadRequest.builder()
+                .withSourceFileUri(getUri("/file"))
+                .withDestinationFilePath(tempDir.resolve("file.bin"))
+                .withCompressionEnabled(true)
+                .build();
+
+        fileDownloader.enqueue(downloadRequest);
+        fileDownloader.download();
+
+        DownloadTimings downloadTimings = completionListener.awaitSuccess(downloadRequest);
+
+        assertTrue(acceptedEncodings.get().contains(contentEncoding.getHeaderValue()));
+        assertArrayEquals(CONTENT, Files.readAllBytes(downloadRequest.destinationFilePath()));
+        assertEquals(encodedContent.length, downloadTimings.wireBytes());
+        assertEquals(CONTENT.length, downloadTimings.decodedBytes());
+        assertTrue(downloadTimings.wireBytes() < downloadTimings.decodedBytes());
+    }
+
+    /**
+     * Verifies that compression is not requested unless enabled, in which case
+     * the wire and decoded byte counts are equal.
+     */
+    @Test
+    @DisplayName("Uncompressed response counts equal bytes")
+    void testUncompressedResponse() throws Exception {
+        AtomicReference<String> acceptedEncodings = new AtomicReference<>();
+
+        serve("/file", exchange -> {
+            acceptedEncodings.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            send(exchange, CONTENT);
+        });
+
+        DownloadRequest downloadRequest = createRequest("/file", "file.bin");
+
+        fileDownloader.enqueue(downloadRequest);
+        fileDownloader.download();
+
+        DownloadTimings downloadTimings = completionListener.awaitSuccess(downloadRequest);
+
+        assertNull(acceptedEncodings.get());
+        assertArrayEquals(CONTENT, Files.readAllBytes(downloadRequest.destinationFilePath()));
+        assertEquals(CONTENT.length, downloadTimings.wireBytes());
+        assertEquals(CONTENT.length, downloadTimings.decodedBytes());
+    }
+
+    /**
+     * Verifies that re-downloading a file hard-linked from the local Maven repository,
+     * whether the download fails or succeeds, never writes through to the repository copy.
+     */
+    @Test
+    @DisplayName("Re-download does not write through hard links")
+    void testRedownloadKeepsLinkedFile() throws Exception {
+        byte[] localContent = "local repository artifact".getBytes();
+
+        MavenArtifact artifact = MavenArtifact.builder()
+                .withGroupId("org.lwjgl.lwjgl")
+                .withArtifactId("lwjgl")
+                .withVersion("2.9.4")
+                .withHash(HashAlgorithm.SHA256, HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(localContent)))
+                .build();
+
+        LocalMavenRepository localRepository = new LocalMavenRepository(tempDir.resolve("repository"));
+        Path repositoryFilePath = localRepository.getArtifactPath(artifact);
+        Path installedFilePath = tempDir.resolve("install").resolve("lwjgl.jar");
+
+        Files.createDirectories(repositoryFilePath.getParent());
+        Files.write(repositoryFilePath, localContent);
+
+        assertTrue(localRepository.copyTo(artifact, installedFilePath));
+
+        serve("/truncated", exchange -> {
+            exchange.sendResponseHeaders(200, CONTENT.length);
+            exchange.getResponseBody().write(CONTENT, 0, CONTENT.length / 2);
+            exchange.close();
+        });
+        serve("/file", exchange -> send(exchange, CONTENT));
+
+        DownloadRequest truncatedRequest = DownloadRequest.builder()
+                .withSourceFileUri(getUri("/truncated"))
+                .withDestinationFilePath(installedFilePath)
+                .build();
+
+        fileDownloader.enqueue(truncatedRequest);
+        fileDownloader.download();
+
+        assertInstanceOf(IOException.class, completionListener.awaitFailure(truncatedRequest));
+        assertArrayEquals(localContent, Files.readAllBytes(installedFilePath));
+        assertArrayEquals(localContent, Files.readAllBytes(repositoryFilePath));
+
+        DownloadRequest fileRequest = DownloadRequest.builder()
+                .withSourceFileUri(getUri("/file"))
+                .withDestinationFilePath(installedFilePath)
+                .build();
+
+        fileDownloader.enqueue(fileRequest);
+        fileDownloader.download();
+
+        completionListener.awaitSuccess(fileRequest);
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(installedFilePath));
+        assertArrayEquals(localContent, Files.readAllBytes(repositoryFilePath));
+
+        try (Stream<Path> installedFiles = Files.list(installedFilePath.getParent())) {
+            assertEquals(1, installedFiles.count());
+        }
+    }
+
+    private void serve(String path, HttpHandler handler) {
+        httpServer.createContext(path, handler);
+    }
+
+    private URI getUri(String path) {
+        InetSocketAddress address = httpServer.getAddress();
+        return URI.create("http://%s:%d%s".formatted(address.getHostString(), address.getPort(), path));
+    }
+
+    private DownloadRequest createRequest(String path, String fileName) {
+        return DownloadRequest.builder()
+                .withSourceFileUri(getUri(path))
+                .withDestinationFilePath(tempDir.resolve(fileName))
+                .withTimeout(Duration.ofSeconds(TIMEOUT_SECONDS))
+                .build();
+    }
+
+    private void send(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(200, body.length);
+
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private void sendStalled(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(200, CONTENT.length);
+
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(CONTENT, 0, CONTENT.length / 2);
+            outputStream.flush();
+
+            await(releaseLatch);
+            outputStream.write(CONTENT, CONTENT.length / 2, CONTENT.length - CONTENT.length / 2);
+        } catch (IOException _) {
+            // The client has gone away after cancelling the download
+        }
+    }
+
+    private static byte[] encode(ContentEncoding contentEncoding, byte[] content) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+
+        try (OutputStream outputStream = switch (contentEncoding) {
+            case GZIP -> new GZIPOutputStream(byteArrayOutputStream);
+            case DEFLATE -> new DeflaterOutputStream(byteArrayOutputStream);
+            default -> throw new IllegalArgumentException("Unsupported content encoding: " + contentEncoding);
+        }) {
+            outputStream.write(content);
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            if (!latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                throw new IOException("Timed out waiting for the test");
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException(exception);
+        }
+    }
+
+    private static class RecordingListener implements DownloadCompletionListener {
+
+        private final Map<DownloadRequest, CompletableFuture<DownloadTimings>> successes = new ConcurrentHashMap<>();
+        private final Map<DownloadRequest, CompletableFuture<Throwable>> failures = new ConcurrentHashMap<>();
+        private final Map<DownloadRequest, Throwable> sourceFailures = new ConcurrentHashMap<>();
+
+        @Override
+        public void onSuccess(DownloadRequest downloadRequest, Duration downloadDuration) {}
+
+        @Override
+        public void onSuccess(DownloadRequest downloadRequest, DownloadTimings downloadTimings) {
+            successes.computeIfAbsent(downloadRequest, _ -> new CompletableFuture<>()).complete(downloadTimings);
+        }
+
+        @Override
+        public void onFailure(DownloadRequest downloadRequest, Throwable throwable) {
+            failures.computeIfAbsent(downloadRequest, _ -> new CompletableFuture<>()).complete(throwable);
+        }
+
+        @Override
+        public void onSourceFailure(DownloadRequest downloadRequest, URI sourceUri, Throwable throwable) {
+            sourceFailures.put(downloadRequest, throwable);
+        }
+
+        DownloadTimings awaitSuccess(DownloadRequest downloadRequest) throws Exception {
+            return successes.computeIfAbsent(downloadRequest, _ -> new CompletableFuture<>()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        Throwable awaitFailure(DownloadRequest downloadRequest) throws Exception {
+            return failures.computeIfAbsent(downloadRequest, _ -> new CompletableFuture<>()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.mrrex.betterium.core.download.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link LatencyHistogram} class, verifying bucket
+ * boundaries and the precision of reported percentiles.
+ */
+@DisplayName("Latency Histogram Tests")
+class LatencyHistogramTest {
+
+    /**
+     * Ensures that every value is placed into a bucket whose upper bound
+     * is not lower than the value and whose relative error stays within
+     * the expected precision.
+     */
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 31, 32, 33, 1_000, 65_535, 1_000_000_007L, Long.MAX_VALUE})
+    @DisplayName("Bucket upper bound covers recorded value")
+    void testBucketUpperBound(long value) {
+        long upperBound = LatencyHistogram.getBucketUpperBound(LatencyHistogram.getBucketIndex(value));
+
+        assertTrue(upperBound >= value, "Bucket upper bound must not be lower than the value");
+        assertTrue(upperBound - value <= value / 32, "Bucket width must stay within ~3% of the value");
+    }
+
+    /**
+     * Verifies percentiles, mean and maximum for a uniform series of latencies.
+     */
+    @Test
+    @DisplayName("Percentiles of uniform distribution")
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 1_000; i++)
+            histogram.record(Duration.ofMillis(i));
+
+        assertEquals(1_000, histogram.getCount());
+        assertEquals(Duration.ofMillis(1_000), histogram.getMax());
+        assertEquals(Duration.ofNanos(500_500_000), histogram.getMean());
+
+        long median = histogram.getPercentile(50).toNanos();
+        long p99 = histogram.getPercentile(99).toNanos();
+
+        assertEquals(500_000_000, median, 500_000_000 / 32.0);
+        assertEquals(990_000_000, p99, 990_000_000 / 32.0);
+        assertEquals(histogram.getMax(), histogram.getPercentile(100));
+    }
+
+    /**
+     * Verifies that an empty or reset histogram reports zero durations.
+     */
+    @Test
+    @DisplayName("Empty and reset histogram")
+    void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(Duration.ZERO, histogram.getPercentile(99));
+
+        histogram.record(42);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(Duration.ZERO, histogram.getMax());
+        assertEquals(Duration.ZERO, histogram.getPercentile(50));
+    }
+}
@@ -0,0 +1,67 @@
+package ru.mrrex.betterium.core.hash;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link HashCalculator} class, verifying stream and
+ * incremental calculation against a directly computed digest.
+ */
+@DisplayName("Hash Calculator Tests")
+class HashCalculatorTest {
+
+    private static final byte[] CONTENT = createContent(100_001);
+
+    /**
+     * Verifies that a stream whose length is not a multiple of the buffer size
+     * is hashed over the bytes actually read.
+     */
+    @Test
+    @DisplayName("Stream with partial final chunk")
+    void testStreamCalculation() throws IOException, NoSuchAlgorithmException {
+        HashCalculator hashCalculator = new HashCalculator(HashAlgorithm.SHA256);
+
+        Hash hash = hashCalculator.calculate(new ByteArrayInputStream(CONTENT));
+
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(CONTENT), hash.getBytes());
+    }
+
+    /**
+     * Verifies that incremental updates from heap and direct buffers produce
+     * the same hash as a single calculation, and that the calculator is reusable.
+     */
+    @Test
+    @DisplayName("Incremental heap and direct buffers")
+    void testIncrementalCalculation() throws NoSuchAlgorithmException {
+        HashCalculator hashCalculator = new HashCalculator(HashAlgorithm.SHA1);
+        byte[] expectedBytes = MessageDigest.getInstance("SHA-1").digest(CONTENT);
+
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(CONTENT.length - 1000);
+        directBuffer.put(CONTENT, 1000, CONTENT.length - 1000).flip();
+
+        for (int i = 0; i < 2; i++) {
+            hashCalculator.reset();
+            hashCalculator.update(ByteBuffer.wrap(CONTENT, 0, 500));
+            hashCalculator.update(CONTENT, 500, 500);
+            hashCalculator.update(directBuffer.duplicate());
+
+            assertArrayEquals(expectedBytes, hashCalculator.finish().getBytes());
+        }
+    }
+
+    private static byte[] createContent(int length) {
+        byte[] content = new byte[length];
+        new Random(7).nextBytes(content);
+
+        return content;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.mrrex.betterium.core.hash;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.mrrex.betterium.core.library.implementation.RemoteNativeLibrary;
+
+import java.net.URI;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link Hash} class, verifying hex parsing, comparison
+ * and JSON round-tripping of expected hashes.
+ */
+@DisplayName("Hash Tests")
+class HashTest {
+
+    private static final String SHA1_HEX = "da39a3ee5e6b4b0d3255bfef95601890afd80709";
+
+    /**
+     * Verifies that surrounding whitespace and upper-case digits are accepted
+     * and that the hex form is rendered in lower case.
+     */
+    @Test
+    @DisplayName("Hex value is parsed")
+    void testFromHex() {
+        Hash hash = Hash.fromHex(HashAlgorithm.SHA1, "  " + SHA1_HEX.toUpperCase() + "\n");
+
+        assertEquals(20, hash.getLength());
+        assertEquals(SHA1_HEX, hash.toHexString());
+        assertTrue(hash.matches(HexFormat.of().parseHex(SHA1_HEX)));
+    }
+
+    /**
+     * Verifies that values of the wrong length or with non-hex digits are rejected.
+     */
+    @Test
+    @DisplayName("Malformed hex value is rejected")
+    void testMalformedHex() {
+        assertThrows(IllegalArgumentException.class, () -> Hash.fromHex(HashAlgorithm.SHA256, SHA1_HEX));
+        assertThrows(IllegalArgumentException.class, () -> Hash.fromHex(HashAlgorithm.SHA1, "zz" + SHA1_HEX.substring(2)));
+    }
+
+    /**
+     * Verifies that hashes of different algorithms or content do not match.
+     */
+    @Test
+    @DisplayName("Different hashes do not match")
+    void testMismatch() {
+        Hash hash = Hash.fromHex(HashAlgorithm.SHA1, SHA1_HEX);
+        byte[] otherBytes = HexFormat.of().parseHex(SHA1_HEX);
+        otherBytes[19] ^= 1;
+
+        assertFalse(hash.matches(otherBytes));
+        assertFalse(hash.matches(new byte[4]));
+        assertFalse(hash.matches(Hash.fromHex(HashAlgorithm.MD5, SHA1_HEX.substring(0, 32))));
+    }
+
+    /**
+     * Verifies that expected hashes of a resource are written and read back as hex strings.
+     */
+    @Test
+    @DisplayName("Resource hashes round-trip through JSON")
+    void testJsonRoundTrip() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        RemoteNativeLibrary nativeLibrary = RemoteNativeLibrary.builder()
+                .withSourceUri(URI.create("https://example.com/natives.jar"))
+                .withHash(HashAlgorithm.SHA1, SHA1_HEX)
+                .build();
+
+        String json = objectMapper.writeValueAsString(nativeLibrary);
+
+        assertTrue(json.contains("\"sha1\":\"" + SHA1_HEX + "\""));
+        assertEquals(nativeLibrary, objectMapper.readValue(json, RemoteNativeLibrary.class));
+    }
+}
@@ -0,0 +1,109 @@
+package ru.mrrex.betterium.core.hash;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link HashTree} and {@link HashTreeCalculator} classes, verifying
+ * the tree layout and localisation of corrupted chunks.
+ */
+@DisplayName("Hash Tree Tests")
+class HashTreeTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that chunk and root hashes follow the prefixed Merkle layout
+     * with an unpaired last chunk promoted to the next level.
+     */
+    @Test
+    @DisplayName("Tree layout of a file with a partial last chunk")
+    void testTreeLayout() throws IOException, NoSuchAlgorithmException, InterruptedException {
+        byte[] content = createContent(2 * CHUNK_SIZE + 10);
+        Path filePath = Files.write(tempDir.resolve("content.bin"), content);
+
+        byte[] leaf0 = digest(new byte[] {0}, Arrays.copyOfRange(content, 0, CHUNK_SIZE));
+        byte[] leaf1 = digest(new byte[] {0}, Arrays.copyOfRange(content, CHUNK_SIZE, 2 * CHUNK_SIZE));
+        byte[] leaf2 = digest(new byte[] {0}, Arrays.copyOfRange(content, 2 * CHUNK_SIZE, content.length));
+        byte[] expectedRoot = digest(new byte[] {1}, digest(new byte[] {1}, leaf0, leaf1), leaf2);
+
+        try (HashTreeCalculator treeCalculator = new HashTreeCalculator(HashAlgorithm.SHA256, CHUNK_SIZE, 2)) {
+            HashTree hashTree = treeCalculator.calculate(filePath);
+
+            assertEquals(3, hashTree.getChunkCount());
+            assertEquals(10, hashTree.getChunkLength(2));
+            assertTrue(hashTree.chunkHashes().get(2).matches(leaf2));
+            assertTrue(hashTree.rootHash().matches(expectedRoot));
+        }
+    }
+
+    /**
+     * Verifies that only the chunks containing corrupted bytes are reported as mismatched.
+     */
+    @Test
+    @DisplayName("Corrupted chunks are located")
+    void testMismatchedChunks() throws IOException, NoSuchAlgorithmException, InterruptedException {
+        byte[] content = createContent(10 * CHUNK_SIZE + 1);
+        Path filePath = Files.write(tempDir.resolve("content.bin"), content);
+
+        try (HashTreeCalculator treeCalculator = new HashTreeCalculator(HashAlgorithm.SHA1, CHUNK_SIZE, 4)) {
+            HashTree expectedTree = treeCalculator.calculate(filePath);
+
+            content[3 * CHUNK_SIZE + 17] ^= 1;
+            content[10 * CHUNK_SIZE] ^= 1;
+            Files.write(filePath, content);
+
+            HashTree actualTree = treeCalculator.calculate(filePath);
+
+            assertFalse(expectedTree.isMatching(actualTree));
+            assertEquals(List.of(3, 10), expectedTree.findMismatchedChunks(actualTree));
+        }
+    }
+
+    /**
+     * Verifies that an empty file is hashed as a single empty chunk.
+     */
+    @Test
+    @DisplayName("Empty file")
+    void testEmptyFile() throws IOException, NoSuchAlgorithmException, InterruptedException {
+        Path filePath = Files.write(tempDir.resolve("empty.bin"), new byte[0]);
+
+        try (HashTreeCalculator treeCalculator = new HashTreeCalculator(HashAlgorithm.SHA256, CHUNK_SIZE, 2)) {
+            HashTree hashTree = treeCalculator.calculate(filePath);
+
+            assertEquals(1, hashTree.getChunkCount());
+            assertTrue(hashTree.rootHash().matches(digest(new byte[] {0})));
+        }
+    }
+
+    private static byte[] digest(byte[]... parts) throws NoSuchAlgorithmException {
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+
+        for (byte[] part : parts)
+            messageDigest.update(part);
+
+        return messageDigest.digest();
+    }
+
+    private static byte[] createContent(int length) {
+        byte[] content = new byte[length];
+        new Random(3).nextBytes(content);
+
+        return content;
+    }
+}
@@ -0,0 +1,193 @@
+package ru.mrrex.betterium.core.install;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.client.config.ClientConfiguration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link ArtifactCacheManager} class, verifying that unreferenced
+ * files are evicted in least recently used order down to the size cap.
+ */
+@DisplayName("Artifact Cache Manager Tests")
+class ArtifactCacheManagerTest {
+
+    private static final int FILE_SIZE = 100;
+
+    @TempDir
+    Path tempDir;
+
+    private InstallLayout layout;
+
+    private MavenArtifact activeArtifact;
+    private MavenArtifact oldArtifact;
+    private MavenArtifact recentArtifact;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        layout = InstallLayout.of(tempDir);
+
+        activeArtifact = createArtifact("active");
+        oldArtifact = createArtifact("old");
+        recentArtifact = createArtifact("recent");
+
+        Instant longAgo = Instant.now().minus(Duration.ofDays(30));
+
+        write(activeArtifact, longAgo);
+        write(oldArtifact, longAgo.plusSeconds(60));
+        write(recentArtifact, longAgo.plusSeconds(120));
+    }
+
+    /**
+     * Verifies that the least recently used unreferenced file goes first
+     * and that referenced files are kept even when they are the oldest.
+     */
+    @Test
+    @DisplayName("Unreferenced files are evicted in LRU order")
+    void testLruEviction() throws IOException {
+        ArtifactCacheManager cacheManager = ArtifactCacheManager.builder()
+                .withLayout(layout)
+                .withSizeCap(2L * FILE_SIZE)
+                .build();
+
+        EvictionResult result = cacheManager.collect(List.of(createConfiguration()));
+
+        assertEquals(3, result.scannedFileCount());
+        assertEquals(1, result.evictedFileCount());
+        assertEquals(2L * FILE_SIZE, result.remainingBytes());
+        assertTrue(result.complete());
+
+        assertTrue(Files.exists(layout.getFilePath(activeArtifact)));
+        assertTrue(Files.notExists(layout.getFilePath(oldArtifact)));
+        assertTrue(Files.exists(layout.getFilePath(recentArtifact)));
+    }
+
+    /**
+     * Verifies that recorded usage takes precedence over modification times
+     * and protects recently used files from eviction.
+     */
+    @Test
+    @DisplayName("Recorded usage protects files")
+    void testRecordedUsage() throws IOException {
+        ArtifactCacheManager cacheManager = ArtifactCacheManager.builder()
+                .withLayout(layout)
+                .withSizeCap(0)
+                .withBatchSize(1)
+                .build();
+
+        cacheManager.recordUsage(List.of(layout.getFilePath(oldArtifact)));
+
+        EvictionResult batchResult = cacheManager.collectBatch(List.of(createConfiguration()), 1);
+
+        assertEquals(1, batchResult.evictedFileCount());
+        assertTrue(Files.notExists(layout.getFilePath(recentArtifact)));
+
+        EvictionResult result = cacheManager.collect(List.of(createConfiguration()));
+
+        assertEquals(0, result.evictedFileCount());
+        assertTrue(result.complete());
+        assertTrue(Files.exists(layout.getFilePath(oldArtifact)));
+        assertTrue(Files.exists(layout.getFilePath(activeArtifact)));
+    }
+
+    /**
+     * Verifies that usage recorded for a configuration protects all of its files.
+     */
+    @Test
+    @DisplayName("Configuration usage protects its files")
+    void testRecordedConfigurationUsage() throws IOException {
+        ArtifactCacheManager cacheManager = ArtifactCacheManager.builder()
+                .withLayout(layout)
+                .withSizeCap(0)
+                .build();
+
+        cacheManager.recordUsage(new ClientConfiguration(
+                "Old Client",
+                "0.9.0",
+                "Tests",
+                "net.minecraft.client.Minecraft",
+                Set.of(oldArtifact),
+                Set.of(),
+                Set.of()
+        ));
+
+        EvictionResult result = cacheManager.collect(List.of(createConfiguration()));
+
+        assertEquals(1, result.evictedFileCount());
+        assertTrue(Files.exists(layout.getFilePath(oldArtifact)));
+        assertTrue(Files.notExists(layout.getFilePath(recentArtifact)));
+    }
+
+    /**
+     * Verifies that a layout sharing one directory for artifacts and natives
+     * is scanned once.
+     */
+    @Test
+    @DisplayName("Shared layout directory is scanned once")
+    void testSharedLayoutDirectory() throws IOException {
+        InstallLayout sharedLayout = new InstallLayout(layout.artifactsDirectory(), layout.artifactsDirectory());
+
+        ArtifactCacheManager cacheManager = ArtifactCacheManager.builder()
+                .withLayout(sharedLayout)
+                .withSizeCap(2L * FILE_SIZE)
+                .build();
+
+        EvictionResult result = cacheManager.collect(List.of(createConfiguration()));
+
+        assertEquals(3, result.scannedFileCount());
+        assertEquals(1, result.evictedFileCount());
+    }
+
+    /**
+     * Verifies that a minimum idle time of zero is rejected.
+     */
+    @Test
+    @DisplayName("Zero minimum idle time is rejected")
+    void testZeroMinimumIdleTime() {
+        ArtifactCacheManager.Builder builder = ArtifactCacheManager.builder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.withMinimumIdleTime(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> builder.withMinimumIdleTime(Duration.ofSeconds(-1)));
+    }
+
+    private MavenArtifact createArtifact(String artifactId) {
+        return MavenArtifact.builder()
+                .withGroupId("org.example")
+                .withArtifactId(artifactId)
+                .withVersion("1.0.0")
+                .build();
+    }
+
+    private ClientConfiguration createConfiguration() {
+        return new ClientConfiguration(
+                "Test Client",
+                "1.0.0",
+                "Tests",
+                "net.minecraft.client.Minecraft",
+                Set.of(activeArtifact),
+                Set.of(),
+                Set.of()
+        );
+    }
+
+    private void write(MavenArtifact artifact, Instant lastModifiedAt) throws IOException {
+        Path filePath = layout.getFilePath(artifact);
+
+        Files.createDirectories(filePath.getParent());
+        Files.write(filePath, new byte[FILE_SIZE]);
+        Files.setLastModifiedTime(filePath, FileTime.from(lastModifiedAt));
+    }
+}
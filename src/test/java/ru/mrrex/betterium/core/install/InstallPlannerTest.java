@@ -0,0 +1,172 @@
+package ru.mrrex.betterium.core.install;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.client.config.ClientConfiguration;
+import ru.mrrex.betterium.core.condition.ConditionEvaluator;
+import ru.mrrex.betterium.core.condition.EnvironmentContext;
+import ru.mrrex.betterium.core.condition.validator.OperatingSystemValidator;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.library.implementation.RemoteNativeLibrary;
+import ru.mrrex.betterium.core.verification.BulkResourceVerifier;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link InstallPlanner} class, verifying that only missing
+ * or stale files of applicable resources are planned for download.
+ */
+@DisplayName("Install Planner Tests")
+class InstallPlannerTest {
+
+    private static final byte[] LWJGL_CONTENT = "lwjgl".getBytes();
+    private static final byte[] NATIVES_CONTENT = "natives-linux".getBytes();
+
+    @TempDir
+    Path tempDir;
+
+    private InstallLayout layout;
+    private BulkResourceVerifier resourceVerifier;
+    private InstallPlanner installPlanner;
+
+    private MavenArtifact lwjglArtifact;
+    private MavenArtifact lwjglUtilArtifact;
+    private RemoteNativeLibrary linuxNatives;
+    private RemoteNativeLibrary windowsNatives;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        layout = InstallLayout.of(tempDir);
+        resourceVerifier = new BulkResourceVerifier(2);
+
+        installPlanner = InstallPlanner.builder()
+                .withLayout(layout)
+                .withConditionEvaluator(new ConditionEvaluator(
+                        EnvironmentContext.builder().addProperty("os.name", "Linux").build(),
+                        List.of(new OperatingSystemValidator())
+                ))
+                .withResourceVerifier(resourceVerifier)
+                .build();
+
+        linuxNatives = RemoteNativeLibrary.builder()
+                .withSourceUri(URI.create("https://example.com/natives/linux.jar"))
+                .withSize(NATIVES_CONTENT.length)
+                .addCondition("os.name.contains", "Linux")
+                .build();
+
+        windowsNatives = RemoteNativeLibrary.builder()
+                .withSourceUri(URI.create("https://example.com/natives/windows.jar"))
+                .addCondition("os.name.contains", "Windows")
+                .build();
+
+        lwjglArtifact = MavenArtifact.builder()
+                .withGroupId("org.lwjgl.lwjgl")
+                .withArtifactId("lwjgl")
+                .withVersion("2.9.4")
+                .withHash(HashAlgorithm.SHA256, HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(LWJGL_CONTENT)))
+                .addDependency(linuxNatives)
+                .addDependency(windowsNatives)
+                .build();
+
+        lwjglUtilArtifact = MavenArtifact.builder()
+                .withGroupId("org.lwjgl.lwjgl")
+                .withArtifactId("lwjgl_util")
+                .withVersion("2.9.4")
+                .withSize(1024)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        resourceVerifier.close();
+    }
+
+    /**
+     * Verifies that a fresh install fetches every applicable resource
+     * and skips native libraries for other platforms.
+     */
+    @Test
+    @DisplayName("Fresh install fetches applicable resources")
+    void testFreshInstall() throws IOException, InterruptedException {
+        InstallPlan installPlan = installPlanner.plan(createConfiguration());
+        InstallSummary summary = installPlan.summary();
+
+        assertEquals(3, summary.fileCount());
+        assertEquals(3, summary.downloadCount());
+        assertEquals(1024 + NATIVES_CONTENT.length, summary.knownBytesToFetch());
+        assertEquals(1, summary.unknownSizeCount());
+
+        assertTrue(installPlan.getDownloadRequests().stream()
+                .noneMatch(downloadRequest -> downloadRequest.sourceFileUri().equals(windowsNatives.sourceUri())));
+    }
+
+    /**
+     * Verifies that valid files are left alone, while corrupt files and files
+     * of the wrong size are planned for replacement.
+     */
+    @Test
+    @DisplayName("Only missing and stale files are planned")
+    void testPartialInstall() throws IOException, InterruptedException {
+        write(layout.getFilePath(lwjglArtifact), LWJGL_CONTENT);
+        write(layout.getFilePath(linuxNatives), "truncated".getBytes());
+
+        InstallPlan installPlan = installPlanner.plan(createConfiguration());
+        InstallSummary summary = installPlan.summary();
+
+        assertEquals(1, summary.upToDateCount());
+        assertEquals(1, summary.downloadCount());
+        assertEquals(1, summary.replaceCount());
+        assertEquals(1, summary.verifiedFileCount());
+
+        write(layout.getFilePath(lwjglArtifact), "corrupt".getBytes());
+
+        assertEquals(2, installPlanner.plan(createConfiguration()).summary().replaceCount());
+    }
+
+    /**
+     * Verifies that an install with every file in place produces no download requests.
+     */
+    @Test
+    @DisplayName("Complete install is up to date")
+    void testUpToDateInstall() throws IOException, InterruptedException {
+        write(layout.getFilePath(lwjglArtifact), LWJGL_CONTENT);
+        write(layout.getFilePath(linuxNatives), NATIVES_CONTENT);
+        write(layout.getFilePath(lwjglUtilArtifact), new byte[1024]);
+
+        InstallPlan installPlan = installPlanner.plan(createConfiguration());
+
+        assertTrue(installPlan.summary().isUpToDate());
+        assertTrue(installPlan.getDownloadRequests().isEmpty());
+    }
+
+    private ClientConfiguration createConfiguration() {
+        return new ClientConfiguration(
+                "Test Client",
+                "1.0.0",
+                "Tests",
+                "net.minecraft.client.Minecraft",
+                Set.of(lwjglArtifact, lwjglUtilArtifact),
+                Set.of(),
+                Set.of()
+        );
+    }
+
+    private void write(Path filePath, byte[] content) throws IOException {
+        Files.createDirectories(filePath.getParent());
+        Files.write(filePath, content);
+    }
+}
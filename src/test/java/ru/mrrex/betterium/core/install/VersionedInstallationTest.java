@@ -0,0 +1,152 @@
+package ru.mrrex.betterium.core.install;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.artifact.implementation.MavenArtifact;
+import ru.mrrex.betterium.core.client.config.ClientConfiguration;
+import ru.mrrex.betterium.core.condition.ConditionEvaluator;
+import ru.mrrex.betterium.core.condition.EnvironmentContext;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.install.exception.IncompleteInstallException;
+import ru.mrrex.betterium.core.io.AtomicFiles;
+import ru.mrrex.betterium.core.verification.BulkResourceVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link VersionedInstallation} class, verifying that new versions are
+ * staged next to the current one and only become current once they are complete.
+ */
+@DisplayName("Versioned Installation Tests")
+class VersionedInstallationTest {
+
+    private static final byte[] CORE_CONTENT = "core".getBytes();
+    private static final byte[] LIBRARY_CONTENT = "library".getBytes();
+    private static final byte[] SNAPSHOT_CONTENT_V1 = "snapshot-1".getBytes();
+    private static final byte[] SNAPSHOT_CONTENT_V2 = "snapshot-2".getBytes();
+
+    @TempDir
+    Path tempDir;
+
+    private BulkResourceVerifier resourceVerifier;
+    private VersionedInstallation installation;
+
+    @BeforeEach
+    void setUp() {
+        resourceVerifier = new BulkResourceVerifier(2);
+
+        InstallPlanner installPlanner = InstallPlanner.builder()
+                .withLayout(InstallLayout.of(tempDir))
+                .withConditionEvaluator(new ConditionEvaluator(EnvironmentContext.builder().build(), List.of()))
+                .withResourceVerifier(resourceVerifier)
+                .build();
+
+        installation = VersionedInstallation.builder()
+                .withRootDirectory(tempDir)
+                .withInstallPlanner(installPlanner)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        resourceVerifier.close();
+    }
+
+    /**
+     * Verifies that an update links unchanged files, replaces changed ones without touching
+     * the current version, switches only when complete and can be rolled back.
+     */
+    @Test
+    @DisplayName("Update is staged, activated and rolled back")
+    void testStageActivateRollback() throws Exception {
+        MavenArtifact coreArtifact = createArtifact("core", "1.0.0", CORE_CONTENT);
+        MavenArtifact snapshotArtifactV1 = createArtifact("snapshot", "1.0-SNAPSHOT", SNAPSHOT_CONTENT_V1);
+
+        StagedInstall firstInstall = installation.stage("1", createConfiguration(coreArtifact, snapshotArtifactV1));
+        assertEquals(0, firstInstall.linkedFileCount());
+
+        complete(firstInstall, SNAPSHOT_CONTENT_V1);
+        installation.activate(firstInstall);
+
+        assertEquals(Optional.of("1"), installation.getCurrentVersion());
+
+        MavenArtifact libraryArtifact = createArtifact("library", "1.0.0", LIBRARY_CONTENT);
+        MavenArtifact snapshotArtifactV2 = createArtifact("snapshot", "1.0-SNAPSHOT", SNAPSHOT_CONTENT_V2);
+
+        StagedInstall secondInstall = installation.stage("2", createConfiguration(coreArtifact, libraryArtifact, snapshotArtifactV2));
+        InstallSummary summary = secondInstall.plan().summary();
+
+        assertEquals(2, secondInstall.linkedFileCount());
+        assertEquals(1, summary.upToDateCount());
+        assertEquals(1, summary.downloadCount());
+        assertEquals(1, summary.replaceCount());
+
+        assertThrows(IncompleteInstallException.class, () -> installation.activate(secondInstall));
+        assertEquals(Optional.of("1"), installation.getCurrentVersion());
+
+        complete(secondInstall, SNAPSHOT_CONTENT_V2);
+        installation.activate(secondInstall);
+
+        assertEquals(Optional.of("2"), installation.getCurrentVersion());
+        assertArrayEquals(SNAPSHOT_CONTENT_V1, Files.readAllBytes(installation.getLayout("1").getFilePath(snapshotArtifactV1)));
+
+        assertEquals("1", installation.rollback());
+        assertEquals(Optional.of("1"), installation.getCurrentVersion());
+        assertThrows(IllegalStateException.class, () -> installation.removeVersion("1"));
+
+        installation.removeVersion("2");
+        assertEquals(List.of("1"), installation.getVersions());
+    }
+
+    private void complete(StagedInstall stagedInstall, byte[] snapshotContent) throws IOException {
+        for (InstallItem item : stagedInstall.plan().items()) {
+            if (item.action() == InstallAction.UP_TO_DATE)
+                continue;
+
+            // Replaces the file as a whole, as the downloader does
+            AtomicFiles.write(item.filePath(), getContent((MavenArtifact) item.resource(), snapshotContent));
+        }
+    }
+
+    private byte[] getContent(MavenArtifact artifact, byte[] snapshotContent) {
+        return switch (artifact.artifactId()) {
+            case "core" -> CORE_CONTENT;
+            case "library" -> LIBRARY_CONTENT;
+            default -> snapshotContent;
+        };
+    }
+
+    private MavenArtifact createArtifact(String artifactId, String version, byte[] content) throws NoSuchAlgorithmException {
+        return MavenArtifact.builder()
+                .withGroupId("org.example")
+                .withArtifactId(artifactId)
+                .withVersion(version)
+                .withHash(HashAlgorithm.SHA256, HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)))
+                .build();
+    }
+
+    private ClientConfiguration createConfiguration(MavenArtifact... artifacts) {
+        return new ClientConfiguration(
+                "Test Client",
+                "1.0.0",
+                "Tests",
+                "net.minecraft.client.Minecraft",
+                Set.of(artifacts),
+                Set.of(),
+                Set.of()
+        );
+    }
+}
@@ -0,0 +1,47 @@
+package ru.mrrex.betterium.core.io;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link FileContentReader} class, verifying that both
+ * buffered and memory-mapped reading deliver the complete file content.
+ */
+@DisplayName("File Content Reader Tests")
+class FileContentReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that the digest of the delivered chunks equals the digest of
+     * the file content for empty, small (buffered) and large (mapped) files.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 65_537, 9 * 1024 * 1024 + 13})
+    @DisplayName("Delivered chunks match file content")
+    void testReadDeliversWholeContent(int fileSize) throws IOException, NoSuchAlgorithmException {
+        byte[] content = new byte[fileSize];
+        new Random(fileSize).nextBytes(content);
+
+        Path filePath = tempDir.resolve("content.bin");
+        Files.write(filePath, content);
+
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+        long bytesRead = FileContentReader.read(filePath, messageDigest::update);
+
+        assertEquals(fileSize, bytesRead);
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(content), messageDigest.digest());
+    }
+}
@@ -0,0 +1,123 @@
+package ru.mrrex.betterium.core.library.extraction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link NativeExtractor} class, verifying extraction of native
+ * archives, skipping of already extracted entries and rejection of unsafe entries.
+ */
+@DisplayName("Native Extractor Tests")
+class NativeExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private NativeExtractor nativeExtractor;
+
+    private Path nativesDirectory;
+    private List<Path> archivePaths;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        nativeExtractor = new NativeExtractor(2);
+        nativesDirectory = tempDir.resolve("natives");
+
+        archivePaths = List.of(
+                createArchive("lwjgl-natives.jar", Map.of(
+                        "liblwjgl.so", "lwjgl native library",
+                        "libopenal.so", "openal native library",
+                        "META-INF/MANIFEST.MF", "Manifest-Version: 1.0"
+                )),
+                createArchive("jinput-natives.jar", Map.of(
+                        "linux/libjinput.so", "jinput native library",
+                        "liblwjgl.so", "shadowed native library"
+                ))
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        nativeExtractor.close();
+    }
+
+    /**
+     * Verifies that all entries except metadata are extracted, the first archive
+     * winning for duplicate names.
+     */
+    @Test
+    @DisplayName("Archives are extracted into the target directory")
+    void testExtract() throws IOException, InterruptedException {
+        ExtractionResult extractionResult = nativeExtractor.extract(archivePaths, nativesDirectory);
+
+        assertEquals(3, extractionResult.entryCount());
+        assertEquals(3, extractionResult.extractedCount());
+
+        assertEquals("lwjgl native library", Files.readString(nativesDirectory.resolve("liblwjgl.so")));
+        assertEquals("jinput native library", Files.readString(nativesDirectory.resolve("linux/libjinput.so")));
+        assertFalse(Files.exists(nativesDirectory.resolve("META-INF")));
+    }
+
+    /**
+     * Verifies that a second extraction skips every unchanged file and only
+     * rewrites a file whose content no longer matches the archive.
+     */
+    @Test
+    @DisplayName("Unchanged entries are skipped")
+    void testSkipExtracted() throws IOException, InterruptedException {
+        nativeExtractor.extract(archivePaths, nativesDirectory);
+
+        assertTrue(nativeExtractor.extract(archivePaths, nativesDirectory).isUpToDate());
+
+        // Same size, different content, so only the CRC can tell them apart
+        Files.writeString(nativesDirectory.resolve("libopenal.so"), "OPENAL native library");
+
+        ExtractionResult extractionResult = nativeExtractor.extract(archivePaths, nativesDirectory);
+
+        assertEquals(1, extractionResult.extractedCount());
+        assertEquals(2, extractionResult.skippedCount());
+        assertEquals("openal native library", Files.readString(nativesDirectory.resolve("libopenal.so")));
+    }
+
+    /**
+     * Verifies that entries resolving outside the target directory are rejected.
+     */
+    @Test
+    @DisplayName("Entries escaping the target directory are rejected")
+    void testRejectZipSlip() throws IOException {
+        Path archivePath = createArchive("malicious.jar", Map.of("../escaped.so", "escaped"));
+
+        assertThrows(IOException.class, () -> nativeExtractor.extract(List.of(archivePath), nativesDirectory));
+        assertFalse(Files.exists(tempDir.resolve("escaped.so")));
+    }
+
+    private Path createArchive(String fileName, Map<String, String> entries) throws IOException {
+        Path archivePath = tempDir.resolve(fileName);
+
+        try (OutputStream outputStream = Files.newOutputStream(archivePath);
+             ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)
+        ) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zipOutputStream.putNextEntry(new ZipEntry(entry.getKey()));
+                zipOutputStream.write(entry.getValue().getBytes());
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        return archivePath;
+    }
+}
@@ -0,0 +1,157 @@
+package ru.mrrex.betterium.core.verification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.Hash;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.resource.CheckableResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link BulkResourceVerifier} class, verifying dispatch order,
+ * early abort on mismatch and reporting of failed targets.
+ */
+@DisplayName("Bulk Resource Verifier Tests")
+class BulkResourceVerifierTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<String> verificationOrder = new ArrayList<>();
+
+    private BulkResourceVerifier resourceVerifier;
+
+    @BeforeEach
+    void setUp() {
+        resourceVerifier = new BulkResourceVerifier(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resourceVerifier.close();
+    }
+
+    /**
+     * Verifies that files are verified largest first and all of them are reported.
+     */
+    @Test
+    @DisplayName("Largest files are verified first")
+    void testLargestFirstOrder() throws IOException, InterruptedException {
+        List<VerificationTarget> targets = List.of(
+                createTarget("small", 10, true),
+                createTarget("large", 1000, true),
+                createTarget("medium", 100, true)
+        );
+
+        BulkVerificationResult result = resourceVerifier.verify(targets);
+
+        assertEquals(List.of("large", "medium", "small"), verificationOrder);
+        assertTrue(result.isValid());
+        assertEquals(1110, result.getBytesVerified());
+    }
+
+    /**
+     * Verifies that a mismatch stops dispatching and the remaining targets are counted as skipped.
+     */
+    @Test
+    @DisplayName("Mismatch aborts remaining verifications")
+    void testAbortOnMismatch() throws IOException, InterruptedException {
+        List<VerificationTarget> targets = List.of(
+                createTarget("small", 10, true),
+                createTarget("large", 1000, false),
+                createTarget("medium", 100, true)
+        );
+
+        BulkVerificationResult result = resourceVerifier.verify(targets, true);
+
+        assertEquals(List.of("large"), verificationOrder);
+        assertFalse(result.isValid());
+        assertFalse(result.isComplete());
+        assertEquals(2, result.skippedCount());
+        assertEquals(1, result.getInvalidResults().size());
+    }
+
+    /**
+     * Verifies that an unexpected exception is reported as a failed target
+     * instead of ending the worker and skipping its remaining targets.
+     */
+    @Test
+    @DisplayName("Unexpected exception is reported as failure")
+    void testRuntimeExceptionFailure() throws IOException, InterruptedException {
+        VerificationTarget brokenTarget = new VerificationTarget(new BrokenResource(), write("broken", 1000));
+
+        BulkVerificationResult result = resourceVerifier.verify(List.of(brokenTarget, createTarget("small", 10, true)));
+
+        assertTrue(result.isComplete());
+        assertEquals(2, result.fileResults().size());
+        assertInstanceOf(IllegalStateException.class, result.getInvalidResults().getFirst().exception());
+        assertEquals(List.of("small"), verificationOrder);
+    }
+
+    private VerificationTarget createTarget(String name, int size, boolean isValid) throws IOException {
+        Path filePath = write(name, size);
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(Files.readAllBytes(filePath));
+
+        long checksum = isValid ? crc32.getValue() : crc32.getValue() ^ 1;
+
+        return new VerificationTarget(new TrackedResource(name, Map.of(ChecksumAlgorithm.CRC32, checksum)), filePath);
+    }
+
+    private Path write(String name, int size) throws IOException {
+        return Files.write(tempDir.resolve(name + ".jar"), new byte[size]);
+    }
+
+    private class TrackedResource implements CheckableResource {
+
+        private final String name;
+        private final Map<ChecksumAlgorithm, Long> checksums;
+
+        private TrackedResource(String name, Map<ChecksumAlgorithm, Long> checksums) {
+            this.name = name;
+            this.checksums = checksums;
+        }
+
+        @Override
+        public Map<ChecksumAlgorithm, Long> getChecksums() {
+            synchronized (verificationOrder) {
+                if (!verificationOrder.contains(name))
+                    verificationOrder.add(name);
+            }
+
+            return checksums;
+        }
+
+        @Override
+        public Map<HashAlgorithm, Hash> getHashes() {
+            return Map.of();
+        }
+    }
+
+    private static class BrokenResource implements CheckableResource {
+
+        @Override
+        public Map<ChecksumAlgorithm, Long> getChecksums() {
+            throw new IllegalStateException("Broken resource");
+        }
+
+        @Override
+        public Map<HashAlgorithm, Hash> getHashes() {
+            return Map.of();
+        }
+    }
+}
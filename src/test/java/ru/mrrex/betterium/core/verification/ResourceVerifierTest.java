@@ -0,0 +1,118 @@
+package ru.mrrex.betterium.core.verification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.library.implementation.RemoteNativeLibrary;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link ResourceVerifier} class, verifying single-pass
+ * calculation of all declared checksums and hashes.
+ */
+@DisplayName("Resource Verifier Tests")
+class ResourceVerifierTest {
+
+    private static final URI SOURCE_URI = URI.create("https://example.com/natives.jar");
+
+    @TempDir
+    Path tempDir;
+
+    private final ResourceVerifier resourceVerifier = new ResourceVerifier();
+
+    private byte[] content;
+    private Path filePath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Length deliberately not aligned to the verifier buffer size
+        content = new byte[200_003];
+        new Random(42).nextBytes(content);
+
+        filePath = tempDir.resolve("natives.jar");
+        Files.write(filePath, content);
+    }
+
+    /**
+     * Verifies that all declared algorithms match when the expected values
+     * were calculated independently over the same content.
+     */
+    @Test
+    @DisplayName("All declared algorithms match")
+    void testMatchingResource() throws IOException, NoSuchAlgorithmException {
+        CRC32 crc32 = new CRC32();
+        crc32.update(content);
+
+        RemoteNativeLibrary nativeLibrary = RemoteNativeLibrary.builder()
+                .withSourceUri(SOURCE_URI)
+                .withChecksum(ChecksumAlgorithm.CRC32, crc32.getValue())
+                .withHash(HashAlgorithm.SHA1, digestHex("SHA-1"))
+                .withHash(HashAlgorithm.SHA256, digestHex("SHA-256").toUpperCase())
+                .build();
+
+        VerificationResult result = resourceVerifier.verify(nativeLibrary, filePath);
+
+        assertTrue(result.isValid());
+        assertEquals(content.length, result.bytesVerified());
+        assertEquals(1, result.checksums().size());
+        assertEquals(2, result.hashes().size());
+    }
+
+    /**
+     * Verifies that a single mismatching algorithm invalidates the result
+     * and is reported in the per-algorithm breakdown.
+     */
+    @Test
+    @DisplayName("Mismatching hash is reported")
+    void testMismatchingResource() throws IOException, NoSuchAlgorithmException {
+        RemoteNativeLibrary nativeLibrary = RemoteNativeLibrary.builder()
+                .withSourceUri(SOURCE_URI)
+                .withHash(HashAlgorithm.SHA256, digestHex("SHA-256"))
+                .withHash(HashAlgorithm.MD5, "00000000000000000000000000000000")
+                .build();
+
+        VerificationResult result = resourceVerifier.verify(nativeLibrary, filePath);
+
+        assertFalse(result.isValid());
+        assertTrue(result.hashes().get(HashAlgorithm.SHA256).isMatching());
+        assertFalse(result.hashes().get(HashAlgorithm.MD5).isMatching());
+    }
+
+    /**
+     * Verifies that a resource without declared algorithms is not read,
+     * but is still rejected when its file is missing.
+     */
+    @Test
+    @DisplayName("Resource without declared algorithms")
+    void testEmptyResource() throws IOException, NoSuchAlgorithmException {
+        RemoteNativeLibrary nativeLibrary = RemoteNativeLibrary.builder()
+                .withSourceUri(SOURCE_URI)
+                .build();
+
+        Path filePath = Files.write(tempDir.resolve("present.jar"), content);
+        VerificationResult result = resourceVerifier.verify(nativeLibrary, filePath);
+
+        assertTrue(result.isEmpty());
+        assertTrue(result.isValid());
+        assertThrows(NoSuchFileException.class, () -> resourceVerifier.verify(nativeLibrary, tempDir.resolve("missing.jar")));
+    }
+
+    private String digestHex(String algorithm) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(content));
+    }
+}
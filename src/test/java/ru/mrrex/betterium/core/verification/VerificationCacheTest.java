@@ -0,0 +1,160 @@
+package ru.mrrex.betterium.core.verification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.library.implementation.RemoteNativeLibrary;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link VerificationCache} class, verifying persistence of
+ * verified file identities and their invalidation on change.
+ */
+@DisplayName("Verification Cache Tests")
+class VerificationCacheTest {
+
+    private static final URI SOURCE_URI = URI.create("https://example.com/natives.jar");
+    private static final byte[] CONTENT = "verification cache content".getBytes();
+
+    @TempDir
+    Path tempDir;
+
+    private Path filePath;
+    private Path logFilePath;
+    private RemoteNativeLibrary nativeLibrary;
+
+    @BeforeEach
+    void setUp() throws IOException, NoSuchAlgorithmException {
+        filePath = tempDir.resolve("natives.jar");
+        logFilePath = tempDir.resolve("verification.log");
+
+        Files.write(filePath, CONTENT);
+        Files.setLastModifiedTime(filePath, FileTime.from(Instant.parse("2024-01-01T00:00:00Z")));
+
+        nativeLibrary = RemoteNativeLibrary.builder()
+                .withSourceUri(SOURCE_URI)
+                .withHash(HashAlgorithm.SHA256, HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT)))
+                .build();
+    }
+
+    /**
+     * Verifies that a successful verification is persisted and trusted
+     * by a cache reopened from the same log.
+     */
+    @Test
+    @DisplayName("Verified file is trusted after reopening")
+    void testPersistedEntry() throws IOException, NoSuchAlgorithmException {
+        try (VerificationCache verificationCache = VerificationCache.open(logFilePath)) {
+            VerificationResult result = new ResourceVerifier(verificationCache).verify(nativeLibrary, filePath);
+
+            assertTrue(result.isValid());
+            assertFalse(result.cached());
+        }
+
+        try (VerificationCache verificationCache = VerificationCache.open(logFilePath)) {
+            VerificationResult result = new ResourceVerifier(verificationCache).verify(nativeLibrary, filePath);
+
+            assertTrue(result.isValid());
+            assertTrue(result.cached());
+            assertEquals(0, result.bytesVerified());
+        }
+    }
+
+    /**
+     * Verifies that changing the file or the expected values invalidates the entry.
+     */
+    @Test
+    @DisplayName("Changed file or expectations are not trusted")
+    void testInvalidation() throws IOException {
+        VerificationCache verificationCache = VerificationCache.open(logFilePath);
+        verificationCache.record(nativeLibrary, filePath, FileIdentity.of(filePath));
+
+        assertTrue(verificationCache.isTrusted(nativeLibrary, filePath));
+
+        RemoteNativeLibrary otherLibrary = RemoteNativeLibrary.builder()
+                .withSourceUri(SOURCE_URI)
+                .withHash(HashAlgorithm.SHA256, "00".repeat(32))
+                .build();
+
+        assertFalse(verificationCache.isTrusted(otherLibrary, filePath));
+
+        Files.setLastModifiedTime(filePath, FileTime.from(Instant.parse("2024-01-02T00:00:00Z")));
+
+        assertFalse(verificationCache.isTrusted(nativeLibrary, filePath));
+    }
+
+    /**
+     * Verifies that an invalidated entry stays invalidated after compaction
+     * and after the log is reopened.
+     */
+    @Test
+    @DisplayName("Invalidated entry survives compaction and reopening")
+    void testPersistedInvalidation() throws IOException {
+        try (VerificationCache verificationCache = VerificationCache.open(logFilePath)) {
+            verificationCache.record(nativeLibrary, filePath, FileIdentity.of(filePath));
+        }
+
+        try (VerificationCache verificationCache = VerificationCache.open(logFilePath)) {
+            verificationCache.invalidate(filePath);
+            verificationCache.compact();
+
+            assertFalse(verificationCache.isTrusted(nativeLibrary, filePath));
+        }
+
+        try (VerificationCache verificationCache = VerificationCache.open(logFilePath)) {
+            assertFalse(verificationCache.isTrusted(nativeLibrary, filePath));
+            assertEquals(0, verificationCache.size());
+
+            verificationCache.record(nativeLibrary, filePath, FileIdentity.of(filePath));
+            verificationCache.flush();
+            verificationCache.invalidate(filePath);
+        }
+
+        VerificationCache verificationCache = VerificationCache.open(logFilePath);
+        assertFalse(verificationCache.isTrusted(nativeLibrary, filePath));
+    }
+
+    /**
+     * Verifies that a torn record at the end of the log does not discard
+     * the entries written before it and that later entries remain readable.
+     */
+    @Test
+    @DisplayName("Torn log tail is ignored")
+    void testTornTail() throws IOException {
+        try (VerificationCache verificationCache = VerificationCache.open(logFilePath)) {
+            verificationCache.record(nativeLibrary, filePath, FileIdentity.of(filePath));
+        }
+
+        Files.write(logFilePath, new byte[] {0, 0, 0, 64, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        Path otherFilePath = tempDir.resolve("other.jar");
+        Files.write(otherFilePath, CONTENT);
+        Files.setLastModifiedTime(otherFilePath, FileTime.from(Instant.parse("2024-01-01T00:00:00Z")));
+
+        try (VerificationCache verificationCache = VerificationCache.open(logFilePath)) {
+            assertEquals(1, verificationCache.size());
+            assertTrue(verificationCache.isTrusted(nativeLibrary, filePath));
+
+            verificationCache.record(nativeLibrary, otherFilePath, FileIdentity.of(otherFilePath));
+        }
+
+        VerificationCache verificationCache = VerificationCache.open(logFilePath);
+
+        assertEquals(2, verificationCache.size());
+        assertTrue(verificationCache.isTrusted(nativeLibrary, otherFilePath));
+    }
+}
@@ -0,0 +1,185 @@
+package ru.mrrex.betterium.core.verification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.mrrex.betterium.core.checksum.ChecksumAlgorithm;
+import ru.mrrex.betterium.core.hash.HashAlgorithm;
+import ru.mrrex.betterium.core.library.implementation.RemoteNativeLibrary;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the {@link VerificationStrategy} class, verifying algorithm
+ * selection per trust level, early rejection by the prefilter and measured algorithm costs.
+ */
+@DisplayName("Verification Strategy Tests")
+class VerificationStrategyTest {
+
+    private static final byte[] CONTENT = "verification strategy content".getBytes();
+
+    @TempDir
+    Path tempDir;
+
+    private Path filePath;
+    private long crc32cValue;
+    private String sha512Hex;
+
+    @BeforeEach
+    void setUp() throws IOException, NoSuchAlgorithmException {
+        filePath = Files.write(tempDir.resolve("client.jar"), CONTENT);
+
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(CONTENT);
+
+        crc32cValue = crc32c.getValue();
+        sha512Hex = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-512").digest(CONTENT));
+    }
+
+    /**
+     * Verifies which algorithms every trust level selects and how the prefilter splits them into stages.
+     */
+    @Test
+    @DisplayName("Stages per trust level")
+    void testPlan() {
+        RemoteNativeLibrary nativeLibrary = createLibrary(crc32cValue, sha512Hex);
+
+        List<VerificationStage> quickStages = createStrategy(TrustLevel.QUICK, true).plan(nativeLibrary);
+        List<VerificationStage> strongStages = createStrategy(TrustLevel.STRONG, true).plan(nativeLibrary);
+        List<VerificationStage> strongStagesWithoutPrefilter = createStrategy(TrustLevel.STRONG, false).plan(nativeLibrary);
+        List<VerificationStage> fullStages = createStrategy(TrustLevel.FULL, false).plan(nativeLibrary);
+
+        assertEquals(1, quickStages.size());
+        assertEquals(Set.of(ChecksumAlgorithm.CRC32C), quickStages.getFirst().checksums().keySet());
+        assertTrue(quickStages.getFirst().hashes().isEmpty());
+
+        assertEquals(2, strongStages.size());
+        assertEquals(Set.of(ChecksumAlgorithm.CRC32C), strongStages.get(0).checksums().keySet());
+        assertEquals(Set.of(HashAlgorithm.SHA512), strongStages.get(1).hashes().keySet());
+
+        assertEquals(1, strongStagesWithoutPrefilter.size());
+        assertTrue(strongStagesWithoutPrefilter.getFirst().checksums().isEmpty());
+
+        assertEquals(1, fullStages.size());
+        assertEquals(1, fullStages.getFirst().checksums().size());
+        assertEquals(2, fullStages.getFirst().hashes().size());
+    }
+
+    /**
+     * Verifies that a mismatching prefilter rejects the file before the strong hash is computed.
+     */
+    @Test
+    @DisplayName("Prefilter mismatch skips the strong hash")
+    void testPrefilterRejection() throws IOException, NoSuchAlgorithmException {
+        RemoteNativeLibrary nativeLibrary = createLibrary(crc32cValue ^ 1, sha512Hex);
+
+        VerificationResult result = createStrategy(TrustLevel.STRONG, true)
+                .verify(new ResourceVerifier(), nativeLibrary, filePath);
+
+        assertFalse(result.isValid());
+        assertTrue(result.hashes().isEmpty());
+        assertEquals(CONTENT.length, result.bytesVerified());
+    }
+
+    /**
+     * Verifies that a valid file passes both stages of a strong verification.
+     */
+    @Test
+    @DisplayName("Valid file passes strong verification")
+    void testStrongVerification() throws IOException, NoSuchAlgorithmException {
+        VerificationResult result = createStrategy(TrustLevel.STRONG, true)
+                .verify(new ResourceVerifier(), createLibrary(crc32cValue, sha512Hex), filePath);
+
+        assertTrue(result.isValid());
+        assertEquals(Set.of(HashAlgorithm.SHA512), result.hashes().keySet());
+        assertEquals(2L * CONTENT.length, result.bytesVerified());
+    }
+
+    /**
+     * Verifies that a prefiltered verification through a cache-backed verifier
+     * is trusted without reading the file on the next launch.
+     */
+    @Test
+    @DisplayName("Warm launch hits the verification cache")
+    void testWarmLaunch() throws IOException, NoSuchAlgorithmException {
+        Path logFilePath = tempDir.resolve("verification.log");
+        Files.setLastModifiedTime(filePath, FileTime.from(Instant.parse("2024-01-01T00:00:00Z")));
+
+        VerificationStrategy strategy = createStrategy(TrustLevel.STRONG, true);
+        RemoteNativeLibrary nativeLibrary = createLibrary(crc32cValue, sha512Hex);
+
+        try (VerificationCache verificationCache = VerificationCache.open(logFilePath)) {
+            VerificationResult result = strategy.verify(new ResourceVerifier(verificationCache), nativeLibrary, filePath);
+
+            assertTrue(result.isValid());
+            assertFalse(result.cached());
+        }
+
+        for (int launch = 0; launch < 2; launch++) {
+            try (VerificationCache verificationCache = VerificationCache.open(logFilePath)) {
+                VerificationResult result = strategy.verify(new ResourceVerifier(verificationCache), nativeLibrary, filePath);
+
+                assertTrue(result.isValid());
+                assertTrue(result.cached());
+                assertEquals(0, result.bytesVerified());
+            }
+        }
+
+        try (VerificationCache verificationCache = VerificationCache.open(logFilePath)) {
+            VerificationResult result = createStrategy(TrustLevel.FULL, false)
+                    .verify(new ResourceVerifier(verificationCache), nativeLibrary, filePath);
+
+            assertFalse(result.cached());
+        }
+    }
+
+    /**
+     * Verifies that a measured cost model warms the pure-Java checksums up before timing them,
+     * so they are not ranked behind cryptographic hashes they outrun once compiled.
+     */
+    @Test
+    @DisplayName("Measured costs are taken after warm-up")
+    void testMeasuredCostModel() throws NoSuchAlgorithmException {
+        AlgorithmCostModel costModel = AlgorithmCostModel.measure();
+
+        for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+            double cost = costModel.getNanosPerByte(VerificationAlgorithm.of(algorithm));
+            assertTrue(cost > 0 && Double.isFinite(cost), algorithm.name());
+        }
+
+        double sha256Cost = costModel.getNanosPerByte(VerificationAlgorithm.of(HashAlgorithm.SHA256));
+
+        assertTrue(costModel.getNanosPerByte(VerificationAlgorithm.of(ChecksumAlgorithm.XXH64)) < sha256Cost);
+        assertTrue(costModel.getNanosPerByte(VerificationAlgorithm.of(ChecksumAlgorithm.XXH3)) < sha256Cost);
+    }
+
+    private VerificationStrategy createStrategy(TrustLevel trustLevel, boolean prefilterEnabled) {
+        return VerificationStrategy.builder()
+                .withTrustLevel(trustLevel)
+                .withPrefilterEnabled(prefilterEnabled)
+                .build();
+    }
+
+    private RemoteNativeLibrary createLibrary(long crc32c, String sha512) {
+        return RemoteNativeLibrary.builder()
+                .withSourceUri(URI.create("https://example.com/client.jar"))
+                .withChecksum(ChecksumAlgorithm.CRC32C, crc32c)
+                .withHashes(Map.of(HashAlgorithm.SHA512, sha512, HashAlgorithm.MD5, "00".repeat(16)))
+                .build();
+    }
+}